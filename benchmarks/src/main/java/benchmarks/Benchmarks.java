@@ -0,0 +1,24 @@
+package benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Punto de entrada de benchmarks.jar. Ejecuta los benchmarks como el Main de JMH (acepta sus mismas opciones, ej.: -rf json -rff resultados.json),
+ * pero siempre con el profiler de GC, para que cada resultado incluya la memoria reservada por operacin (gc.alloc.rate.norm).
+ * @author Dario A. Leal
+ */
+public class Benchmarks {
+
+	public static void main(String[] args) throws Exception {
+		Options opciones = new OptionsBuilder()
+				.parent(new CommandLineOptions(args))
+				.addProfiler(GCProfiler.class)
+				.build();
+		new Runner(opciones).run();
+	}
+
+}
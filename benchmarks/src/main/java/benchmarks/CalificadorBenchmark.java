@@ -0,0 +1,58 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import logica.BibliotecaTableros;
+import logica.CalificadorDificultad;
+import logica.Tecnica;
+
+/**
+ * Mide la calificacin de dificultad de un juego (resolucin completa por tcnicas), recorriendo los juegos de la biblioteca.
+ * @author Dario A. Leal
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CalificadorBenchmark {
+
+	private int[][] juegos;
+	private int indice;
+	private CalificadorDificultad calificador;
+
+	@Setup
+	public void preparar() throws IOException {
+		BibliotecaTableros biblioteca = BibliotecaTableros.abrirRecurso("/txt/biblioteca9x9.sdk");
+		int cant_celdas = biblioteca.getDimension() * biblioteca.getDimension();
+		int[] solucion = new int[cant_celdas];
+		juegos = new int[biblioteca.getCantidad()][cant_celdas];
+		for (int k = 0; k < juegos.length; k++) {
+			biblioteca.leer(k, solucion, juegos[k]);
+		}
+		calificador = new CalificadorDificultad(biblioteca.getTamPanel());
+	}
+
+	/**
+	 * Calificacin de un juego de 9 x 9, tomando cada vez el siguiente juego de la biblioteca.
+	 */
+	@Benchmark
+	public Tecnica calificar() {
+		indice = indice + 1 == juegos.length ? 0 : indice + 1;
+		return calificador.calificar(juegos[indice]);
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import logica.BibliotecaTableros;
+import logica.Juego;
+import logica.LectorTableros;
+import logica.TextFileException;
+import logica.ValidadorTablero;
+
+/*
+ * Los juegos cargados desde archivos guardan el tablero ledo y validado (ver Juego), as que construir un Juego
+ * solo lee el archivo la primera vez. Por eso la lectura y la validacin se miden aparte, sobre los bytes del archivo ya en memoria.
+ */
+
+/**
+ * Mide la carga de un juego: lectura y validacin del archivo de texto, construccin de un Juego (eleccin de pistas y celdas)
+ * y apertura de un juego de la biblioteca.
+ * @author Dario A. Leal
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CargaJuegoBenchmark {
+
+	private byte[] archivo;
+	private ValidadorTablero validador;
+	private long semilla;
+	private BibliotecaTableros biblioteca;
+	private int indice;
+
+	@Setup
+	public void preparar() throws IOException {
+		InputStream ins = Juego.class.getResourceAsStream("/txt/sudoku1.txt");
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ins.transferTo(bytes);
+		ins.close();
+		archivo = bytes.toByteArray();
+		validador = new ValidadorTablero();
+		biblioteca = BibliotecaTableros.abrirRecurso("/txt/biblioteca9x9.sdk");
+	}
+
+	/**
+	 * Lectura y validacin de un tablero de 9 x 9 (lo que hace Juego la primera vez que se elige un archivo).
+	 */
+	@Benchmark
+	public boolean leer_y_validar() throws TextFileException {
+		LectorTableros lector = new LectorTableros(new ByteArrayInputStream(archivo), 9, false);
+		return validador.validar(lector.leerMatriz());
+	}
+
+	/**
+	 * Construccin de un juego a partir del archivo 1, con una semilla distinta cada vez para que varen las pistas.
+	 */
+	@Benchmark
+	public Juego crear_juego() throws TextFileException {
+		return new Juego(1, semilla++);
+	}
+
+	/**
+	 * Apertura de un juego de la biblioteca (lectura de su registro, validacin de la solucin y construccin del Juego),
+	 * recorriendo todos los juegos de la biblioteca.
+	 */
+	@Benchmark
+	public Juego abrir_de_biblioteca() {
+		indice = indice + 1 == biblioteca.getCantidad() ? 0 : indice + 1;
+		return Juego.abrir(biblioteca, indice);
+	}
+
+}
@@ -0,0 +1,192 @@
+package benchmarks;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.swing.ImageIcon;
+
+import gui.CeldaTablero;
+import gui.VistaTablero;
+import logica.Juego;
+import logica.PasoResolucion;
+import logica.ResultadoAyuda;
+import logica.Solucionador;
+
+/*
+ * Se parte de tres copias de un juego generado con una semilla fija: una sobre la que se hacen los clicks, otra completada
+ * con su solucin (comprobar_resolucion consulta los contadores de celdas vacas, en conflicto y distintas de la solucin,
+ * as que no depende del estado del tablero) y otra completada en la que se cambia una celda para que quede en conflicto
+ * con otras de su fila, columna y panel (chequearRepetidos encuentra repetidos).
+ * Los clicks se hacen sobre las celdas de una VistaTablero, como en la GUI. El benchmark mostrar_celda agrega al click la imagen de la celda
+ * (EntidadGraficaCeldaTablero.setImagen), para medir tambin el camino de la vista y no solo el del modelo.
+ * Las ayudas se piden sobre una cuarta copia sin jugar, que no cambia entre pedidos. El juego recuerda la solucin encontrada
+ * en el primer pedido (ver MotorAyudas), as que pedir_ayuda mide solo la bsqueda por tcnicas. Para medir un primer pedido completo,
+ * incluido el control de que el tablero tenga solucin, pedir_primera_ayuda restaura antes de cada invocacin un juego recin abierto
+ * (ver PrimeraAyuda); la restauracin no se incluye en la medicin.
+ */
+
+/**
+ * Mide las operaciones que se ejecutan durante el juego: el click sobre una celda, el control de repetidos, la comprobacin de la resolucin
+ * y el pedido de una ayuda (el primero de un juego y los siguientes).
+ * @author Dario A. Leal
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class JuegoBenchmark {
+
+	@Param({"3", "5"})
+	public int tam_panel;
+
+	private Juego juego;
+	private Juego juego_resuelto;
+	private Juego juego_en_conflicto;
+	private CeldaTablero celda_en_conflicto;
+	private int[] repetidos;
+	private CeldaTablero[] celdas_editables;
+	private Juego juego_para_ayudas;
+	private PasoResolucion ayuda;
+	private int proxima;
+
+	@Setup
+	public void preparar() {
+		int dimension = tam_panel * tam_panel;
+		int cant_pistas = dimension * dimension * 30 / 81;
+		juego = Juego.generar(tam_panel, 1, cant_pistas);
+		juego_resuelto = Juego.generar(tam_panel, 1, cant_pistas);
+		juego_en_conflicto = Juego.generar(tam_panel, 1, cant_pistas);
+		int[] solucion = new Solucionador(tam_panel).resolver(juego);
+		completar(juego_resuelto, solucion);
+		completar(juego_en_conflicto, solucion);
+
+		int cant = 0;
+		VistaTablero vista = new VistaTablero(juego);
+		celdas_editables = new CeldaTablero[dimension * dimension];
+		for (int i = 0; i < dimension; i++) {
+			for (int j = 0; j < dimension; j++) {
+				if (!vista.getCelda(i, j).es_una_pista()) {
+					celdas_editables[cant++] = vista.getCelda(i, j);
+				}
+			}
+		}
+		celdas_editables = Arrays.copyOf(celdas_editables, cant);
+
+		//Con el siguiente valor, la primera celda editable repite un valor de su fila, su columna y su panel.
+		celda_en_conflicto = new VistaTablero(juego_en_conflicto).getCelda(celdas_editables[0].getFila(), celdas_editables[0].getColumna());
+		do {
+			celda_en_conflicto.actualizar();
+		} while (celda_en_conflicto.getValor() == 0);
+		repetidos = new int[juego_en_conflicto.getCantidadMaximaRepetidos()];
+
+		juego_para_ayudas = Juego.generar(tam_panel, 1, cant_pistas);
+		ayuda = juego_para_ayudas.crearPaso();
+	}
+
+	//Lleva cada celda del juego al valor de la solucin, avanzando su valor como lo hara el jugador.
+	private static void completar(Juego juego, int[] solucion) {
+		int dimension = juego.getDimension();
+		VistaTablero vista = new VistaTablero(juego);
+		for (int i = 0; i < dimension; i++) {
+			for (int j = 0; j < dimension; j++) {
+				CeldaTablero c = vista.getCelda(i, j);
+				while (c.getValor() != solucion[i * dimension + j]) {
+					c.actualizar();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Un click del jugador: avanza el valor de una celda (incluye el registro de la jugada y la actualizacin de conflictos).
+	 * Se recorren las celdas editables en orden, para no medir siempre la misma.
+	 */
+	@Benchmark
+	public int actualizar_celda() {
+		CeldaTablero c = celdas_editables[proxima];
+		proxima = proxima + 1 == celdas_editables.length ? 0 : proxima + 1;
+		c.actualizar();
+		return c.getValor();
+	}
+
+	/**
+	 * Un click del jugador seguido de la actualizacin de la imagen de la celda (CeldaTablero.getEntidadGraficaCelda, que invoca
+	 * EntidadGraficaCeldaTablero.setImagen), como al mostrar la celda.
+	 */
+	@Benchmark
+	public ImageIcon mostrar_celda() {
+		CeldaTablero c = celdas_editables[proxima];
+		proxima = proxima + 1 == celdas_editables.length ? 0 : proxima + 1;
+		c.actualizar();
+		return c.getEntidadGraficaCelda().getImagen();
+	}
+
+	/**
+	 * Bsqueda de las celdas que repiten el valor de una celda en conflicto.
+	 */
+	@Benchmark
+	public int chequear_repetidos() {
+		return juego_en_conflicto.chequearRepetidos(celda_en_conflicto.getFila(), celda_en_conflicto.getColumna(), repetidos);
+	}
+
+	/**
+	 * Comprobacin de un tablero resuelto correctamente (consulta los contadores del juego, en tiempo constante).
+	 */
+	@Benchmark
+	public Object comprobar_resolucion() {
+		return juego_resuelto.comprobar_resolucion();
+	}
+
+	/**
+	 * Pedido de una ayuda sobre un tablero cuya solucin el juego ya recuerda: solo la bsqueda por tcnicas.
+	 */
+	@Benchmark
+	public ResultadoAyuda pedir_ayuda() {
+		return juego_para_ayudas.pedirAyuda(ayuda);
+	}
+
+	/**
+	 * Primer pedido de una ayuda en un juego: incluye el control de que el tablero tenga solucin y la bsqueda por tcnicas.
+	 */
+	@Benchmark
+	public ResultadoAyuda pedir_primera_ayuda(PrimeraAyuda primera) {
+		return primera.juego.pedirAyuda(primera.ayuda);
+	}
+
+	/**
+	 * Juego sin ayudas pedidas, restaurado antes de cada invocacin de pedir_primera_ayuda a partir de una instantnea del juego para ayudas.
+	 */
+	@State(Scope.Thread)
+	public static class PrimeraAyuda {
+
+		private byte[] instantanea;
+		private Juego juego;
+		private PasoResolucion ayuda;
+
+		@Setup(Level.Invocation)
+		public void restaurar(JuegoBenchmark benchmark) {
+			if (instantanea == null) {
+				instantanea = benchmark.juego_para_ayudas.guardar(null);
+			}
+			juego = Juego.restaurar(instantanea, null);
+			ayuda = juego.crearPaso();
+		}
+
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,223 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import logica.BibliotecaTableros;
+import logica.ServidorJuegos;
+
+/*
+ * Cada cliente abre una sesin con un juego de la biblioteca al azar, hace sus jugadas (un valor al azar en una celda que no es pista),
+ * pide una ayuda cada AYUDA_CADA jugadas y cierra la sesin. Los clientes se ejecutan a la vez, cada uno en su propio hilo
+ * (virtual si la mquina virtual los tiene, ver ServidorJuegos.crearEjecutor), y cada pedido espera la respuesta del anterior.
+ * Se informa la cantidad de pedidos por segundo, la demora de las jugadas (mediana, percentiles 90 y 99, y mxima)
+ * y el tamao promedio de la respuesta a una jugada, comparado con el de la respuesta que trae todo el tablero.
+ */
+
+/**
+ * Prueba de carga de ServidorJuegos: muchos clientes jugando a la vez contra el servidor local.
+ * Si no se indica la direccin de un servidor, inicia uno en la misma mquina virtual, en un puerto libre.
+ * @author Dario A. Leal
+ */
+public class PruebaCargaServidor {
+
+	private static final int AYUDA_CADA = 25;
+	private static final int PISTA = 0x80;
+	private static final String USO = "Uso: PruebaCargaServidor [-u http://localhost:puerto/juego] [-c clientes] [-j jugadas] [-f bin|json]";
+
+	private HttpClient cliente_http;
+	private String url;
+	private boolean json;
+	private int cant_juegos;
+
+	private PruebaCargaServidor(String url, boolean json, int cant_juegos) {
+		cliente_http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+		this.url = url;
+		this.json = json;
+		this.cant_juegos = cant_juegos;
+	}
+
+	//Resultados de un cliente.
+	private static class Resultado {
+		long[] demoras; //Demora de cada jugada, en nanosegundos.
+		long bytes_jugadas, bytes_tablero;
+		int pedidos, errores;
+	}
+
+	private Resultado jugar(int cant_jugadas) throws IOException, InterruptedException {
+		ThreadLocalRandom azar = ThreadLocalRandom.current();
+		Resultado resultado = new Resultado();
+		resultado.demoras = new long[cant_jugadas];
+		String formato = json ? "&f=json" : "";
+
+		byte[] apertura = pedir("POST", url + "?biblioteca=" + azar.nextInt(cant_juegos) + formato, resultado);
+		resultado.bytes_tablero = apertura.length;
+		int id, dimension;
+		int[] estados;
+		if (json) {
+			String texto = new String(apertura, StandardCharsets.UTF_8);
+			id = Integer.parseInt(campo(texto, "id"));
+			int tam_panel = Integer.parseInt(campo(texto, "tam"));
+			dimension = tam_panel * tam_panel;
+			estados = new int[dimension * dimension];
+			String[] celdas = texto.substring(texto.indexOf("\"d\":[") + 5, texto.lastIndexOf(']')).split(",");
+			for (int k = 0; k + 1 < celdas.length; k += 2) {
+				estados[Integer.parseInt(celdas[k])] = Integer.parseInt(celdas[k + 1]);
+			}
+		}
+		else {
+			ByteBuffer origen = ByteBuffer.wrap(apertura);
+			id = origen.getInt();
+			int tam_panel = origen.get();
+			dimension = tam_panel * tam_panel;
+			estados = new int[dimension * dimension];
+			origen.getInt(); //Versin.
+			origen.get(); //Resultado de la comprobacin.
+			int cant = origen.getShort();
+			for (int k = 0; k < cant; k++) {
+				estados[origen.getShort()] = origen.get() & 0xFF;
+			}
+		}
+		int[] editables = new int[estados.length];
+		int cant_editables = 0;
+		for (int k = 0; k < estados.length; k++) {
+			if ((estados[k] & PISTA) == 0) {
+				editables[cant_editables++] = k;
+			}
+		}
+
+		String sesion = url + "/" + id;
+		for (int k = 0; k < cant_jugadas; k++) {
+			int celda = editables[azar.nextInt(cant_editables)];
+			long inicio = System.nanoTime();
+			byte[] cambios = pedir("POST", sesion + "/jugar?fila=" + celda / dimension + "&columna=" + celda % dimension + "&valor=" + azar.nextInt(dimension + 1) + formato, resultado);
+			resultado.demoras[k] = System.nanoTime() - inicio;
+			resultado.bytes_jugadas += cambios.length;
+			if ((k + 1) % AYUDA_CADA == 0) {
+				pedir("GET", sesion + "/ayuda" + formato.replace('&', '?'), resultado);
+			}
+		}
+		pedir("DELETE", sesion, resultado);
+		return resultado;
+	}
+
+	private byte[] pedir(String metodo, String direccion, Resultado resultado) throws IOException, InterruptedException {
+		HttpRequest pedido = HttpRequest.newBuilder(URI.create(direccion)).method(metodo, HttpRequest.BodyPublishers.noBody()).build();
+		HttpResponse<byte[]> respuesta = cliente_http.send(pedido, HttpResponse.BodyHandlers.ofByteArray());
+		resultado.pedidos++;
+		if (respuesta.statusCode() >= 300) {
+			resultado.errores++;
+		}
+		return respuesta.body();
+	}
+
+	//Valor de un campo numrico de una respuesta JSON (sin anidamiento), ej.: campo("{\"id\":7}", "id") devuelve "7".
+	private static String campo(String texto, String nombre) {
+		int inicio = texto.indexOf("\"" + nombre + "\":") + nombre.length() + 3;
+		int fin = inicio;
+		while (fin < texto.length() && (Character.isDigit(texto.charAt(fin)) || texto.charAt(fin) == '-')) {
+			fin++;
+		}
+		return texto.substring(inicio, fin);
+	}
+
+	public static void main(String[] args) throws Exception {
+		String url = null;
+		int cant_clientes = 100, cant_jugadas = 200;
+		boolean json = false;
+		try {
+			for (int k = 0; k < args.length; k++) {
+				switch (args[k]) {
+					case "-u":
+						url = args[++k];
+						break;
+					case "-c":
+						cant_clientes = Integer.parseInt(args[++k]);
+						break;
+					case "-j":
+						cant_jugadas = Integer.parseInt(args[++k]);
+						break;
+					case "-f":
+						String formato = args[++k];
+						if (!formato.equals("bin") && !formato.equals("json")) {
+							throw new IllegalArgumentException("Formato desconocido: " + formato);
+						}
+						json = formato.equals("json");
+						break;
+					default:
+						throw new IllegalArgumentException("Opcin desconocida: " + args[k]);
+				}
+			}
+		} catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+			if (e instanceof IllegalArgumentException) {
+				System.err.println(e.getMessage());
+			}
+			System.err.println(USO);
+			System.exit(1);
+			return;
+		}
+
+		//Sin servidor indicado, se inicia uno local con la biblioteca incluida. Con un servidor externo se supone la misma biblioteca.
+		BibliotecaTableros biblioteca = BibliotecaTableros.abrirRecurso("/txt/biblioteca9x9.sdk");
+		ServidorJuegos servidor = null;
+		if (url == null) {
+			servidor = new ServidorJuegos(0, Integer.MAX_VALUE, biblioteca);
+			servidor.iniciar();
+			url = "http://localhost:" + servidor.getPuerto() + "/juego";
+		}
+		PruebaCargaServidor prueba = new PruebaCargaServidor(url, json, biblioteca.getCantidad());
+
+		//Una vuelta corta para que la mquina virtual compile el cdigo del cliente y del servidor antes de medir.
+		prueba.jugar(cant_jugadas);
+
+		ExecutorService ejecutor = ServidorJuegos.crearEjecutor();
+		final int jugadas = cant_jugadas;
+		List<Future<Resultado>> clientes = new ArrayList<Future<Resultado>>();
+		long inicio = System.nanoTime();
+		for (int k = 0; k < cant_clientes; k++) {
+			clientes.add(ejecutor.submit(() -> prueba.jugar(jugadas)));
+		}
+		long[] demoras = new long[cant_clientes * cant_jugadas];
+		long bytes_jugadas = 0, bytes_tablero = 0;
+		int pedidos = 0, errores = 0;
+		for (int k = 0; k < cant_clientes; k++) {
+			Resultado resultado = clientes.get(k).get();
+			System.arraycopy(resultado.demoras, 0, demoras, k * cant_jugadas, cant_jugadas);
+			bytes_jugadas += resultado.bytes_jugadas;
+			bytes_tablero += resultado.bytes_tablero;
+			pedidos += resultado.pedidos;
+			errores += resultado.errores;
+		}
+		double segundos = (System.nanoTime() - inicio) / 1e9;
+		ejecutor.shutdown();
+		if (servidor != null) {
+			servidor.detener();
+		}
+
+		Arrays.sort(demoras);
+		System.out.println(String.format("%d clientes x %d jugadas (%s, %s): %d pedidos en %.2f s, %.0f pedidos/s, %d errores.",
+				cant_clientes, cant_jugadas, json ? "json" : "binario", ejecutor.getClass().getSimpleName(),
+				pedidos, segundos, pedidos / segundos, errores));
+		System.out.println(String.format("Demora de una jugada: mediana %.0f us, p90 %.0f us, p99 %.0f us, mxima %.0f us.",
+				percentil(demoras, 0.5) / 1e3, percentil(demoras, 0.9) / 1e3, percentil(demoras, 0.99) / 1e3, demoras[demoras.length - 1] / 1e3));
+		System.out.println(String.format("Respuesta a una jugada: %.1f bytes en promedio (el tablero completo: %.1f bytes).",
+				(double) bytes_jugadas / demoras.length, (double) bytes_tablero / cant_clientes));
+		System.exit(errores > 0 ? 2 : 0);
+	}
+
+	private static long percentil(long[] ordenados, double fraccion) {
+		return ordenados[Math.min((int) (ordenados.length * fraccion), ordenados.length - 1)];
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import logica.LogicaReloj;
+
+/**
+ * Mide la actualizacin del reloj del juego, que la interface ejecuta varias veces por segundo.
+ * @author Dario A. Leal
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RelojBenchmark {
+
+	private LogicaReloj reloj;
+
+	@Setup
+	public void preparar() {
+		reloj = new LogicaReloj();
+		reloj.reanudar();
+	}
+
+	/**
+	 * Actualizacin del reloj corriendo. En la mayora de las invocaciones ningn dgito cambia.
+	 */
+	@Benchmark
+	public int actualizar_reloj() {
+		return reloj.actualizar_reloj();
+	}
+
+}
@@ -0,0 +1,92 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import logica.BibliotecaTableros;
+import logica.Juego;
+import logica.ResultadoComprobacion;
+import logica.ServicioSesiones;
+
+/*
+ * Las sesiones se abren con los juegos de la biblioteca incluida, repitindolos si hacen falta ms sesiones que juegos.
+ * El estado es compartido (Scope.Benchmark), as que al ejecutarlo con varios hilos (opcin -t de JMH) todos juegan sobre las mismas
+ * sesiones, como lo haran los clientes de un servidor. Cada jugada se hace en una sesin y una celda editable elegidas al azar.
+ */
+
+/**
+ * Mide el manejo de muchas sesiones de juego a la vez, sin interface grfica: una jugada en una sesin cualquiera,
+ * y la apertura y el cierre de una sesin.
+ * @author Dario A. Leal
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class SesionesBenchmark {
+
+	@Param({"10000"})
+	public int cant_sesiones;
+
+	private BibliotecaTableros biblioteca;
+	private ServicioSesiones servicio;
+	private int[] sesiones;
+	private int[][] celdas_editables; //ndices (fila x 9 + columna) de las celdas que no son pista, por sesin.
+
+	@Setup
+	public void preparar() throws IOException {
+		biblioteca = BibliotecaTableros.abrirRecurso("/txt/biblioteca9x9.sdk");
+		servicio = new ServicioSesiones();
+		sesiones = new int[cant_sesiones];
+		celdas_editables = new int[cant_sesiones][];
+		for (int k = 0; k < cant_sesiones; k++) {
+			Juego juego = Juego.abrir(biblioteca, k % biblioteca.getCantidad());
+			int[] editables = new int[81];
+			int cant = 0;
+			for (int celda = 0; celda < 81; celda++) {
+				if (!juego.esPista(celda / 9, celda % 9)) {
+					editables[cant++] = celda;
+				}
+			}
+			celdas_editables[k] = Arrays.copyOf(editables, cant);
+			sesiones[k] = servicio.crear(juego);
+		}
+	}
+
+	/**
+	 * Una jugada (un valor al azar en una celda editable al azar) en una sesin cualquiera, con la comprobacin posterior.
+	 */
+	@Benchmark
+	public ResultadoComprobacion jugar() {
+		ThreadLocalRandom azar = ThreadLocalRandom.current();
+		int k = azar.nextInt(cant_sesiones);
+		int celda = celdas_editables[k][azar.nextInt(celdas_editables[k].length)];
+		return servicio.jugar(sesiones[k], celda / 9, celda % 9, azar.nextInt(10));
+	}
+
+	/**
+	 * Apertura de una sesin con un juego de la biblioteca y su cierre.
+	 */
+	@Benchmark
+	public boolean crear_y_cerrar() {
+		int indice = ThreadLocalRandom.current().nextInt(biblioteca.getCantidad());
+		return servicio.cerrar(servicio.crear(Juego.abrir(biblioteca, indice)));
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package gui;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+
+import javax.swing.ImageIcon;
+
+/*
+ * Cada imagen (glifo) se escala una nica vez por tamao, siempre a partir de la imagen original, y se guarda ya dibujada
+ * en un BufferedImage. As, cambiar la imagen de un label es solo cambiar una referencia, y escalar una imagen que ya
+ * haba sido escalada (con la consecuente prdida de calidad) no puede ocurrir.
+ * Se recuerda el ltimo tamao pedido para no buscar en el mapa en el caso habitual (todas las celdas del mismo tamao).
+ */
+
+/**
+ * Almacena las imgenes de un conjunto de glifos ya escaladas a los tamaos en que se muestran en la interface.
+ * @author Dario A. Leal
+ */
+public class CacheSprites {
+
+	private Image[] originales;
+	private HashMap<Long, ImageIcon[]> sprites_por_tamanio; //La clave combina ancho y alto.
+	private int ultimo_ancho, ultimo_alto;
+	private ImageIcon[] ultimos_sprites;
+
+	/**
+	 * Constructor. Crea la cache para el conjunto de imgenes recibido.
+	 * @param originales Imgenes originales de cada glifo, en el orden en que se las pide (el glifo k es originales[k]).
+	 */
+	public CacheSprites(Image[] originales) {
+		this.originales = originales;
+		sprites_por_tamanio = new HashMap<Long, ImageIcon[]>();
+		ultimo_ancho = ultimo_alto = -1;
+	}
+
+	/**
+	 * Devuelve la imagen del glifo recibido, escalada al tamao recibido. Solo la primera vez que se pide un glifo a un tamao se escala la imagen original.
+	 * @param glifo ndice del glifo en el arreglo de imgenes originales.
+	 * @param ancho Ancho deseado, en pixeles.
+	 * @param alto Alto deseado, en pixeles.
+	 * @return La imagen escalada, o null si el tamao pedido no es positivo (por ejemplo, un label que todava no fue dimensionado).
+	 */
+	public ImageIcon getSprite(int glifo, int ancho, int alto) {
+		if (ancho <= 0 || alto <= 0) {
+			return null;
+		}
+		if (ancho != ultimo_ancho || alto != ultimo_alto) {
+			Long clave = ((long) ancho << 32) | alto;
+			ultimos_sprites = sprites_por_tamanio.get(clave);
+			if (ultimos_sprites == null) {
+				ultimos_sprites = new ImageIcon[originales.length];
+				sprites_por_tamanio.put(clave, ultimos_sprites);
+			}
+			ultimo_ancho = ancho;
+			ultimo_alto = alto;
+		}
+		if (ultimos_sprites[glifo] == null) {
+			ultimos_sprites[glifo] = new ImageIcon(escalar(originales[glifo], ancho, alto));
+		}
+		return ultimos_sprites[glifo];
+	}
+
+	//Dibuja la imagen original escalada (con el mismo algoritmo suave que se usaba antes) en una imagen nueva del tamao recibido.
+	private BufferedImage escalar(Image original, int ancho, int alto) {
+		Image escalada = new ImageIcon(original.getScaledInstance(ancho, alto, Image.SCALE_SMOOTH)).getImage(); //ImageIcon espera a que termine de escalarse.
+		BufferedImage sprite = new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = sprite.createGraphics();
+		g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+		g.drawImage(escalada, 0, 0, null);
+		g.dispose();
+		return sprite;
+	}
+
+}
\ No newline at end of file
@@ -1,69 +1,53 @@
-package logica;
+package gui;
 
 import java.awt.Component;
 
+import logica.Juego;
+
 /*
- * Una celda se crea una nica vez, al inicio del juego. Luego se trabaja modificando su estado interno.
+ * La celda no guarda el estado del juego: su valor, si es pista y si est en conflicto se le consultan al juego, que los guarda
+ * en forma compacta. La celda solo agrega lo que necesita quien la muestra (la imagen de su valor y el componente que la representa),
+ * y se crea una nica vez, junto con la VistaTablero a la que pertenece.
  */
 
 /**
- * Almacena todo el contenido relacionado a una celda del tablero de juego:
- * - un nmero de un dgito y su imagen (entidad grfica) asociada.
+ * Representa a una celda del tablero de juego para quien lo muestra:
+ * - un nmero (de 1 a la dimensin del tablero) y su imagen (entidad grfica) asociada.
  * - sus coordenadas (fila y columna).
  * - si se trata de una celda que contiene una pista.
  * - si se trata de una celda que est activa (es decir, mostrando el valor almacenado).
+ * - si est en conflicto (su valor se repite en su fila, columna o panel).
  * - el componente que la representa en la GUI.
  * @author Dario A. Leal
  */
 public class CeldaTablero {
 	
-	private int valor;
-	private EntidadGraficaCeldaTablero entidad_grafica_celda;
+	private EntidadGraficaCeldaTablero entidad_grafica_celda; //Se crea la primera vez que se pide.
 	private int fila, columna;
-	private boolean es_una_pista;
-	private boolean activa; //false si valor == 0 (celda inactiva), true si valor != 0 (celda activa). 
 	private Component componente;
+	private Juego juego; //Juego al que pertenece la celda, que guarda su estado.
 	
 	/**
-	 * Constructor. Crea la estructura para almacenar toda la informacin asociada a una celda del tablero de juego.
-	 * @param valor Un dgito de 0 a 9, donde 0 indica que la celda no mostrar imagen en el tablero, caso contrario se muestra la imagen correspondiente al parmetro valor recibido.
+	 * Constructor. Crea la celda que representa a una de las celdas de un juego.
+	 * @param juego Juego al que pertenece la celda.
 	 * @param fila Coordenada correspondiente a la fila en la que se encuentra la celda.
 	 * @param columna Coordenada correspondiente a la columna en la que se encuentra la celda.
 	 */
-	public CeldaTablero(int valor, int fila, int columna) {
-		this.valor = valor;
-		entidad_grafica_celda = new EntidadGraficaCeldaTablero();
-		entidad_grafica_celda.setImagen(this.valor);
+	public CeldaTablero(Juego juego, int fila, int columna) {
+		this.juego = juego;
 		this.fila = fila;
 		this.columna = columna;
-		
-		//Si al crear una celda el valor es != 0, la celda almacena una pista, lo que significa que el contenido de la celda
-		//no puede ser alterado.
-		es_una_pista = this.valor != 0;
-		
-		//Al momento de la creacin, estos estados son equivalentes. Diferencia:
-		//Celda que es pista --> est activa y no puede ser modificada.
-		//Celda que no es pista --> su status de activa puede variar, al igual que el contenido.
-		activa = es_una_pista;
-		
 		componente = null;
 	}
 	
 	//Solo se pueden actualizar celdas que no son pista (quien usa este servicio debe controlar eso).
 	/**
-	 * Actualiza valor, imagen y status de activa para la celda.
-	 * La actualizacin se da avanzando de forma automtica a partir del valor previo almacenado. 
+	 * Actualiza el valor de la celda, avanzando de forma automtica a partir del valor previo almacenado.
+	 * Es una jugada ms del juego (ver Juego.jugar).
 	 */
 	public void actualizar() {
-		if (valor == 9) {
-			valor = 0;
-			activa = false;
-		}
-		else {
-			valor++;
-			activa = true;
-		}
-		entidad_grafica_celda.setImagen(valor);
+		int valor = getValor();
+		juego.jugar(fila, columna, valor == juego.getDimension() ? 0 : valor + 1);
 	}
 	
 	/**
@@ -71,14 +55,18 @@ public class CeldaTablero {
 	 * @return El valor almacenado en la celda.
 	 */
 	public int getValor() {
-		return valor;
+		return juego.getValor(fila, columna);
 	}
 	
 	/**
-	 * Devuelve la entidad grfica almacenada en la celda.
-	 * @return La entidad grfica almacenada en la celda.
+	 * Devuelve la entidad grfica de la celda, con la imagen de su valor actual.
+	 * @return La entidad grfica de la celda.
 	 */
 	public EntidadGraficaCeldaTablero getEntidadGraficaCelda() {
+		if (entidad_grafica_celda == null) {
+			entidad_grafica_celda = new EntidadGraficaCeldaTablero();
+		}
+		entidad_grafica_celda.setImagen(getValor());
 		return entidad_grafica_celda;
 	}
 
@@ -103,7 +91,7 @@ public class CeldaTablero {
 	 * @return True si la celda corresponde a una pista, false en caso contrario.
 	 */
 	public boolean es_una_pista() {
-		return es_una_pista;
+		return juego.esPista(fila, columna);
 	}
 
 	/**
@@ -111,7 +99,15 @@ public class CeldaTablero {
 	 * @return True si la celda est activa, false en caso contrario.
 	 */
 	public boolean esta_activa() {
-		return activa;
+		return getValor() != 0;
+	}
+	
+	/**
+	 * Indica si el valor de la celda se repite en su misma fila, columna o panel.
+	 * @return True si la celda est en conflicto, false en caso contrario.
+	 */
+	public boolean esta_en_conflicto() {
+		return juego.estaEnConflicto(fila, columna);
 	}
 	
 	/**
@@ -0,0 +1,105 @@
+package gui;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+import javax.swing.ImageIcon;
+
+/**
+ * Estructura que almacena una imagen para una celda del tablero de juego.
+ * @author Dario A. Leal
+  */
+public class EntidadGraficaCeldaTablero {
+	
+	private static final int VALOR_MAXIMO = 25; //Valor ms alto posible, en un tablero de 25 x 25.
+	
+	//Imgenes de los valores de 0 a VALOR_MAXIMO, compartidas por todas las celdas de todos los juegos.
+	//Se cargan (y decodifican) una nica vez, as actualizar una celda no vuelve a leer ni decodificar ningn archivo.
+	//Las de los valores de dos cifras no tienen archivo propio: se arman con las imgenes de sus dgitos la primera vez que se necesitan.
+	private static final Image[] IMAGENES = cargarImagenes();
+	//conos de cada valor, tambin compartidos. Cambiar el valor de una entidad es solo cambiar la referencia al cono
+	//(ImageIcon.setImage, en cambio, vuelve a registrar la imagen en un MediaTracker en cada llamada).
+	private static final ImageIcon[] ICONOS = new ImageIcon[VALOR_MAXIMO + 1];
+	
+	private ImageIcon imagen;
+	
+	/**
+	 * Constructor. Crea la entidad en la que se almacenar una imagen para una celda del tablero.
+	 */
+	public EntidadGraficaCeldaTablero() {
+		imagen = getIcono(0);
+	}
+	
+	//Crea un arreglo donde empareja cada dgito de 0 a 9 con una imagen que lo representa.
+	//Para el caso del 0, se trata de una imagen vaca.
+	private static Image[] cargarImagenes() {
+		Image[] toReturn = new Image[VALOR_MAXIMO + 1];
+		for (int i = 0; i <= 9; i++)
+			toReturn[i] = new ImageIcon(EntidadGraficaCeldaTablero.class.getResource("/img/game/" + i + ".png")).getImage();
+		return toReturn;
+	}
+	
+	private static Image getImagenValor(int valor) {
+		return valor <= 9 ? IMAGENES[valor] : getImagenDosCifras(valor);
+	}
+	
+	//Puede invocarse desde distintos hilos (por ejemplo, si se crean juegos en segundo plano), por eso es synchronized.
+	private static synchronized Image getImagenDosCifras(int valor) {
+		if (IMAGENES[valor] == null) {
+			Image decena = IMAGENES[valor / 10];
+			Image unidad = IMAGENES[valor % 10];
+			int ancho = decena.getWidth(null), alto = decena.getHeight(null);
+			//Cada dgito ocupa algo ms de la mitad del ancho (se superponen un poco) y tres cuartos del alto, centrados verticalmente.
+			int ancho_digito = ancho * 3 / 5, alto_digito = alto * 3 / 4;
+			BufferedImage compuesta = new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_ARGB);
+			Graphics2D g = compuesta.createGraphics();
+			g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+			g.drawImage(decena, 0, (alto - alto_digito) / 2, ancho_digito, alto_digito, null);
+			g.drawImage(unidad, ancho - ancho_digito, (alto - alto_digito) / 2, ancho_digito, alto_digito, null);
+			g.dispose();
+			IMAGENES[valor] = compuesta;
+		}
+		return IMAGENES[valor];
+	}
+
+	/**
+	 * Se configura la entidad segn el parmetro recibido.
+	 * Es decir, a la entidad grfica se le asocia el nmero en formato imagen correspondiente al valor recibido.
+	 * Ej.: Si se recibe valor = 8, se setea esta entidad con la imagen de un nmero 8.
+	 * Si se recibe valor = 0, se setea la imagen con una imagen vaca.
+	 * @param valor Es un nmero entre 0 y 25.
+	 */
+	public void setImagen(int valor) {
+		imagen = getIcono(valor);
+	}
+	
+	private static synchronized ImageIcon getIcono(int valor) {
+		if (ICONOS[valor] == null) {
+			ICONOS[valor] = new ImageIcon(getImagenValor(valor));
+		}
+		return ICONOS[valor];
+	}
+	
+	/**
+	 * Devuelve las imgenes originales (sin escalar) de los valores de 0 a 25, en ese orden.
+	 * @return Un arreglo nuevo con las imgenes originales de los valores.
+	 */
+	public static Image[] getImagenesOriginales() {
+		Image[] originales = new Image[VALOR_MAXIMO + 1];
+		for (int i = 0; i <= VALOR_MAXIMO; i++) {
+			originales[i] = getImagenValor(i);
+		}
+		return originales;
+	}
+	
+	/**
+	 * Devuelve la imagen que almacena esta entidad. La comparten todas las entidades con el mismo valor, por lo que no debe modificarse.
+	 * @return la imagen almacenada en esta entidad grfica.
+	 */
+	public ImageIcon getImagen() {
+		return imagen;
+	}
+	
+}
\ No newline at end of file
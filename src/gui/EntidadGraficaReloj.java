@@ -0,0 +1,75 @@
+package gui;
+
+import java.awt.Image;
+
+import javax.swing.ImageIcon;
+
+/**
+ * Estructura que almacena una imagen para un elemento (dgito o separador) del reloj del juego.
+ * @author Dario A. Leal
+  */
+public class EntidadGraficaReloj {
+
+	//Imgenes de los dgitos de 0 a 9 y del smbolo ":" (la ltima), compartidas por todos los elementos de todos los relojes.
+	//Se cargan (y decodifican) una nica vez, as crear o reiniciar un reloj no vuelve a leer ningn archivo.
+	private static final Image[] IMAGENES = cargarImagenes();
+	//conos de cada elemento, tambin compartidos: cambiar el valor de una entidad es solo cambiar la referencia al cono,
+	//como en EntidadGraficaCeldaTablero.
+	private static final ImageIcon[] ICONOS = crearIconos();
+
+	private ImageIcon imagen;
+	
+	/**
+	 * Constructor. Crea la entidad en la que se almacenar una imagen para un elemento del reloj.
+	 */
+	public EntidadGraficaReloj() {
+		imagen = ICONOS[0];
+	}
+	
+	//Crea un arreglo donde empareja cada dgito de 0 a 9 con una imagen que lo representa.
+	//Tambin hay una imagen para el smbolo ":" (el ltimo componente del arreglo).
+	private static Image[] cargarImagenes() {		
+		Image[] img_array = new Image[11];
+		for (int i = 0; i < 10; i++) {
+			img_array[i] = new ImageIcon(EntidadGraficaReloj.class.getResource("/img/reloj/r" + i + ".png")).getImage();
+		}
+		img_array[10] = new ImageIcon(EntidadGraficaReloj.class.getResource("/img/reloj/rdp.png")).getImage();
+		return img_array;
+	}
+
+	private static ImageIcon[] crearIconos() {
+		ImageIcon[] iconos = new ImageIcon[IMAGENES.length];
+		for (int i = 0; i < IMAGENES.length; i++) {
+			iconos[i] = new ImageIcon(IMAGENES[i]);
+		}
+		return iconos;
+	}
+
+	/**
+	 * Se configura la entidad segn el parmetro recibido.
+	 * Es decir, a la entidad grfica se le asocia el nmero en formato imagen correspondiente al valor recibido.
+	 * Ej.: Si se recibe valor = 8, se setea esta entidad con la imagen de un nmero 8.
+	 * Si se recibe valor = 10, se setea la imagen con un smbolo separador (":" dos puntos).
+	 * @param valor Es un nmero entre 0 y 10.
+	 */
+	public void setImagen(int valor) {
+		imagen = ICONOS[valor];
+	}
+	
+	/**
+	 * Devuelve las imgenes originales (sin escalar) de los dgitos de 0 a 9 y del smbolo ":" (la ltima), en ese orden.
+	 * @return Un arreglo nuevo con las imgenes originales de los elementos del reloj.
+	 */
+	public static Image[] getImagenesOriginales() {
+		return IMAGENES.clone();
+	}
+	
+	/**
+	 * Devuelve la imagen que almacena esta entidad. La comparten todas las entidades con el mismo valor, por lo que no debe modificarse.
+	 * @return la imagen almacenada en esta entidad grfica.
+	 */
+	public ImageIcon getImagen() {
+		return imagen;
+	}
+
+}
\ No newline at end of file
@@ -6,12 +6,14 @@ import java.awt.EventQueue;
 import java.awt.Font;
 import java.awt.BorderLayout;
 import java.awt.GridLayout;
-import java.awt.Image;
 import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
+import java.awt.event.InputEvent;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.ActionEvent;
 
@@ -23,18 +25,30 @@ import javax.swing.border.BevelBorder;
 import javax.swing.border.EmptyBorder;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
+import javax.swing.JSpinner;
+import javax.swing.SpinnerNumberModel;
 import javax.swing.SwingConstants;
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JComboBox;
 import javax.swing.JComponent;
 import javax.swing.AbstractAction;
 import javax.swing.AbstractButton;
 import javax.swing.Action;
 import javax.swing.BorderFactory;
 import javax.swing.ButtonGroup;
-import javax.swing.ImageIcon;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import logica.*;
 
@@ -45,6 +59,7 @@ import logica.*;
  * 5: tiene un valor fuera de rango.
  * 6: el juego no tiene un formato vlido (viola las reglas).
  * 7: el archivo no existe.
+ * Pueden comprobarse sin abrir el juego con "java logica.ProcesadorTableros src/txt", que informa el error de cada archivo.
  * 
  * ---
  * 
@@ -64,8 +79,36 @@ public class GUI_juego extends JFrame {
 	private Color color_celda_normal = new Color(228, 227, 198);
 	private Color color_celda_repetida = new Color(250, 108, 80);
 	private Color color_celda_en_foco = new Color(119, 255, 92);
+	private Color color_celda_ayuda = new Color(255, 236, 139); //Celdas que justifican la ayuda.
+	private Color color_celda_ayuda_objetivo = new Color(255, 170, 90); //Celda en la que va el valor, o celdas de las que se descartan candidatos.
+	//Los nmeros de juego negativos indican un tablero generado al azar en lugar de cargado desde un archivo.
+	//Su valor absoluto es la cantidad de filas (y columnas) de un panel: -3 es un tablero de 9 x 9, -4 uno de 16 x 16, etc.
+	private static final int[] TAMANIOS_PANEL_GENERADOS = {3, 4, 5};
+	private static final int CANT_JUEGOS = 7; //Juegos cargados desde archivos de texto que se ofrecen en el men (incluidos los que dan error, ver arriba).
+	//Los nmeros de juego mayores a CANT_JUEGOS indican un juego de la biblioteca: CANT_JUEGOS + 1 es su primer juego, y as siguiendo.
+	//La cantidad de juegos que se ofrecen de la biblioteca es la registrada en su cabecera. En el men se eligen por nivel de dificultad.
+	private static final String RECURSO_BIBLIOTECA = "/txt/biblioteca9x9.sdk"; //5000 juegos, semilla 2020 (ver EscritorBiblioteca).
+	private static BibliotecaTableros biblioteca; //null si no pudo abrirse.
+	//La partida en curso se guarda automticamente, para poder retomarla si el juego se cierra sin terminarla.
+	private static final Path ARCHIVO_PARTIDA = Paths.get(System.getProperty("user.home"), ".sudoku-tdp2020", "partida.dat");
+	private static final long DEMORA_GUARDADO = 500; //En milisegundos. Los cambios hechos dentro de ese lapso se guardan juntos.
+	private int tam_panel;
+	private int dimension;
 	private Juego juego;
+	private VistaTablero vista; //Celdas del juego, con el componente que muestra cada una.
 	private JPanel panel_tablero;
+	private Reloj panel_reloj;
+	private CeldaTablero celda_en_foco; //ltima celda pulsada por el jugador.
+	private boolean tablero_habilitado; //False cuando el juego fue resuelto: los clicks sobre las celdas se ignoran.
+	private boolean mostrar_candidatos; //True si en las celdas vacas se muestran sus candidatos.
+	private boolean candidatos_con_descartes; //True si los candidatos mostrados excluyen descartes de ayudas (ver Juego.getCandidatos).
+	private IconoCandidatos[][] iconos_candidatos;
+	private PasoResolucion ayuda; //Se reutiliza en cada pedido de ayuda.
+	private Color[] colores_ayuda; //Color de cada celda (fila x DIMENSION + columna) resaltada por la ayuda mostrada, o null.
+	private boolean mostrando_ayuda;
+	private JLabel lblMensajes;
+	private CacheSprites sprites_tablero = new CacheSprites(EntidadGraficaCeldaTablero.getImagenesOriginales());
+	private GuardadoAutomatico guardado;
 	
 	/**
 	 * Servicio que inicia el juego con la muestra de un men.
@@ -74,10 +117,30 @@ public class GUI_juego extends JFrame {
 		EventQueue.invokeLater(new Runnable() {
 			public void run() {
 				try {
-					int juego_numero = menu_elegir_juego();
-					if (juego_numero != 0) { //0 es salir del men de eleccin con CANCEL.
-						GUI_juego frame = new GUI_juego(juego_numero);
-						frame.setVisible(true);
+					GuardadoAutomatico guardado = new GuardadoAutomatico(ARCHIVO_PARTIDA, DEMORA_GUARDADO);
+					LogicaReloj tiempo_de_juego = new LogicaReloj();
+					Juego partida = partida_para_continuar(guardado, tiempo_de_juego);
+					if (partida != null) {
+						new GUI_juego(partida.getTamPanel(), CompletableFuture.completedFuture(partida), tiempo_de_juego.getTiempoTranscurrido(), guardado).setVisible(true);
+					}
+					else {
+						biblioteca = abrir_biblioteca();
+						//Mientras el jugador elige, todas las opciones del men se cargan (y validan) en paralelo, en segundo plano.
+						Map<Integer, CompletableFuture<Juego>> juegos = precargar_juegos();
+						int juego_numero = menu_elegir_juego();
+						for (Map.Entry<Integer, CompletableFuture<Juego>> opcion : juegos.entrySet()) {
+							if (opcion.getKey() != juego_numero) {
+								//En los juegos generados, cancelar tambin detiene la generacin (ver Juego.generarEnSegundoPlano).
+								opcion.getValue().cancel(false);
+							}
+						}
+						if (juego_numero != 0) { //0 es salir del men de eleccin con CANCEL.
+							int tam_panel = juego_numero < 0 ? -juego_numero : juego_numero > CANT_JUEGOS ? biblioteca.getTamPanel() : 3;
+							//Los juegos de la biblioteca no se precargan: abrir uno no lee nada ms que su registro.
+							CompletableFuture<Juego> juego = juegos.containsKey(juego_numero) ? juegos.get(juego_numero) : crear_juego(juego_numero);
+							GUI_juego frame = new GUI_juego(tam_panel, juego, 0, guardado);
+							frame.setVisible(true);
+						}
 					}
 				} catch (Exception e) {
 					e.printStackTrace();
@@ -86,6 +149,46 @@ public class GUI_juego extends JFrame {
 		});
 	}
 
+	//Si hay una partida guardada sin terminar, le ofrece al jugador continuarla. Devuelve el juego a continuar, o null.
+	//La partida se restaura una nica vez, antes de preguntar (una partida invlida no se ofrece), con su tiempo de juego en el reloj recibido.
+	private static Juego partida_para_continuar(GuardadoAutomatico guardado, LogicaReloj tiempo_de_juego) {
+		byte[] instantanea = guardado.leer();
+		if (instantanea == null) {
+			return null;
+		}
+		Juego partida;
+		try {
+			partida = Juego.restaurar(instantanea, tiempo_de_juego);
+		} catch (IllegalArgumentException e) {
+			guardado.borrar();
+			return null;
+		}
+		int respuesta = JOptionPane.showConfirmDialog(null, "Hay una partida sin terminar. Desea continuarla?", "SUDOKU - Partida guardada", JOptionPane.YES_NO_OPTION, JOptionPane.QUESTION_MESSAGE);
+		return respuesta == JOptionPane.YES_OPTION ? partida : null;
+	}
+	
+	//Abre la biblioteca de juegos incluida con el programa. Si no est o no puede abrirse, el men no la ofrece.
+	private static BibliotecaTableros abrir_biblioteca() {
+		try {
+			return BibliotecaTableros.abrirRecurso(RECURSO_BIBLIOTECA);
+		} catch (IOException | IllegalArgumentException e) {
+			e.printStackTrace();
+			return null;
+		}
+	}
+	
+	//Empieza a crear el juego de cada opcin del men, sin esperar a que termine.
+	private static Map<Integer, CompletableFuture<Juego>> precargar_juegos() {
+		Map<Integer, CompletableFuture<Juego>> juegos = new HashMap<Integer, CompletableFuture<Juego>>();
+		for (int i = 1; i <= CANT_JUEGOS; i++) {
+			juegos.put(i, crear_juego(i));
+		}
+		for (int tam : TAMANIOS_PANEL_GENERADOS) {
+			juegos.put(-tam, crear_juego(-tam));
+		}
+		return juegos;
+	}
+	
 	private static int menu_elegir_juego() {
 		JPanel panel_menu = new JPanel();
 		panel_menu.setLayout(new GridLayout(0, 1, 0, 20));
@@ -101,13 +204,13 @@ public class GUI_juego extends JFrame {
 		panel_botones.setLayout(new GridLayout(0, 2));
 		panel_menu.add(panel_botones);
 		
-		int cant_juegos = 7; //Esto lo podemos hacer variar.
 		int opcion_elegida = 0;
 		ButtonGroup botones = new ButtonGroup(); //Esto se usa solamente para luego poder saber qu botn es el seleccionado.
 		JRadioButton rb;
 		
-		for (int i = 1; i <= cant_juegos; i++) {
+		for (int i = 1; i <= CANT_JUEGOS; i++) {
 			rb = new JRadioButton(String.valueOf(i));
+			rb.setActionCommand(String.valueOf(i));
 			rb.setHorizontalAlignment(SwingConstants.CENTER);
 			if (i == 1) { //El juego nmero 1 es el seleccionado por defecto.
 				rb.setSelected(true);
@@ -116,6 +219,50 @@ public class GUI_juego extends JFrame {
 			panel_botones.add(rb);
 		}
 		
+		//Opciones para jugar un tablero generado al azar, que no depende de los archivos de texto.
+		for (int tam : TAMANIOS_PANEL_GENERADOS) {
+			rb = new JRadioButton("Nuevo " + tam * tam + "x" + tam * tam);
+			rb.setActionCommand(String.valueOf(-tam));
+			rb.setHorizontalAlignment(SwingConstants.CENTER);
+			botones.add(rb);
+			panel_botones.add(rb);
+		}
+		
+		//Opcin para jugar un juego de la biblioteca, eligiendo el nivel de dificultad y el nmero de juego dentro del nivel.
+		//Las dificultades ya estn calificadas (ver CalificadorDificultad), as que armar los niveles no resuelve ningn juego.
+		ArrayList<int[]> juegos_por_nivel = new ArrayList<int[]>(); //Solo los niveles que tienen algn juego, en el orden del combo.
+		JComboBox<String> nivel_en_biblioteca = new JComboBox<String>();
+		JSpinner numero_en_biblioteca = new JSpinner(new SpinnerNumberModel(1, 1, 1, 1));
+		if (biblioteca != null && biblioteca.getCantidad() > 0) {
+			int[][] por_nivel = CalificadorDificultad.agruparPorNivel(biblioteca);
+			for (NivelDificultad nivel : NivelDificultad.values()) {
+				if (por_nivel[nivel.ordinal()].length > 0) {
+					juegos_por_nivel.add(por_nivel[nivel.ordinal()]);
+					nivel_en_biblioteca.addItem(nivel.getNombre() + " (" + por_nivel[nivel.ordinal()].length + ")");
+				}
+			}
+			JRadioButton rb_biblioteca = new JRadioButton("Biblioteca:");
+			rb_biblioteca.setActionCommand("biblioteca");
+			rb_biblioteca.setHorizontalAlignment(SwingConstants.CENTER);
+			botones.add(rb_biblioteca);
+			panel_botones.add(rb_biblioteca);
+			panel_botones.add(nivel_en_biblioteca);
+			panel_botones.add(new JLabel("Juego nmero:", SwingConstants.CENTER));
+			panel_botones.add(numero_en_biblioteca);
+			SpinnerNumberModel numeros = (SpinnerNumberModel) numero_en_biblioteca.getModel();
+			numeros.setMaximum(juegos_por_nivel.get(0).length);
+			//Elegir un nivel o un nmero elige la opcin. Al cambiar de nivel, el nmero queda dentro de la cantidad de juegos del nivel.
+			nivel_en_biblioteca.addActionListener(e -> {
+				int cant = juegos_por_nivel.get(nivel_en_biblioteca.getSelectedIndex()).length;
+				numeros.setMaximum(cant);
+				if ((Integer) numeros.getValue() > cant) {
+					numeros.setValue(cant);
+				}
+				rb_biblioteca.setSelected(true);
+			});
+			numero_en_biblioteca.addChangeListener(e -> rb_biblioteca.setSelected(true));
+		}
+		
 		int respuesta = JOptionPane.showConfirmDialog(null, panel_menu, "SUDOKU - Eleccin de juego", JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
 		
 		//Si el jugador elije OK se recupera el nmero de opcin (juego) elegida.
@@ -123,7 +270,13 @@ public class GUI_juego extends JFrame {
 			for (Enumeration<AbstractButton> buttons = botones.getElements(); buttons.hasMoreElements();) {
 				AbstractButton button = buttons.nextElement();
 				if (button.isSelected()) {
-					opcion_elegida = Integer.parseInt( button.getText() );
+					if (button.getActionCommand().equals("biblioteca")) {
+						int[] juegos_del_nivel = juegos_por_nivel.get(nivel_en_biblioteca.getSelectedIndex());
+						opcion_elegida = CANT_JUEGOS + 1 + juegos_del_nivel[(Integer) numero_en_biblioteca.getValue() - 1];
+					}
+					else {
+						opcion_elegida = Integer.parseInt( button.getActionCommand() );
+					}
 				}
 			}
 		}
@@ -131,23 +284,37 @@ public class GUI_juego extends JFrame {
 		return opcion_elegida;
 	} //menu_elegir_juego
 	
-	private GUI_juego(int juego_numero) {
+	//El juego se muestra cuando juego_futuro termina. Si ya termin (lo habitual, porque se carg mientras se mostraba el men), se muestra de inmediato.
+	//tiempo_de_juego es el tiempo con el que arranca el reloj, en nanosegundos (distinto de 0 al continuar una partida guardada).
+	private GUI_juego(int tam_panel, CompletableFuture<Juego> juego_futuro, long tiempo_de_juego, GuardadoAutomatico guardado) {
 		//El objeto sobre el que trabajamos es el JFrame llamado 'frame' que creamos en main.
 		setResizable(false);
 		setTitle("Sudoku");
 		setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-		setSize(550, 550);
+		this.guardado = guardado;
+		this.tam_panel = tam_panel;
+		dimension = tam_panel * tam_panel;
+		setSize(550 + (dimension - 9) * 20, 550 + (dimension - 9) * 20); //Los tableros ms grandes necesitan ms espacio.
 		setLocationRelativeTo(null);
 
 		//Esto es para que la ventana del juego se cierre apretando la tecla Escape.
 		KeyStroke escapeKeyStroke = KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0, false);
+		//Al salir as, o cerrando la ventana, la partida queda guardada para continuarla luego.
 		Action escapeAction = new AbstractAction() {
 			public void actionPerformed(ActionEvent e) {
-				System.exit(0);
+				guardar_partida();
+				salir();
 			}
 		};
 		getRootPane().getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(escapeKeyStroke, "ESCAPE");
 		getRootPane().getActionMap().put("ESCAPE", escapeAction);
+		addWindowListener(new WindowAdapter() {
+			@Override
+			public void windowClosing(WindowEvent e) {
+				guardar_partida();
+				guardado.cerrar();
+			}
+		});
 
 		//Contenedor (panel) principal.
 
@@ -158,7 +325,7 @@ public class GUI_juego extends JFrame {
 
 		//Panel superior, para el reloj del juego.
 		
-		Reloj panel_reloj = new Reloj();
+		panel_reloj = new Reloj();
 		contentPane.add(panel_reloj, BorderLayout.NORTH);
 		panel_reloj.setVisible(false); //Se habilita cuando se elige una opcin de juego vlida.
 		
@@ -182,17 +349,11 @@ public class GUI_juego extends JFrame {
 		btnReiniciar.setMnemonic('R');
 		btnReiniciar.addActionListener(new ActionListener() {
 			public void actionPerformed(ActionEvent e) {
-				try {
-					juego = new Juego(juego_numero);
-					contentPane.remove(panel_tablero);
-					setear_panel_tablero();
-					contentPane.add(panel_tablero, BorderLayout.CENTER);
-					panel_tablero.revalidate();
-					generar_GUI_del_tablero(panel_tablero);
-					panel_reloj.restart();
-				} catch (TextFileException e1) {
-					e1.printStackTrace();
-				}
+				//Se reutilizan el juego, sus celdas y los labels del tablero: solo cambian las pistas y los valores (ver Juego.reiniciar).
+				juego.reiniciar();
+				habilitar_tablero(panel_tablero, true);
+				panel_reloj.restart();
+				guardar_partida();
 			}
 		});
 		panelBotones.add(btnReiniciar);
@@ -201,7 +362,8 @@ public class GUI_juego extends JFrame {
 		btnAbandonar.setMnemonic('A');
 		btnAbandonar.addActionListener(new ActionListener() {
 			public void actionPerformed(ActionEvent e) {
-				System.exit(0);
+				guardado.borrar(); //Una partida abandonada no se ofrece para continuar.
+				salir();
 			}
 		});
 		panelBotones.add(btnAbandonar);
@@ -212,28 +374,19 @@ public class GUI_juego extends JFrame {
 			public void actionPerformed(ActionEvent e) {
 				panel_reloj.stop();
 				
-				String resultado = juego.comprobar_resolucion();
-				if (resultado.equals("INCOMPLETO")) {
-					JOptionPane.showMessageDialog(null, "Hay celdas sin completar!", "SUDOKU INCOMPLETO", JOptionPane.WARNING_MESSAGE);
-					panel_reloj.start(); //Reanuda.
-				}
-				else {
-					if (resultado.equals("DISTINTOS")) {
+				switch (juego.comprobar_resolucion()) {
+					case INCOMPLETO:
+						JOptionPane.showMessageDialog(null, "Hay celdas sin completar!", "SUDOKU INCOMPLETO", JOptionPane.WARNING_MESSAGE);
+						panel_reloj.start(); //Reanuda.
+						break;
+					case DISTINTOS:
 						JOptionPane.showMessageDialog(null, "La solucin no es correcta.", "SUDOKU CON ERRORES", JOptionPane.ERROR_MESSAGE);
 						panel_reloj.start(); //Reanuda.
-					}
-					else { //resultado.equals("IGUALES")
-						deshabilitar_tablero(panel_tablero);
-
-						//Juego exitoso, se arma un mensaje que incluir el tiempo total de juego.
-						int[] tiempo_de_juego = panel_reloj.getValoresReloj();
-						String msj_solucion_correcta = "La solucin es correcta!\n\nTiempo total de juego:\n";
-						msj_solucion_correcta += tiempo_de_juego[0] + " horas\n"; 
-						msj_solucion_correcta += tiempo_de_juego[1] + " minutos\n";
-						msj_solucion_correcta += tiempo_de_juego[2] + " segundos";
-
-						JOptionPane.showMessageDialog(null, msj_solucion_correcta, "SUDOKU RESUELTO", JOptionPane.INFORMATION_MESSAGE);
-					}
+						break;
+					case IGUALES:
+						//Normalmente ya se detect con el ltimo cambio de valor y el tablero est deshabilitado.
+						mostrar_juego_resuelto();
+						break;
 				}
 			}
 		});
@@ -244,28 +397,145 @@ public class GUI_juego extends JFrame {
 		JPanel panelMensajes = new JPanel();
 		panel_inferior.add(panelMensajes, BorderLayout.SOUTH);
 		
-		JLabel lblMensajes = new JLabel();
+		lblMensajes = new JLabel();
 		panelMensajes.add(lblMensajes);
+		
+		JCheckBox chkCandidatos = new JCheckBox("Ver candidatos");
+		chkCandidatos.setMnemonic('V');
+		chkCandidatos.addActionListener(new ActionListener() {
+			public void actionPerformed(ActionEvent e) {
+				mostrar_candidatos = chkCandidatos.isSelected();
+				for (int i = 0; i < dimension; i++) {
+					for (int j = 0; j < dimension; j++) {
+						CeldaTablero c = vista.getCelda(i, j);
+						if (c.getValor() == 0) {
+							actualizar_imagen((JLabel) c.getComponente(), c);
+						}
+					}
+				}
+			}
+		});
+		panelMensajes.add(chkCandidatos);
+		
+		//Deshacer y rehacer jugadas, tambin con Ctrl+Z y Ctrl+Y. Mientras el tablero est deshabilitado no tienen efecto.
+		Action deshacerAction = new AbstractAction("Deshacer") {
+			public void actionPerformed(ActionEvent e) {
+				if (tablero_habilitado) {
+					juego.deshacer();
+				}
+			}
+		};
+		Action rehacerAction = new AbstractAction("Rehacer") {
+			public void actionPerformed(ActionEvent e) {
+				if (tablero_habilitado) {
+					juego.rehacer();
+				}
+			}
+		};
+		getRootPane().getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(KeyEvent.VK_Z, InputEvent.CTRL_DOWN_MASK), "DESHACER");
+		getRootPane().getActionMap().put("DESHACER", deshacerAction);
+		getRootPane().getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(KeyEvent.VK_Y, InputEvent.CTRL_DOWN_MASK), "REHACER");
+		getRootPane().getActionMap().put("REHACER", rehacerAction);
+		
+		JButton btnDeshacer = new JButton(deshacerAction);
+		panelMensajes.add(btnDeshacer);
+		JButton btnRehacer = new JButton(rehacerAction);
+		panelMensajes.add(btnRehacer);
+		
+		//Ayuda: el siguiente paso que puede deducirse del tablero actual, con las celdas que lo justifican resaltadas.
+		JButton btnAyuda = new JButton("Ayuda");
+		btnAyuda.setMnemonic('u');
+		btnAyuda.addActionListener(new ActionListener() {
+			public void actionPerformed(ActionEvent e) {
+				if (tablero_habilitado) {
+					mostrar_ayuda();
+				}
+			}
+		});
+		panelMensajes.add(btnAyuda);
 
-		//Creados y agregados a la GUI los componentes principales, se crea una instancia del juego e inicia el reloj:
+		//Creados y agregados a la GUI los componentes principales, se toma el juego e inicia el reloj.
+		//Mientras el juego no est listo, los controles que lo usan quedan deshabilitados.
 		
-		try {
-			juego = new Juego(juego_numero); //Puede generar excepcin en relacin al archivo de texto desde el cual se crea.
-			generar_GUI_del_tablero(panel_tablero);
-			panel_reloj.setVisible(true);
-			panel_reloj.start();
-		} catch (TextFileException e) {
-			lblMensajes.setText( e.getMessage() );
-			btnReiniciar.setEnabled(false);
-			btnAbandonar.setText("SALIR");
-			btnAbandonar.setMnemonic('S');
-			btnControlar.setEnabled(false);
+		Component[] controles_del_juego = {btnReiniciar, btnControlar, chkCandidatos, btnDeshacer, btnRehacer, btnAyuda};
+		Runnable iniciar_juego = new Runnable() {
+			public void run() {
+				try {
+					juego = esperar(juego_futuro); //Puede generar excepcin en relacin al archivo de texto desde el cual se crea.
+					juego.setComprobarPorReglas(true); //Cualquier tablero completo que respete las reglas es una solucin vlida.
+					vista = new VistaTablero(juego);
+					generar_GUI_del_tablero(panel_tablero);
+					panel_tablero.revalidate();
+					lblMensajes.setText("");
+					for (Component control : controles_del_juego) {
+						control.setEnabled(true);
+					}
+					panel_reloj.getLogicaReloj().setTiempoTranscurrido(tiempo_de_juego);
+					panel_reloj.setVisible(true);
+					panel_reloj.start();
+				} catch (TextFileException | CompletionException | CancellationException e) {
+					//Cualquier otro error al crear el juego (ej.: del generador, o un juego cancelado) tambin se informa,
+					//para que la ventana no quede esperando un juego que no va a llegar.
+					if (!(e instanceof TextFileException)) {
+						e.printStackTrace();
+					}
+					lblMensajes.setText(e instanceof TextFileException ? e.getMessage() : "error : juego : \"No se pudo crear el juego.\"");
+					btnAbandonar.setText("SALIR");
+					btnAbandonar.setMnemonic('S');
+					chkCandidatos.setVisible(false);
+					btnDeshacer.setVisible(false);
+					btnRehacer.setVisible(false);
+					btnAyuda.setVisible(false);
+				}
+			}
+		};
+		for (Component control : controles_del_juego) {
+			control.setEnabled(false);
+		}
+		if (juego_futuro.isDone()) {
+			iniciar_juego.run();
+		}
+		else {
+			lblMensajes.setText("Cargando juego...");
+			juego_futuro.whenComplete((juego_listo, error) -> EventQueue.invokeLater(iniciar_juego));
 		}
 	} //GUI_juego
 
+	//Empieza a crear, en segundo plano, el juego elegido en el men: cargado desde un archivo de texto o generado al azar.
+	//Los juegos de la biblioteca se abren de inmediato.
+	private static CompletableFuture<Juego> crear_juego(int juego_numero) {
+		if (juego_numero > CANT_JUEGOS) {
+			try {
+				return CompletableFuture.completedFuture(Juego.abrir(biblioteca, juego_numero - CANT_JUEGOS - 1));
+			} catch (IllegalArgumentException e) {
+				return CompletableFuture.failedFuture(new TextFileException("error : biblioteca : \"" + e.getMessage() + "\""));
+			}
+		}
+		if (juego_numero < 0) {
+			//Entre 20 y 35 pistas cada 81 celdas, como los juegos cargados desde archivos.
+			int tam_panel = -juego_numero, cant_celdas = tam_panel * tam_panel * tam_panel * tam_panel;
+			Random rand = new Random();
+			return Juego.generarEnSegundoPlano(tam_panel, rand.nextLong(), cant_celdas * (20 + rand.nextInt(16)) / 81);
+		}
+		return Juego.cargarEnSegundoPlano(juego_numero);
+	}
+	
+	//Espera a que el juego est listo. Si no pudo crearse por un problema con su archivo de texto, lanza esa excepcin.
+	//Si fall por otro motivo lanza la CompletionException, y si se cancel una CancellationException.
+	private static Juego esperar(CompletableFuture<Juego> juego_futuro) throws TextFileException {
+		try {
+			return juego_futuro.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof TextFileException) {
+				throw (TextFileException) e.getCause();
+			}
+			throw e;
+		}
+	}
+	
 	private void setear_panel_tablero() {
 		panel_tablero = new JPanel();
-		panel_tablero.setLayout(new GridLayout(0, 9, 2, 2));
+		panel_tablero.setLayout(new GridLayout(0, dimension, 2, 2));
 		panel_tablero.setBackground(Color.BLACK);
 		panel_tablero.setBorder(BorderFactory.createMatteBorder(2, 2, 2, 2, Color.BLACK));
 	}
@@ -276,18 +546,62 @@ public class GUI_juego extends JFrame {
 	 * Cuando hay un conflicto por romper una regla del juego, se marcan con un color especial las celdas involucradas.
 	 */
 	private void generar_GUI_del_tablero(JPanel panel_tablero) {
-		for (int i = 0; i < juego.getDimension(); i++) {
-			for (int j = 0; j < juego.getDimension(); j++) {
-				CeldaTablero c = juego.getCelda(i, j);
-				ImageIcon imgCelda = c.getEntidadGraficaCelda().getImagen();
+		celda_en_foco = null;
+		tablero_habilitado = true;
+		
+		//El juego avisa qu celdas cambiaron de valor o de estado de conflicto, y solo esas se vuelven a pintar.
+		//El oyente se agrega una nica vez: al reiniciar el tablero se reutiliza el mismo juego.
+		juego.agregarOyente(new OyenteJuego() {
+			public void celdaActualizada(int fila, int columna) {
+				CeldaTablero c = vista.getCelda(fila, columna);
+				quitar_ayuda(); //La ayuda mostrada corresponde al tablero anterior al cambio.
+				actualizar_imagen((JLabel) c.getComponente(), c);
+				actualizar_color(c);
+				if (mostrar_candidatos) {
+					repintar_candidatos(c);
+				}
+				guardar_partida();
+			}
+			
+			public void conflictoActualizado(int fila, int columna, boolean en_conflicto) {
+				actualizar_color(vista.getCelda(fila, columna));
+			}
+			
+			public void juegoResuelto() {
+				mostrar_juego_resuelto();
+			}
+			
+			public void tableroReiniciado() {
+				celda_en_foco = null;
+				candidatos_con_descartes = false; //Al reiniciar, el juego olvida los descartes de las ayudas.
+				quitar_ayuda();
+				for (int i = 0; i < dimension; i++) {
+					for (int j = 0; j < dimension; j++) {
+						CeldaTablero c = vista.getCelda(i, j);
+						actualizar_imagen((JLabel) c.getComponente(), c);
+						actualizar_color(c);
+					}
+				}
+			}
+		});
+		
+		iconos_candidatos = new IconoCandidatos[dimension][dimension];
+		ayuda = juego.crearPaso();
+		colores_ayuda = new Color[dimension * dimension];
+		for (int i = 0; i < dimension; i++) {
+			for (int j = 0; j < dimension; j++) {
+				CeldaTablero c = vista.getCelda(i, j);
 				JLabel label_celda = new JLabel();
+				iconos_candidatos[i][j] = new IconoCandidatos(juego, i, j);
 				
 				//Para las celdas que estn en los bordes internos de los paneles les seteo un borde ms grueso.
-				if (i == 2 || i == 5) { //Borde inferior para paneles.
+				boolean borde_inferior = (i + 1) % tam_panel == 0 && i != dimension - 1;
+				boolean borde_derecho = (j + 1) % tam_panel == 0 && j != dimension - 1;
+				if (borde_inferior) { //Borde inferior para paneles.
 					label_celda.setBorder(BorderFactory.createMatteBorder(0, 0, 3, 0, Color.BLACK));
 				}
-				if (j == 2 || j == 5) {
-					if (i == 2 || i == 5) { //Borde para esquinas inferiores derechas de paneles.
+				if (borde_derecho) {
+					if (borde_inferior) { //Borde para esquinas inferiores derechas de paneles.
 						label_celda.setBorder(BorderFactory.createMatteBorder(0, 0, 3, 3, Color.BLACK));
 					}
 					else { //Borde derecho para paneles.
@@ -300,37 +614,27 @@ public class GUI_juego extends JFrame {
 				label_celda.addComponentListener(new ComponentAdapter() {
 					@Override
 					public void componentResized(ComponentEvent e) {
-						redimensionar(label_celda, imgCelda);
-						label_celda.setIcon(imgCelda);
+						actualizar_imagen(label_celda, c);
 					}
 				});
 				
-				if (c.es_una_pista()) {
-					label_celda.setBackground(color_celda_pista);
-				}
-				else {
-					label_celda.setBackground(color_celda_normal);
-					label_celda.addMouseListener(new MouseAdapter() {
-						@Override
-						public void mouseClicked(MouseEvent e) {
-							restaurarColores();
-							c.actualizar();
-							if (c.getValor() != 0) {
-								label_celda.setBackground(color_celda_en_foco);
-							}
-							
-							//Esto es para marcar las celdas en conflicto con la actual, si las hay.
-							ArrayList<CeldaTablero> repetidos = juego.chequearRepetidos(c);
-							if (repetidos.size() > 0) {
-								c.getComponente().setBackground(color_celda_repetida);
-								for (CeldaTablero celda : repetidos) {
-									celda.getComponente().setBackground(color_celda_repetida);
-								}
-							}
-							redimensionar(label_celda, imgCelda);
+				label_celda.setBackground(c.es_una_pista() ? color_celda_pista : color_celda_normal);
+				//Todas las celdas tienen su oyente, porque al reiniciar el tablero cambia cules son pista.
+				label_celda.addMouseListener(new MouseAdapter() {
+					@Override
+					public void mouseClicked(MouseEvent e) {
+						if (!tablero_habilitado || c.es_una_pista()) {
+							return;
 						}
-					});
-				}
+						//La celda que tena el foco lo pierde. El resto de los cambios de color los avisa el juego al actualizar la celda.
+						CeldaTablero anterior = celda_en_foco;
+						celda_en_foco = c;
+						if (anterior != null && anterior != c) {
+							actualizar_color(anterior);
+						}
+						c.actualizar();
+					}
+				});
 				
 				c.setComponente(label_celda);
 				panel_tablero.add(label_celda);
@@ -338,40 +642,177 @@ public class GUI_juego extends JFrame {
 		}
 	} //generar_GUI_del_tablero
 	
-	//Adapta la imagen contenida en img al tamao deseado tomando como referencia el tamao de label.
-	private void redimensionar(JLabel label, ImageIcon img) {
-		Image image = img.getImage();
-		if (image != null) {
-			Image newimg = image.getScaledInstance(label.getWidth()-3, label.getHeight()-3, java.awt.Image.SCALE_SMOOTH);
-			img.setImage(newimg);
+	//Juego exitoso: se detiene el reloj, se deshabilita el tablero y se muestra un mensaje que incluye el tiempo total de juego.
+	private void mostrar_juego_resuelto() {
+		panel_reloj.stop();
+		habilitar_tablero(panel_tablero, false);
+		guardado.borrar(); //Una partida terminada no se ofrece para continuar.
+		
+		int[] tiempo_de_juego = panel_reloj.getValoresReloj();
+		String msj_solucion_correcta = "La solucin es correcta!\n\nTiempo total de juego:\n";
+		msj_solucion_correcta += tiempo_de_juego[0] + " horas\n"; 
+		msj_solucion_correcta += tiempo_de_juego[1] + " minutos\n";
+		msj_solucion_correcta += tiempo_de_juego[2] + " segundos";
+
+		JOptionPane.showMessageDialog(null, msj_solucion_correcta, "SUDOKU RESUELTO", JOptionPane.INFORMATION_MESSAGE);
+	}
+	
+	//Pide guardar el estado actual de la partida. Tomar la instantnea cuesta unos microsegundos; la escritura se hace en segundo plano.
+	//Una partida ya resuelta no se guarda.
+	private void guardar_partida() {
+		if (juego != null && tablero_habilitado) {
+			guardado.guardar(juego.guardar(panel_reloj.getLogicaReloj()));
+		}
+	}
+	
+	//Termina el juego, esperando antes a que se complete cualquier escritura pendiente de la partida.
+	private void salir() {
+		guardado.cerrar();
+		System.exit(0);
+	}
+	
+	//Muestra en el label la imagen del valor de la celda, escalada tomando como referencia el tamao del label.
+	//Las imgenes escaladas se reutilizan (ver CacheSprites), as que esto solo cambia el cono del label.
+	//En las celdas vacas, si se eligi verlos, se muestran los candidatos.
+	private void actualizar_imagen(JLabel label, CeldaTablero c) {
+		if (mostrar_candidatos && c.getValor() == 0) {
+			IconoCandidatos icono = iconos_candidatos[c.getFila()][c.getColumna()];
+			icono.setTamanio(label.getWidth()-3, label.getHeight()-3);
+			label.setIcon(icono);
 			label.repaint();
 		}
+		else {
+			label.setIcon(sprites_tablero.getSprite(c.getValor(), label.getWidth()-3, label.getHeight()-3));
+		}
 	}
-
-	//Setea el color de cada celda del tablero a su color original (una celda pierde su color original
-	//si es marcada como repetida/en conflicto con la celda que est siendo actualizada).
-	private void restaurarColores() {
-		CeldaTablero c;
-		for (int i = 0; i < juego.getDimension(); i++) {
-			for (int j = 0; j < juego.getDimension(); j++) {
-				c = juego.getCelda(i, j);
-				Color color = c.es_una_pista() ? color_celda_pista : color_celda_normal;
-				c.getComponente().setBackground(color);
+	
+	//Al cambiar el valor de una celda solo pueden cambiar los candidatos de las celdas vacas de su fila, columna y panel.
+	//Los conos consultan los candidatos al dibujarse, as que alcanza con volver a pintarlas.
+	//Si adems el cambio hizo que el juego olvide los descartes de las ayudas, pueden cambiar los candidatos de cualquier celda vaca.
+	private void repintar_candidatos(CeldaTablero c) {
+		if (candidatos_con_descartes && !juego.hayCandidatosDescartados()) {
+			candidatos_con_descartes = false;
+			for (int celda = 0; celda < dimension * dimension; celda++) {
+				repintar_si_vacia(vista.getCelda(celda / dimension, celda % dimension));
 			}
+			return;
+		}
+		int fila_inicial = c.getFila() - c.getFila() % tam_panel;
+		int col_inicial = c.getColumna() - c.getColumna() % tam_panel;
+		for (int k = 0; k < dimension; k++) {
+			repintar_si_vacia(vista.getCelda(c.getFila(), k));
+			repintar_si_vacia(vista.getCelda(k, c.getColumna()));
+			repintar_si_vacia(vista.getCelda(fila_inicial + k / tam_panel, col_inicial + k % tam_panel));
 		}
 	}
 	
-	private void deshabilitar_tablero(JPanel panel) {
-		for (Component component : panel.getComponents()) {
-			//Si se deshabilita el tablero pero no los oyentes de los label, se puede seguir cambiando el color de las celdas.
-			//Esto es para evitar eso.
-			if (component instanceof JLabel) {
-				java.awt.event.MouseListener[] ml = component.getMouseListeners();
-				if (ml.length > 0) { //Si es > 0 solo puede valer 1 (porque a cada label le asociamos un solo mouse listener).
-					component.removeMouseListener(ml[0]);
+	private void repintar_si_vacia(CeldaTablero c) {
+		if (c.getValor() == 0) {
+			c.getComponente().repaint();
+		}
+	}
+
+	//Setea el color de la celda segn su estado. Una celda en conflicto (su valor se repite en su fila, columna o panel)
+	//se marca con un color especial, aunque sea la celda en foco. Si no, cada celda tiene su color original.
+	private void actualizar_color(CeldaTablero c) {
+		Color color;
+		if (c.esta_en_conflicto()) {
+			color = color_celda_repetida;
+		}
+		else if (c == celda_en_foco && c.getValor() != 0) {
+			color = color_celda_en_foco;
+		}
+		else if (colores_ayuda[c.getFila() * dimension + c.getColumna()] != null) {
+			color = colores_ayuda[c.getFila() * dimension + c.getColumna()];
+		}
+		else {
+			color = c.es_una_pista() ? color_celda_pista : color_celda_normal;
+		}
+		c.getComponente().setBackground(color);
+	}
+	
+	//Pide una ayuda al juego y la muestra: resalta las celdas involucradas y explica el paso en el label de mensajes.
+	//La ayuda queda a la vista hasta que cambia alguna celda (ver quitar_ayuda).
+	private void mostrar_ayuda() {
+		quitar_ayuda();
+		String mensaje;
+		switch (juego.pedirAyuda(ayuda)) {
+			case PASO:
+				for (int k = 0; k < ayuda.getCantidadInvolucradas(); k++) {
+					colores_ayuda[ayuda.getCeldaInvolucrada(k)] = color_celda_ayuda;
+				}
+				int valores = 0;
+				for (int k = 0; k < ayuda.getCantidadDescartes(); k++) {
+					colores_ayuda[ayuda.getCeldaConDescarte(k)] = color_celda_ayuda_objetivo;
+					valores |= ayuda.getValoresDescartados(k);
+					//El juego recuerda el descarte, as que la celda ya no muestra esos candidatos.
+					if (mostrar_candidatos) {
+						repintar_si_vacia(vista.getCelda(ayuda.getCeldaConDescarte(k) / dimension, ayuda.getCeldaConDescarte(k) % dimension));
+					}
+				}
+				candidatos_con_descartes |= ayuda.getCantidadDescartes() > 0;
+				if (ayuda.esUbicacion()) {
+					colores_ayuda[ayuda.getCelda()] = color_celda_ayuda_objetivo;
+					mensaje = "el " + ayuda.getValor() + " va en la fila " + (ayuda.getCelda() / dimension + 1) + ", columna " + (ayuda.getCelda() % dimension + 1) + ".";
 				}
+				else {
+					mensaje = "en las celdas naranjas no puede ir " + enumerar_valores(valores) + ".";
+				}
+				mensaje = "Ayuda (" + ayuda.getTecnica().getNombre() + "): " + mensaje;
+				break;
+			case CON_REPETIDOS:
+				mensaje = "Primero corrija los valores repetidos (en rojo).";
+				break;
+			case SIN_SOLUCION:
+				mensaje = "Algn valor elegido es incorrecto: as el tablero no tiene solucin.";
+				break;
+			case SIN_TECNICA:
+				mensaje = "Ninguna tcnica permite avanzar: hay que probar un valor.";
+				break;
+			default:
+				mensaje = "El tablero ya est completo.";
+		}
+		mostrando_ayuda = true;
+		lblMensajes.setText(mensaje);
+		for (int celda = 0; celda < colores_ayuda.length; celda++) {
+			if (colores_ayuda[celda] != null) {
+				actualizar_color(vista.getCelda(celda / dimension, celda % dimension));
+			}
+		}
+	}
+	
+	//Quita el resaltado y el mensaje de la ayuda mostrada, si la hay.
+	private void quitar_ayuda() {
+		if (!mostrando_ayuda) {
+			return;
+		}
+		mostrando_ayuda = false;
+		lblMensajes.setText("");
+		for (int celda = 0; celda < colores_ayuda.length; celda++) {
+			if (colores_ayuda[celda] != null) {
+				colores_ayuda[celda] = null;
+				actualizar_color(vista.getCelda(celda / dimension, celda % dimension));
+			}
+		}
+	}
+	
+	//Devuelve los valores de la mscara como texto. Ej.: "el 2, el 5 ni el 7".
+	private static String enumerar_valores(int valores) {
+		String texto = "";
+		for (int v = 1; valores != 0; v++, valores >>>= 1) {
+			if ((valores & 1) != 0) {
+				texto += texto.isEmpty() ? "el " + v : ((valores >>> 1) != 0 ? ", el " : " ni el ") + v;
 			}
-			component.setEnabled(false);
+		}
+		return texto;
+	}
+	
+	//Si se deshabilita el tablero pero no los oyentes de los label, se puede seguir cambiando el color de las celdas.
+	//Para evitar eso los oyentes ignoran los clicks mientras el tablero est deshabilitado (as no hay que quitarlos y volver a agregarlos).
+	private void habilitar_tablero(JPanel panel, boolean habilitado) {
+		tablero_habilitado = habilitado;
+		for (Component component : panel.getComponents()) {
+			component.setEnabled(habilitado);
 		}
 	}
 	
@@ -0,0 +1,125 @@
+package gui;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/*
+ * Quien pide guardar (el hilo de la interface) solo deja la instantnea como pendiente, y si no haba ninguna programa una escritura
+ * para dentro de DEMORA milisegundos. Las instantneas que llegan mientras tanto reemplazan a la pendiente, as muchos clicks seguidos
+ * producen una nica escritura, siempre con el estado ms reciente.
+ * Todas las escrituras las hace un nico hilo en segundo plano: primero en un archivo temporal y luego se lo renombra,
+ * as el archivo guardado nunca queda a medio escribir aunque el proceso termine en cualquier momento.
+ */
+
+/**
+ * Guarda en segundo plano la partida en curso, para poder retomarla si el juego se cierra.
+ * @author Dario A. Leal
+ */
+public class GuardadoAutomatico {
+
+	private Path archivo;
+	private Path temporal;
+	private long demora;
+	private ScheduledThreadPoolExecutor ejecutor;
+	private AtomicReference<byte[]> pendiente;
+
+	/**
+	 * Constructor. Crea el guardado automtico sobre el archivo recibido.
+	 * @param archivo Archivo en el que se guarda la partida. Si la carpeta no existe, se crea al guardar.
+	 * @param demora Milisegundos que se espera desde un pedido de guardado hasta escribir, acumulando los pedidos que lleguen mientras tanto.
+	 */
+	public GuardadoAutomatico(Path archivo, long demora) {
+		this.archivo = archivo;
+		temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+		this.demora = demora;
+		pendiente = new AtomicReference<byte[]>();
+		ejecutor = new ScheduledThreadPoolExecutor(1, tarea -> {
+			Thread hilo = new Thread(tarea, "guardado-automatico");
+			hilo.setDaemon(true); //No impide que el juego termine.
+			return hilo;
+		});
+		//Al cerrar, lo pendiente se escribe de inmediato (ver cerrar), as que no hace falta esperar a las escrituras programadas.
+		ejecutor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+	}
+
+	/**
+	 * Pide guardar la instantnea recibida. Vuelve de inmediato: la escritura se hace en segundo plano.
+	 * @param instantanea Estado de la partida a guardar (ver Juego.guardar). No debe modificarse luego.
+	 */
+	public void guardar(byte[] instantanea) {
+		if (ejecutor.isShutdown()) {
+			return; //Ya se cerr.
+		}
+		if (pendiente.getAndSet(instantanea) == null) {
+			ejecutor.schedule(this::escribir_pendiente, demora, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Descarta lo pendiente de guardar y borra el archivo guardado (por ejemplo, al terminar la partida). Vuelve de inmediato.
+	 * Luego de cerrar no tiene efecto, al igual que guardar.
+	 */
+	public void borrar() {
+		pendiente.set(null);
+		if (ejecutor.isShutdown()) {
+			return;
+		}
+		ejecutor.execute(() -> {
+			try {
+				Files.deleteIfExists(archivo);
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		});
+	}
+
+	/**
+	 * Escribe lo que haya pendiente sin esperar la demora, y espera a que terminen todas las escrituras. Se usa al cerrar el juego.
+	 */
+	public void cerrar() {
+		ejecutor.execute(this::escribir_pendiente);
+		ejecutor.shutdown();
+		try {
+			ejecutor.awaitTermination(demora + 2000, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Lee la partida guardada.
+	 * @return El contenido del archivo guardado, o null si no existe o no puede leerse.
+	 */
+	public byte[] leer() {
+		try {
+			return Files.exists(archivo) ? Files.readAllBytes(archivo) : null;
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	private void escribir_pendiente() {
+		byte[] instantanea = pendiente.getAndSet(null);
+		if (instantanea == null) {
+			return;
+		}
+		try {
+			Files.createDirectories(archivo.getParent());
+			Files.write(temporal, instantanea);
+			try {
+				Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+}
\ No newline at end of file
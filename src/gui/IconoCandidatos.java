@@ -0,0 +1,99 @@
+package gui;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+
+import javax.swing.Icon;
+
+import logica.Juego;
+
+/*
+ * El cono no guarda los candidatos: los consulta al juego cada vez que se dibuja (es una consulta en tiempo constante).
+ * As, cuando cambia una celda alcanza con volver a pintar los labels de su fila, columna y panel, sin crear ni reemplazar conos.
+ * Cada valor ocupa siempre la misma posicin dentro de la celda, en una grilla de tam_panel x tam_panel (como los paneles del tablero).
+ */
+
+/**
+ * Dibuja, en pequeo, los candidatos de una celda vaca del tablero (las marcas de lpiz del jugador).
+ * @author Dario A. Leal
+ */
+public class IconoCandidatos implements Icon {
+
+	private static final Color COLOR_CANDIDATOS = new Color(90, 90, 90);
+	private static final String[] TEXTOS = new String[26]; //Texto de cada valor, para no crear cadenas al dibujar.
+
+	static {
+		for (int v = 0; v < TEXTOS.length; v++) {
+			TEXTOS[v] = String.valueOf(v);
+		}
+	}
+
+	private Juego juego;
+	private int fila, columna;
+	private int ancho, alto;
+	private Font fuente; //Se recalcula solo cuando cambia el tamao del cono.
+
+	/**
+	 * Constructor. Crea el cono de candidatos para una celda.
+	 * @param juego Juego al que pertenece la celda.
+	 * @param fila Coordenada de la fila de la celda.
+	 * @param columna Coordenada de la columna de la celda.
+	 */
+	public IconoCandidatos(Juego juego, int fila, int columna) {
+		this.juego = juego;
+		this.fila = fila;
+		this.columna = columna;
+	}
+
+	/**
+	 * Fija el tamao con el que se dibuja el cono.
+	 * @param ancho Ancho, en pixeles.
+	 * @param alto Alto, en pixeles.
+	 */
+	public void setTamanio(int ancho, int alto) {
+		if (ancho != this.ancho || alto != this.alto) {
+			this.ancho = ancho;
+			this.alto = alto;
+			fuente = new Font("Arial", Font.PLAIN, Math.max(1, alto / juego.getTamPanel() * 3 / 4));
+		}
+	}
+
+	@Override
+	public void paintIcon(Component c, Graphics g, int x, int y) {
+		int candidatos = juego.getCandidatos(fila, columna);
+		if (candidatos == 0 || ancho <= 0 || alto <= 0) {
+			return;
+		}
+		int tam_panel = juego.getTamPanel();
+		int ancho_valor = ancho / tam_panel, alto_valor = alto / tam_panel;
+		Graphics2D g2 = (Graphics2D) g;
+		g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+		g2.setColor(COLOR_CANDIDATOS);
+		g2.setFont(fuente);
+		FontMetrics fm = g2.getFontMetrics();
+		int base = (alto_valor + fm.getAscent() - fm.getDescent()) / 2; //Centra verticalmente el texto en su posicin.
+		for (int v = 1; candidatos != 0; v++, candidatos >>>= 1) {
+			if ((candidatos & 1) != 0) {
+				int pos_x = x + ((v - 1) % tam_panel) * ancho_valor;
+				int pos_y = y + ((v - 1) / tam_panel) * alto_valor;
+				g2.drawString(TEXTOS[v], pos_x + (ancho_valor - fm.stringWidth(TEXTOS[v])) / 2, pos_y + base);
+			}
+		}
+	}
+
+	@Override
+	public int getIconWidth() {
+		return ancho;
+	}
+
+	@Override
+	public int getIconHeight() {
+		return alto;
+	}
+
+}
\ No newline at end of file
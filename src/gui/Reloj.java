@@ -5,6 +5,8 @@ import java.awt.Font;
 import java.awt.GridLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
 import javax.swing.ImageIcon;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
@@ -21,48 +23,36 @@ import logica.LogicaReloj;
 @SuppressWarnings("serial")
 public class Reloj extends JPanel {
 	
+	private static final int INTERVALO_ACTUALIZACION = 250; //En milisegundos.
+	private static final int TODOS_LOS_DIGITOS = (1 << 6) - 1;
 	private LogicaReloj logica_reloj;
 	private Timer timer;
 	//Un label para cada caracter smbolo-numrico que compone la representacin grfica del reloj:
 	private JLabel hs_decena, hs_unidad, dp1, min_decena, min_unidad, dp2, seg_decena, seg_unidad;
-	//Una imagen para asociar a cada caracter smbolo-numrico de la representacin grfica del reloj:
-	private ImageIcon img_hs_decena, img_hs_unidad, img_min_decena, img_min_unidad, img_seg_decena, img_seg_unidad, img_dos_puntos;
+	//Los labels de los dgitos, en el mismo orden que en la lgica del reloj (de la decena de las horas a la unidad de los segundos):
+	private JLabel[] labels_digitos;
+	//Imagen para el separador ":", que se muestra en su tamao original:
+	private ImageIcon img_dos_puntos;
+	//Imgenes de los dgitos ya escaladas al tamao de los labels:
+	private CacheSprites sprites;
 	
 	/**
 	 * Constructor. Crea la lgica interna del reloj, el panel en el que se lo representar grficamente, y el timer que lo controla. 
 	 */
 	public Reloj() {
 		logica_reloj = new LogicaReloj();
+		sprites = new CacheSprites(EntidadGraficaReloj.getImagenesOriginales());
 
 		generar_panel_reloj();
 		
-		timer = new Timer(1000, new ActionListener() {
+		//El tiempo se calcula a partir del tiempo transcurrido real, por lo que el timer puede consultar ms seguido que una vez por
+		//segundo sin adelantar el reloj. As el cambio de segundo se muestra a tiempo aunque el timer se demore.
+		timer = new Timer(INTERVALO_ACTUALIZACION, new ActionListener() {
 			public void actionPerformed(ActionEvent e) {
-				logica_reloj.actualizar_reloj();
-				
-				img_hs_decena = logica_reloj.getHoraDecena().getEntidadGraficaDigitoReloj().getImagen();
-				redimensionar(hs_decena, img_hs_decena);
-				hs_decena.setIcon(img_hs_decena);
-				
-				img_hs_unidad = logica_reloj.getHoraUnidad().getEntidadGraficaDigitoReloj().getImagen();
-				redimensionar(hs_unidad, img_hs_unidad);
-				hs_unidad.setIcon(img_hs_unidad);
-								
-				img_min_decena = logica_reloj.getMinutosDecena().getEntidadGraficaDigitoReloj().getImagen();
-				redimensionar(min_decena, img_min_decena);
-				min_decena.setIcon(img_min_decena);
-				
-				img_min_unidad = logica_reloj.getMinutosUnidad().getEntidadGraficaDigitoReloj().getImagen();
-				redimensionar(min_unidad, img_min_unidad);
-				min_unidad.setIcon(img_min_unidad);
-				
-				img_seg_decena = logica_reloj.getSegundosDecena().getEntidadGraficaDigitoReloj().getImagen();
-				redimensionar(seg_decena, img_seg_decena);
-				seg_decena.setIcon(img_seg_decena);
-				
-				img_seg_unidad = logica_reloj.getSegundosUnidad().getEntidadGraficaDigitoReloj().getImagen();
-				redimensionar(seg_unidad, img_seg_unidad);
-				seg_unidad.setIcon(img_seg_unidad);
+				int cambios = logica_reloj.actualizar_reloj();
+				if (cambios != 0) {
+					actualizar_imagenes(cambios);
+				}
 			}
 		});
 	} //Reloj
@@ -87,7 +77,9 @@ public class Reloj extends JPanel {
 		panel_numerico.setBorder(new EmptyBorder(0, 0, 0, 25)); //Para acercarlo al texto de la leyenda.
 
 		//Preparo la imagen que asignar como separador de los dgitos:
-		img_dos_puntos = logica_reloj.getSimboloDosPuntos().getEntidadGraficaDigitoReloj().getImagen();
+		EntidadGraficaReloj dos_puntos = new EntidadGraficaReloj();
+		dos_puntos.setImagen(10);
+		img_dos_puntos = dos_puntos.getImagen();
 		
 		//Creo todos los labels y los agrego al panel.
 		hs_decena = new JLabel();
@@ -97,7 +89,6 @@ public class Reloj extends JPanel {
 		panel_numerico.add(hs_unidad);
 
 		dp1 = new JLabel();
-		redimensionar(dp1, img_dos_puntos);
 		dp1.setIcon(img_dos_puntos);
 		panel_numerico.add(dp1);
 		
@@ -117,26 +108,45 @@ public class Reloj extends JPanel {
 		seg_unidad = new JLabel();
 		panel_numerico.add(seg_unidad);
 		
+		labels_digitos = new JLabel[] {hs_decena, hs_unidad, min_decena, min_unidad, seg_decena, seg_unidad};
+		
 		for (Component comp : panel_numerico.getComponents()) {
 			if (comp instanceof JLabel) {
 				((JLabel) comp).setHorizontalAlignment(SwingConstants.CENTER);
 			}
 		}
 
+		//Cuando se conoce el tamao de los labels se muestran los dgitos escalados a ese tamao.
+		panel_numerico.addComponentListener(new ComponentAdapter() {
+			@Override
+			public void componentResized(ComponentEvent e) {
+				actualizar_imagenes(TODOS_LOS_DIGITOS);
+			}
+		});
+
 		this.add(panel_numerico);
 	} //generar_panel_reloj
 	
-	//Redimensiona (escala) la imagen usando el tamao del label como referencia.
-	//Versin ms simplificada que la de GUI_juego.
-	private void redimensionar(JLabel label, ImageIcon img) {
-		img.setImage( img.getImage().getScaledInstance(label.getWidth()-7, label.getHeight()-7, java.awt.Image.SCALE_SMOOTH) );
-		label.repaint();
+	//Muestra en los labels indicados la imagen del dgito que le corresponde segn el estado interno del reloj.
+	//El bit i de digitos indica si hay que actualizar el label del dgito i.
+	private void actualizar_imagenes(int digitos) {
+		for (int i = 0; i < labels_digitos.length; i++) {
+			if ((digitos & (1 << i)) != 0) {
+				actualizar_imagen(labels_digitos[i], logica_reloj.getDigito(i));
+			}
+		}
+	}
+	
+	//Las imgenes escaladas se reutilizan (ver CacheSprites), as que esto solo cambia el cono del label.
+	private void actualizar_imagen(JLabel label, LogicaReloj.DigitoReloj digito) {
+		label.setIcon(sprites.getSprite(digito.getValor(), label.getWidth()-7, label.getHeight()-7));
 	}
 	
 	/**
 	 * Inicia el timer que controla el reloj.
 	 */
 	public void start() {
+		logica_reloj.reanudar();
 		timer.start();
 	}
 	
@@ -145,14 +155,25 @@ public class Reloj extends JPanel {
 	 */
 	public void stop() {
 		timer.stop();
+		logica_reloj.pausar();
 	}
 	
 	/**
-	 * Reinicia el timer que controla el reloj.
+	 * Reinicia el timer que controla el reloj, volviendo el tiempo de juego a cero.
 	 */
 	public void restart() {
+		logica_reloj.reiniciar();
+		logica_reloj.reanudar();
+		actualizar_imagenes(TODOS_LOS_DIGITOS);
 		timer.restart();
-		logica_reloj = new LogicaReloj();
+	}
+
+	/**
+	 * Devuelve la lgica interna del reloj, por ejemplo para guardar o recuperar el tiempo de juego.
+	 * @return La lgica interna del reloj.
+	 */
+	public LogicaReloj getLogicaReloj() {
+		return logica_reloj;
 	}
 
 	/**
@@ -0,0 +1,53 @@
+package gui;
+
+import logica.Juego;
+
+/*
+ * Separa al juego de su representacin: el juego guarda su estado en forma compacta y no crea ningn objeto por celda,
+ * mientras que la vista crea una CeldaTablero por celda (con su imagen y su componente) solo cuando el juego se muestra.
+ * Un juego que se maneja sin interface grfica (ver ServicioSesiones) no necesita ninguna vista, y el paquete logica no depende de AWT ni de Swing.
+ */
+
+/**
+ * Celdas de un juego, aptas para mostrarlo e interactuar con l desde la GUI.
+ * @author Dario A. Leal
+ */
+public class VistaTablero {
+	
+	private Juego juego;
+	private CeldaTablero[][] celdas;
+	
+	/**
+	 * Constructor. Crea una celda para cada una de las celdas del juego recibido.
+	 * @param juego Juego a mostrar.
+	 */
+	public VistaTablero(Juego juego) {
+		this.juego = juego;
+		int dimension = juego.getDimension();
+		celdas = new CeldaTablero[dimension][dimension];
+		for (int i = 0; i < dimension; i++) {
+			for (int j = 0; j < dimension; j++) {
+				celdas[i][j] = new CeldaTablero(juego, i, j);
+			}
+		}
+	}
+	
+	/**
+	 * Devuelve el juego que se muestra.
+	 * @return El juego que se muestra.
+	 */
+	public Juego getJuego() {
+		return juego;
+	}
+	
+	/**
+	 * Devuelve la celda del tablero ubicada en las coordenadas recibidas por parmetro.
+	 * @param fila Coordenada de la fila de la celda.
+	 * @param columna Coordenada de la columna de la celda.
+	 * @return La celda ubicada en la fila y columna recibidas.
+	 */
+	public CeldaTablero getCelda(int fila, int columna) {
+		return celdas[fila][columna];
+	}
+	
+}
\ No newline at end of file
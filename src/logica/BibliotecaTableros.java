@@ -0,0 +1,246 @@
+package logica;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+
+/*
+ * Formato del archivo (todos los enteros en big endian):
+ * - Cabecera de TAMANIO_CABECERA bytes: identificacin (int "SDKB"), versin (byte), tam_panel (byte),
+ *   tamao de cada registro (short), cantidad de juegos (int) y 4 bytes reservados (en 0).
+ * - Un registro por juego, todos del mismo tamao: dificultad (byte, 0 si no fue calificada, ver Tecnica.getPuntaje), un byte reservado (en 0),
+ *   cantidad de pistas (short) y DIMENSION x DIMENSION bytes, uno por celda recorriendo el tablero por filas. Cada byte tiene el valor
+ *   de la celda en la solucin, con el bit PISTA encendido si la celda es una pista (el mismo formato de celda que las instantneas de Juego).
+ * Como los registros son de tamao fijo, el juego k empieza en TAMANIO_CABECERA + k x tamao de registro: se accede a cualquiera
+ * en tiempo constante, sin leer los dems. El archivo se mapea a memoria, as que abrirlo no lee su contenido: el sistema operativo
+ * trae del disco solo las pginas de los registros que se consultan. Cuando el archivo est dentro del jar se mapea una copia en disco
+ * (ver abrirRecurso). Agrupar los juegos por dificultad (CalificadorDificultad.agruparPorNivel) s recorre todos los registros,
+ * pero lee un nico byte de cada uno.
+ */
+
+/**
+ * Conjunto de juegos (solucin y pistas) guardados en un nico archivo binario, con acceso directo a cada uno.
+ * Los archivos se crean con EscritorBiblioteca. Las consultas no modifican el estado de la biblioteca, as que
+ * pueden hacerse desde varios hilos a la vez.
+ * @author Dario A. Leal
+ */
+public class BibliotecaTableros {
+
+	static final int MAGIA = 0x53444B42; //"SDKB"
+	static final byte VERSION = 1;
+	static final int TAMANIO_CABECERA = 16;
+	static final int TAMANIO_METADATOS = 4; //Dificultad, reservado y cantidad de pistas, al comienzo de cada registro.
+	static final int PISTA = 0x80;
+	static final String DIRECTORIO_COPIAS = "sudoku-tdp2020"; //Dentro del directorio temporal, copias de los recursos que no son archivos.
+
+	private ByteBuffer contenido;
+	private int tam_panel;
+	private int dimension;
+	private int tam_registro;
+	private int cant;
+	private volatile byte[] puntajes; //Dificultad calificada de cada juego (ver CalificadorDificultad.calificar), o null si todava no se pidi.
+
+	//Crea la biblioteca sobre el contenido completo del archivo, controlando la cabecera y el tamao.
+	private BibliotecaTableros(ByteBuffer contenido) {
+		if (contenido.capacity() < TAMANIO_CABECERA || contenido.getInt(0) != MAGIA) {
+			throw new IllegalArgumentException("El archivo no es una biblioteca de juegos.");
+		}
+		if (contenido.get(4) != VERSION) {
+			throw new IllegalArgumentException("Versin de biblioteca no soportada: " + contenido.get(4));
+		}
+		tam_panel = contenido.get(5);
+		if (tam_panel < 2 || tam_panel > 5) {
+			throw new IllegalArgumentException("Tamao de panel fuera de rango: " + tam_panel);
+		}
+		dimension = tam_panel * tam_panel;
+		tam_registro = contenido.getShort(6) & 0xFFFF;
+		cant = contenido.getInt(8);
+		if (tam_registro != getTamanioRegistro(dimension) || cant < 0
+				|| (contenido.capacity() - TAMANIO_CABECERA) / tam_registro < cant) {
+			throw new IllegalArgumentException("La biblioteca est incompleta o tiene un tamao de registro invlido.");
+		}
+		this.contenido = contenido;
+	}
+
+	/**
+	 * Abre una biblioteca de juegos mapeando el archivo a memoria. No se lee ningn juego hasta que se lo consulta.
+	 * @param archivo Archivo creado con EscritorBiblioteca.
+	 * @return La biblioteca abierta.
+	 * @throws IOException Si el archivo no puede abrirse.
+	 * @throws IllegalArgumentException Si el archivo no es una biblioteca de juegos vlida.
+	 */
+	public static BibliotecaTableros abrir(Path archivo) throws IOException {
+		//Una vez mapeado, el contenido sigue accesible aunque se cierre el canal.
+		try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+			return new BibliotecaTableros(canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()));
+		}
+	}
+
+	/**
+	 * Abre una biblioteca de juegos incluida entre los recursos del programa (como los archivos de texto de los juegos).
+	 * Si el recurso es un archivo se lo mapea a memoria (ver abrir). Si no (por ejemplo, dentro de un jar) se lo copia una nica vez
+	 * a un archivo temporal, que se reutiliza mientras el recurso no cambie, y se mapea esa copia: tampoco se lee el contenido al abrir.
+	 * @param recurso Nombre del recurso. Ej.: "/txt/biblioteca9x9.sdk".
+	 * @return La biblioteca abierta, o null si el recurso no existe.
+	 * @throws IOException Si el recurso no puede leerse.
+	 * @throws IllegalArgumentException Si el recurso no es una biblioteca de juegos vlida.
+	 */
+	public static BibliotecaTableros abrirRecurso(String recurso) throws IOException {
+		URL url = BibliotecaTableros.class.getResource(recurso);
+		if (url == null) {
+			return null;
+		}
+		if ("file".equals(url.getProtocol())) {
+			try {
+				return abrir(Paths.get(url.toURI()));
+			} catch (URISyntaxException e) {
+				//No debera pasar con una URL de archivo. Se copia como cualquier otro recurso.
+			}
+		}
+		Path copia;
+		try {
+			copia = copiarRecurso(url, recurso);
+		} catch (IOException e) {
+			//Sin un directorio temporal donde escribir, queda leer el recurso completo a memoria.
+			try (InputStream ins = url.openStream()) {
+				return new BibliotecaTableros(ByteBuffer.wrap(ins.readAllBytes()));
+			}
+		}
+		return abrir(copia);
+	}
+
+	//Devuelve una copia en disco del recurso, en el directorio temporal del sistema. Si ya hay una copia del mismo tamao y fecha
+	//de modificacin (las del recurso, por ejemplo la de la entrada del jar) se la reutiliza; si no, se la crea de nuevo.
+	//La copia se escribe en un archivo aparte y se renombra al terminar, as nunca se mapea una copia a medio escribir.
+	private static Path copiarRecurso(URL url, String recurso) throws IOException {
+		URLConnection conexion = url.openConnection();
+		long tamanio = conexion.getContentLengthLong();
+		long modificacion = conexion.getLastModified();
+		Path directorio = Files.createDirectories(Paths.get(System.getProperty("java.io.tmpdir"), DIRECTORIO_COPIAS));
+		Path copia = directorio.resolve(recurso.substring(recurso.lastIndexOf('/') + 1));
+		if (tamanio >= 0 && modificacion > 0 && Files.isRegularFile(copia) && Files.size(copia) == tamanio
+				&& Files.getLastModifiedTime(copia).toMillis() == modificacion) {
+			return copia;
+		}
+		Path temporal = Files.createTempFile(directorio, copia.getFileName().toString(), ".tmp");
+		try (InputStream ins = conexion.getInputStream()) {
+			Files.copy(ins, temporal, StandardCopyOption.REPLACE_EXISTING);
+			if (modificacion > 0) {
+				Files.setLastModifiedTime(temporal, FileTime.fromMillis(modificacion));
+			}
+		} catch (IOException e) {
+			Files.deleteIfExists(temporal);
+			throw e;
+		}
+		try {
+			return Files.move(temporal, copia, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			//La copia anterior no pudo reemplazarse (por ejemplo, otra instancia del juego la tiene mapeada): se usa la nueva tal cual.
+			temporal.toFile().deleteOnExit();
+			return temporal;
+		}
+	}
+
+	/**
+	 * Devuelve la cantidad de juegos de la biblioteca.
+	 * @return Cantidad de juegos de la biblioteca.
+	 */
+	public int getCantidad() {
+		return cant;
+	}
+
+	/**
+	 * Devuelve la cantidad de filas (y columnas) de un panel de los juegos de la biblioteca (todos tienen la misma dimensin).
+	 * @return Cantidad de filas (y columnas) de un panel.
+	 */
+	public int getTamPanel() {
+		return tam_panel;
+	}
+
+	/**
+	 * Devuelve la dimensin de los juegos de la biblioteca.
+	 * @return Dimensin de los juegos de la biblioteca.
+	 */
+	public int getDimension() {
+		return dimension;
+	}
+
+	/**
+	 * Devuelve la dificultad registrada para un juego.
+	 * @param indice Posicin del juego en la biblioteca, entre 0 y getCantidad() - 1.
+	 * @return La dificultad del juego (el puntaje de la tcnica ms difcil que necesita, ver Tecnica.getPuntaje), o 0 si no fue calificada.
+	 */
+	public int getDificultad(int indice) {
+		return contenido.get(inicio(indice)) & 0xFF;
+	}
+
+	/**
+	 * Devuelve la cantidad de pistas de un juego, sin recorrer sus celdas.
+	 * @param indice Posicin del juego en la biblioteca, entre 0 y getCantidad() - 1.
+	 * @return La cantidad de pistas del juego.
+	 */
+	public int getCantidadPistas(int indice) {
+		return contenido.getShort(inicio(indice) + 2) & 0xFFFF;
+	}
+
+	/**
+	 * Copia un juego de la biblioteca en los arreglos recibidos, recorriendo el tablero por filas. Solo se lee el registro de ese juego.
+	 * No se controla que la solucin respete las reglas: eso queda a cargo de quien la usa (ver Juego.abrir).
+	 * @param indice Posicin del juego en la biblioteca, entre 0 y getCantidad() - 1.
+	 * @param solucion Arreglo de al menos DIMENSION x DIMENSION componentes, donde se almacena la solucin del juego.
+	 * @param juego Arreglo de al menos DIMENSION x DIMENSION componentes, donde se almacena el juego (las pistas, con 0 en las dems celdas).
+	 * Puede ser null si solo interesa la solucin.
+	 * @throws IllegalArgumentException Si el registro tiene valores fuera de rango.
+	 */
+	public void leer(int indice, int[] solucion, int[] juego) {
+		int pos = inicio(indice) + TAMANIO_METADATOS, celda, valor;
+		for (int k = 0; k < dimension * dimension; k++) {
+			celda = contenido.get(pos + k) & 0xFF;
+			valor = celda & ~PISTA;
+			if (valor < 1 || valor > dimension) {
+				throw new IllegalArgumentException("El juego " + indice + " de la biblioteca tiene valores fuera de rango.");
+			}
+			solucion[k] = valor;
+			if (juego != null) {
+				juego[k] = (celda & PISTA) != 0 ? valor : 0;
+			}
+		}
+	}
+
+	//Devuelve las dificultades calificadas de todos los juegos, o null si todava no se calificaron.
+	byte[] getPuntajes() {
+		return puntajes;
+	}
+
+	//Guarda las dificultades calificadas, salvo que otro hilo ya haya guardado las suyas. Devuelve las que quedaron guardadas.
+	synchronized byte[] guardarPuntajes(byte[] calificados) {
+		if (puntajes == null) {
+			puntajes = calificados;
+		}
+		return puntajes;
+	}
+
+	//Posicin del registro del juego recibido dentro del archivo.
+	private int inicio(int indice) {
+		if (indice < 0 || indice >= cant) {
+			throw new IndexOutOfBoundsException("Juego fuera de rango: " + indice);
+		}
+		return TAMANIO_CABECERA + indice * tam_registro;
+	}
+
+	//Tamao en bytes del registro de un juego de la dimensin recibida.
+	static int getTamanioRegistro(int dimension) {
+		return TAMANIO_METADATOS + dimension * dimension;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,138 @@
+package logica;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/*
+ * Un juego se resuelve con el MotorTecnicas, aplicando siempre el paso de la tcnica ms sencilla posible. La dificultad del juego
+ * es la tcnica ms difcil que hizo falta. Si ninguna tcnica permite avanzar antes de completar el tablero, la dificultad es PRUEBA_Y_ERROR.
+ * Para calificar una biblioteca completa, los juegos se reparten entre los hilos del pool fork-join comn: el rango de juegos se divide
+ * a la mitad hasta llegar a bloques de JUEGOS_POR_TAREA, y cada bloque se califica con su propio motor (los motores no se comparten entre hilos).
+ * Los juegos que ya tienen su dificultad registrada en la biblioteca no se vuelven a calificar.
+ * El resultado se guarda en la misma biblioteca, as que se libera con ella. Se califica sin tomar ningn cerrojo: si dos hilos piden a la vez
+ * la misma biblioteca, ambos la califican y se conserva el primer resultado guardado.
+ */
+
+/**
+ * Califica la dificultad de los juegos segn las tcnicas de resolucin que necesita una persona para resolverlos.
+ * @author Dario A. Leal
+ */
+public class CalificadorDificultad {
+
+	private static final int JUEGOS_POR_TAREA = 64;
+
+	private MotorTecnicas motor;
+	private PasoResolucion paso;
+
+	/**
+	 * Constructor. Crea un calificador para juegos con paneles de tam_panel x tam_panel celdas.
+	 * @param tam_panel Cantidad de filas (y columnas) de un panel, entre 2 y 5.
+	 */
+	public CalificadorDificultad(int tam_panel) {
+		motor = new MotorTecnicas(tam_panel);
+		paso = motor.crearPaso();
+	}
+
+	/**
+	 * Califica un juego.
+	 * @param juego Juego recorrido por filas, con 0 en las celdas vacas. No se modifica.
+	 * @return La tcnica ms difcil que hace falta para resolverlo, o PRUEBA_Y_ERROR si con las tcnicas conocidas no alcanza.
+	 */
+	public Tecnica calificar(int[] juego) {
+		Tecnica mas_dificil = Tecnica.SIMPLE_OCULTO;
+		motor.cargar(juego);
+		while (!motor.estaResuelto()) {
+			if (!motor.buscarPaso(paso)) {
+				return Tecnica.PRUEBA_Y_ERROR;
+			}
+			motor.aplicar(paso);
+			if (paso.getTecnica().compareTo(mas_dificil) > 0) {
+				mas_dificil = paso.getTecnica();
+			}
+		}
+		return mas_dificil;
+	}
+
+	/**
+	 * Devuelve la dificultad de todos los juegos de una biblioteca. Los que no la tienen registrada se califican en paralelo.
+	 * El resultado se guarda: las siguientes consultas sobre la misma biblioteca responden de inmediato.
+	 * @param biblioteca Biblioteca cuyos juegos se califican.
+	 * @return Para cada juego de la biblioteca, el puntaje de la tcnica ms difcil que necesita (ver Tecnica.getPuntaje). No debe modificarse.
+	 */
+	public static byte[] calificar(BibliotecaTableros biblioteca) {
+		byte[] puntajes = biblioteca.getPuntajes();
+		if (puntajes == null) {
+			puntajes = new byte[biblioteca.getCantidad()];
+			ForkJoinPool.commonPool().invoke(new Calificacion(biblioteca, puntajes, 0, puntajes.length));
+			puntajes = biblioteca.guardarPuntajes(puntajes);
+		}
+		return puntajes;
+	}
+
+	/**
+	 * Agrupa los juegos de una biblioteca por nivel de dificultad (ver calificar).
+	 * @param biblioteca Biblioteca cuyos juegos se agrupan.
+	 * @return Para cada nivel (en el orden de NivelDificultad), las posiciones en la biblioteca de los juegos de ese nivel, en orden creciente.
+	 */
+	public static int[][] agruparPorNivel(BibliotecaTableros biblioteca) {
+		byte[] puntajes = calificar(biblioteca);
+		NivelDificultad[] niveles = NivelDificultad.values();
+		int[] cant_por_nivel = new int[niveles.length];
+		int[][] juegos_por_nivel = new int[niveles.length][];
+		for (byte puntaje : puntajes) {
+			cant_por_nivel[Tecnica.desdePuntaje(puntaje).getNivel().ordinal()]++;
+		}
+		for (int n = 0; n < niveles.length; n++) {
+			juegos_por_nivel[n] = new int[cant_por_nivel[n]];
+			cant_por_nivel[n] = 0;
+		}
+		for (int k = 0; k < puntajes.length; k++) {
+			int n = Tecnica.desdePuntaje(puntajes[k]).getNivel().ordinal();
+			juegos_por_nivel[n][cant_por_nivel[n]++] = k;
+		}
+		return juegos_por_nivel;
+	}
+
+	//Califica los juegos del rango [desde, hasta) de la biblioteca, dividindolo en tareas ms chicas si es grande.
+	@SuppressWarnings("serial")
+	private static class Calificacion extends RecursiveAction {
+
+		private BibliotecaTableros biblioteca;
+		private byte[] puntajes;
+		private int desde, hasta;
+
+		Calificacion(BibliotecaTableros biblioteca, byte[] puntajes, int desde, int hasta) {
+			this.biblioteca = biblioteca;
+			this.puntajes = puntajes;
+			this.desde = desde;
+			this.hasta = hasta;
+		}
+
+		@Override
+		protected void compute() {
+			if (hasta - desde > JUEGOS_POR_TAREA) {
+				int medio = (desde + hasta) >>> 1;
+				invokeAll(new Calificacion(biblioteca, puntajes, desde, medio), new Calificacion(biblioteca, puntajes, medio, hasta));
+				return;
+			}
+			CalificadorDificultad calificador = null;
+			int dimension = biblioteca.getDimension();
+			int[] solucion = new int[dimension * dimension], juego = new int[dimension * dimension];
+			for (int k = desde; k < hasta; k++) {
+				int registrada = biblioteca.getDificultad(k);
+				if (Tecnica.desdePuntaje(registrada) != null) {
+					puntajes[k] = (byte) registrada;
+				}
+				else {
+					if (calificador == null) {
+						calificador = new CalificadorDificultad(biblioteca.getTamPanel());
+					}
+					biblioteca.leer(k, solucion, juego);
+					puntajes[k] = (byte) calificador.calificar(juego).getPuntaje();
+				}
+			}
+		}
+
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,160 @@
+package logica;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/*
+ * Los registros se acumulan en un buffer y se escriben de a bloques. La cantidad de juegos de la cabecera se escribe al cerrar,
+ * as que no hace falta saberla de antemano ni tener todos los juegos en memoria (ver BibliotecaTableros por el formato).
+ *
+ * La biblioteca incluida con el juego (src/txt/biblioteca9x9.sdk) tiene 5000 juegos de 9 x 9 generados con la semilla 2020 (la semilla
+ * por defecto). Se crea, desde la carpeta raz del repositorio y despus de mvn compile, con:
+ *   java -cp sudoku/target/classes logica.EscritorBiblioteca src/txt/biblioteca9x9.sdk 5000 3 2020
+ * Con la misma lnea se obtiene el mismo archivo, byte a byte.
+ */
+
+/**
+ * Crea un archivo de biblioteca de juegos, agregando los juegos de a uno.
+ * @author Dario A. Leal
+ */
+public class EscritorBiblioteca implements Closeable {
+
+	private static final long SEMILLA_POR_DEFECTO = 2020; //La de la biblioteca incluida con el juego.
+
+	private FileChannel canal;
+	private ByteBuffer buffer;
+	private int dimension;
+	private int cant;
+	private ValidadorTablero validador;
+	private int[][] matriz; //Se reutiliza para validar cada solucin.
+
+	/**
+	 * Constructor. Crea (o reemplaza) el archivo de biblioteca, para juegos con paneles de tam_panel x tam_panel celdas.
+	 * @param archivo Archivo a crear.
+	 * @param tam_panel Cantidad de filas (y columnas) de un panel, entre 2 y 5.
+	 * @throws IOException Si el archivo no puede crearse.
+	 */
+	public EscritorBiblioteca(Path archivo, int tam_panel) throws IOException {
+		if (tam_panel < 2 || tam_panel > 5) {
+			throw new IllegalArgumentException("Tamao de panel fuera de rango: " + tam_panel);
+		}
+		dimension = tam_panel * tam_panel;
+		validador = new ValidadorTablero(tam_panel);
+		matriz = new int[dimension][dimension];
+		canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		buffer = ByteBuffer.allocate(1 << 16);
+		buffer.putInt(BibliotecaTableros.MAGIA);
+		buffer.put(BibliotecaTableros.VERSION);
+		buffer.put((byte) tam_panel);
+		buffer.putShort((short) BibliotecaTableros.getTamanioRegistro(dimension));
+		buffer.putInt(0); //Cantidad de juegos: se completa al cerrar.
+		buffer.putInt(0); //Reservado.
+	}
+
+	/**
+	 * Agrega un juego al final de la biblioteca.
+	 * @param solucion Solucin del juego, recorrida por filas. Debe respetar las reglas.
+	 * @param juego Pistas del juego, recorridas por filas, con 0 en las dems celdas. Cada pista debe coincidir con la solucin.
+	 * @param dificultad Dificultad del juego, entre 0 (sin calificar) y 255.
+	 * @throws IOException Si hay un error al escribir.
+	 * @throws IllegalArgumentException Si la solucin no respeta las reglas, alguna pista no coincide con ella o la dificultad est fuera de rango.
+	 */
+	public void agregar(int[] solucion, int[] juego, int dificultad) throws IOException {
+		int cant_celdas = dimension * dimension, cant_pistas = 0;
+		if (dificultad < 0 || dificultad > 255) {
+			throw new IllegalArgumentException("Dificultad fuera de rango: " + dificultad);
+		}
+		for (int i = 0; i < dimension; i++) {
+			System.arraycopy(solucion, i * dimension, matriz[i], 0, dimension);
+		}
+		if (!validador.validar(matriz)) {
+			throw new IllegalArgumentException("La solucin no es vlida: " + validador.getDescripcionError() + ".");
+		}
+		for (int k = 0; k < cant_celdas; k++) {
+			if (juego[k] != 0) {
+				if (juego[k] != solucion[k]) {
+					throw new IllegalArgumentException("La pista de la celda " + k + " no coincide con la solucin.");
+				}
+				cant_pistas++;
+			}
+		}
+		if (buffer.remaining() < BibliotecaTableros.getTamanioRegistro(dimension)) {
+			vaciar_buffer();
+		}
+		buffer.put((byte) dificultad);
+		buffer.put((byte) 0); //Reservado.
+		buffer.putShort((short) cant_pistas);
+		for (int k = 0; k < cant_celdas; k++) {
+			buffer.put((byte) (juego[k] != 0 ? solucion[k] | BibliotecaTableros.PISTA : solucion[k]));
+		}
+		cant++;
+	}
+
+	/**
+	 * Devuelve la cantidad de juegos agregados hasta el momento.
+	 * @return Cantidad de juegos agregados.
+	 */
+	public int getCantidad() {
+		return cant;
+	}
+
+	/**
+	 * Escribe lo pendiente, completa la cabecera con la cantidad de juegos y cierra el archivo.
+	 * @throws IOException Si hay un error al escribir.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			vaciar_buffer();
+			ByteBuffer cantidad = ByteBuffer.allocate(4);
+			cantidad.putInt(0, cant);
+			canal.write(cantidad, 8);
+		} finally {
+			canal.close();
+		}
+	}
+
+	private void vaciar_buffer() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			canal.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	/**
+	 * Genera una biblioteca de juegos al azar, con solucin nica. El juego k se genera con la semilla semilla + k,
+	 * as que la misma lnea de comandos crea siempre el mismo archivo. Cada juego se guarda con su dificultad (ver CalificadorDificultad).
+	 * Uso: EscritorBiblioteca archivo cantidad [tam_panel] [semilla]
+	 * @param args Archivo a crear, cantidad de juegos, tamao de panel (3 por defecto) y semilla (2020 por defecto, la de la biblioteca incluida).
+	 * @throws IOException Si hay un error al escribir el archivo.
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.err.println("Uso: EscritorBiblioteca archivo cantidad [tam_panel] [semilla]");
+			System.exit(1);
+		}
+		int cant = Integer.parseInt(args[1]);
+		int tam_panel = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+		long semilla = args.length > 3 ? Long.parseLong(args[3]) : SEMILLA_POR_DEFECTO;
+		int cant_celdas = tam_panel * tam_panel * tam_panel * tam_panel;
+		//Entre 20 y 35 pistas cada 81 celdas, como los juegos cargados desde archivos de texto.
+		int cant_minima_pistas = cant_celdas * 20 / 81, cant_maxima_pistas = cant_celdas * 35 / 81;
+		CalificadorDificultad calificador = new CalificadorDificultad(tam_panel);
+		try (EscritorBiblioteca escritor = new EscritorBiblioteca(Paths.get(args[0]), tam_panel)) {
+			for (int k = 0; k < cant; k++) {
+				GeneradorTableros generador = new GeneradorTableros(tam_panel, semilla + k);
+				int[] solucion = generador.generarSolucion();
+				int[] juego = solucion.clone();
+				generador.quitarPistas(juego, cant_minima_pistas, cant_maxima_pistas);
+				escritor.agregar(solucion, juego, calificador.calificar(juego).getPuntaje());
+			}
+		}
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,181 @@
+package logica;
+
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+
+/*
+ * Un tablero completo se genera llenando primero al azar los paneles de la diagonal (no comparten filas ni columnas,
+ * as que cualquier permutacin de valores en cada uno respeta las reglas) y completando el resto con el solucionador,
+ * que prueba los candidatos en orden aleatorio.
+ * Un juego se obtiene quitando celdas del tablero completo mientras la solucin siga siendo nica.
+ * Todo depende de una semilla, por lo que con la misma semilla se obtienen siempre los mismos tableros.
+ * Una generacin puede cancelarse desde otro hilo (ver cancelar): se controla antes de cada bsqueda, que est acotada.
+ */
+
+/**
+ * Genera tableros completos y juegos con solucin nica sin depender de archivos de texto.
+ * @author Dario A. Leal
+ */
+public class GeneradorTableros {
+
+	//Mxima cantidad de valores que se prueban para decidir si una celda puede quitarse. En tableros grandes con muchas celdas vacas
+	//una bsqueda puede volverse muy larga; en ese caso se conserva la pista y el tiempo de generacin queda acotado.
+	private static final long LIMITE_NODOS_UNICIDAD = 10000;
+
+	private int tam_panel;
+	private int dimension;
+	private int cant_celdas;
+	private Random rand;
+	private Solucionador solucionador;
+	private int[] orden; //Se reutiliza para mezclar el orden en que se intenta quitar cada celda.
+	private volatile boolean cancelado;
+
+	/**
+	 * Constructor. Crea un generador de tableros clsicos de 9 x 9.
+	 * @param semilla Semilla a partir de la cual se generan los tableros.
+	 */
+	public GeneradorTableros(long semilla) {
+		this(3, semilla);
+	}
+
+	/**
+	 * Constructor. Crea un generador de tableros con paneles de tam_panel x tam_panel celdas.
+	 * @param tam_panel Cantidad de filas (y columnas) de un panel.
+	 * @param semilla Semilla a partir de la cual se generan los tableros.
+	 */
+	public GeneradorTableros(int tam_panel, long semilla) {
+		this.tam_panel = tam_panel;
+		dimension = tam_panel * tam_panel;
+		cant_celdas = dimension * dimension;
+		rand = new Random(mezclar(semilla));
+		solucionador = new Solucionador(tam_panel);
+		solucionador.setAleatorio(rand);
+		orden = new int[cant_celdas];
+	}
+
+	/**
+	 * Pide detener la generacin en curso, por ejemplo si ya no se necesita el juego que se est generando en segundo plano.
+	 * Puede invocarse desde cualquier hilo. La generacin en curso, y las siguientes de este generador, terminan con una CancellationException.
+	 */
+	public void cancelar() {
+		cancelado = true;
+	}
+
+	/**
+	 * Genera un tablero completo al azar.
+	 * @return Un tablero completo y vlido, recorrido por filas.
+	 * @throws CancellationException Si se cancel la generacin (ver cancelar).
+	 */
+	public int[] generarSolucion() {
+		int[] grilla = new int[cant_celdas];
+		int[] valores = new int[dimension];
+		int fila_inicial, col_inicial;
+
+		for (int v = 0; v < dimension; v++) {
+			valores[v] = v + 1;
+		}
+		//No todo llenado de los paneles de la diagonal puede completarse (con paneles de 2 x 2 ocurre seguido). Si no hay forma
+		//de completar el tablero se vuelven a sortear (el solucionador no modifica el arreglo si no hay solucin).
+		do {
+			controlar_cancelacion();
+			for (int panel = 0; panel < tam_panel; panel++) {
+				mezclar(valores, dimension);
+				fila_inicial = col_inicial = panel * tam_panel;
+				for (int k = 0; k < dimension; k++) {
+					grilla[(fila_inicial + k / tam_panel) * dimension + col_inicial + k % tam_panel] = valores[k];
+				}
+			}
+		} while (!solucionador.resolver(grilla));
+		return grilla;
+	}
+
+	/**
+	 * Genera un juego al azar con solucin nica.
+	 * @param cant_pistas Cantidad de pistas buscada. Si antes de llegar a ella ninguna celda puede quitarse sin perder la unicidad, el juego queda con ms pistas.
+	 * @return Un juego recorrido por filas, con 0 en las celdas vacas.
+	 */
+	public int[] generarJuego(int cant_pistas) {
+		int[] grilla = generarSolucion();
+		quitarPistas(grilla, cant_pistas, cant_pistas);
+		return grilla;
+	}
+
+	/**
+	 * Quita celdas del tablero recibido, en un orden al azar, hasta llegar a una cantidad de pistas sorteada entre los lmites recibidos.
+	 * Una celda solo se quita si el juego sigue teniendo una nica solucin (se busca hasta encontrar 2 soluciones, no ms).
+	 * As se hacen a lo sumo DIMENSION x DIMENSION bsquedas, sin depender de la suerte.
+	 * @param grilla Tablero recorrido por filas, con solucin nica. Las celdas quitadas quedan en 0.
+	 * @param cant_minima_pistas Mnima cantidad de pistas buscada.
+	 * @param cant_maxima_pistas Mxima cantidad de pistas buscada.
+	 * @return La cantidad de pistas que quedaron en el tablero.
+	 * @throws CancellationException Si se cancel la generacin (ver cancelar). El tablero queda con las celdas quitadas hasta ese momento.
+	 */
+	public int quitarPistas(int[] grilla, int cant_minima_pistas, int cant_maxima_pistas) {
+		int cant_pistas = 0, cant_pistas_buscada, celda, valor;
+
+		for (int k = 0; k < cant_celdas; k++) {
+			orden[k] = k;
+			if (grilla[k] != 0) {
+				cant_pistas++;
+			}
+		}
+		mezclar(orden, cant_celdas);
+		cant_pistas_buscada = cant_minima_pistas + rand.nextInt(cant_maxima_pistas - cant_minima_pistas + 1);
+		solucionador.setLimiteNodos(LIMITE_NODOS_UNICIDAD);
+
+		for (int k = 0; k < cant_celdas && cant_pistas > cant_pistas_buscada; k++) {
+			celda = orden[k];
+			valor = grilla[celda];
+			if (cancelado) {
+				solucionador.setLimiteNodos(0);
+				controlar_cancelacion();
+			}
+			if (valor != 0) {
+				grilla[celda] = 0;
+				//Si la bsqueda se interrumpe no se sabe si la solucin sigue siendo nica, as que la pista se mantiene.
+				if (solucionador.contarSoluciones(grilla, 2) == 1 && !solucionador.fueInterrumpida()) {
+					cant_pistas--;
+				}
+				else {
+					grilla[celda] = valor; //Sin esta pista el juego tendra ms de una solucin.
+				}
+			}
+		}
+		solucionador.setLimiteNodos(0);
+		return cant_pistas;
+	}
+
+	private void controlar_cancelacion() {
+		if (cancelado) {
+			throw new CancellationException("Se cancel la generacin del juego.");
+		}
+	}
+
+	/**
+	 * Devuelve la dimensin de los tableros que genera.
+	 * @return Dimensin de los tableros que genera.
+	 */
+	public int getDimension() {
+		return dimension;
+	}
+
+	//Mezcla las primeras cant componentes del arreglo.
+	private void mezclar(int[] arreglo, int cant) {
+		int aux, otra;
+		for (int k = cant - 1; k > 0; k--) {
+			otra = rand.nextInt(k + 1);
+			aux = arreglo[k];
+			arreglo[k] = arreglo[otra];
+			arreglo[otra] = aux;
+		}
+	}
+
+	//Dispersa los bits de la semilla. Los primeros valores de Random con semillas consecutivas son casi iguales.
+	private static long mezclar(long semilla) {
+		long z = semilla + 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+}
\ No newline at end of file
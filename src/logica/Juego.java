@@ -1,12 +1,23 @@
 package logica;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.util.Scanner;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * El estado del juego es compacto y no depende de la interface grfica: la solucin y las celdas son arreglos de bytes recorridos por filas,
+ * y cada byte de celda guarda su valor (0 si est vaca) junto con los bits PISTA y EN_CONFLICTO. Las celdas se identifican por
+ * fila y columna (o por su ndice, fila x DIMENSION + columna). Quien muestra el juego lo hace a travs de una gui.VistaTablero,
+ * que crea los objetos grficos de cada celda; el juego no los conoce, as que pueden existir muchos juegos a la vez
+ * (ver ServicioSesiones) ocupando menos de un kilobyte cada uno en un tablero de 9 x 9.
+ */
 
 /**
  * Modela la lgica interna del juego.
@@ -14,150 +25,401 @@ import java.util.Random;
  */
 public class Juego {
 	
-	private String path;
-	private int dimension = 9; //TABLERO CLASICO POR DEFECTO.
-	private int cant_minima_pistas = 20; //Debe ser mayor o igual a 17 para garantizar que existe una nica solucin para el juego.
+	//Soluciones ya ledas y validadas, por path. Ningn juego modifica estos arreglos, as que se comparten entre todos los juegos
+	//creados a partir del mismo archivo y solo la primera vez se accede al archivo.
+	private static final ConcurrentHashMap<String, byte[]> tableros_leidos = new ConcurrentHashMap<String, byte[]>();
+	
+	//Formato de las instantneas (ver guardar): identificacin, versin y bit que marca las celdas que son pista.
+	private static final int MAGIA_INSTANTANEA = 0x53444B31; //"SDK1"
+	private static final byte VERSION_INSTANTANEA = 1;
+	private static final int POR_REGLAS = 0x01, CON_PISTAS_FIJAS = 0x02; //Opciones del juego, en un nico byte de la instantnea.
+	
+	//Bits de cada byte de celda, adems del valor. PISTA es el mismo bit que marca las pistas en las instantneas.
+	private static final int PISTA = 0x80;
+	private static final int EN_CONFLICTO = 0x40;
+	private static final int VALOR = 0x1F; //Los valores llegan a 25 (tableros de 25 x 25).
+	
+	private String path; //null si el juego fue generado.
+	private int tam_panel = 3; //Cantidad de filas (y columnas) de un panel. TABLERO CLASICO POR DEFECTO.
+	private int dimension = 9; //Siempre es tam_panel x tam_panel.
+	//En un tablero de 9 x 9, menos de 17 pistas nunca alcanzan para una solucin nica, pero tener 17 o ms tampoco la garantiza.
+	//La unicidad se controla con el solucionador al momento de elegir las pistas.
+	//En tableros de otras dimensiones estos lmites se escalan en proporcin a la cantidad de celdas.
+	private int cant_minima_pistas = 20;
 	private int cant_maxima_pistas = 35;
-	private int[][] tablero; //Matriz en la que se vuelca el contenido del archivo de texto que contiene un juego. Servir para posterior control del resultado.
-	private CeldaTablero[][] tablero_para_GUI; //Matriz que contiene un juego vlido, apta para interactuar con la GUI. El jugador modifica las celdas durante el juego.
+	private long semilla; //Determina qu celdas son pista (y el tablero completo, si es generado). Con la misma semilla se obtiene siempre el mismo tablero.
+	private boolean con_pistas_fijas; //True en un juego abierto de una biblioteca: al reiniciarlo se vuelven a poner las mismas pistas.
+	private byte[] solucion; //Solucin del juego, recorrida por filas. Servir para posterior control del resultado.
+	private byte[] celdas; //Valor y bits PISTA y EN_CONFLICTO de cada celda, recorridas por filas. El jugador modifica los valores durante el juego.
+	//Las unidades son las filas (0 a DIMENSION - 1), las columnas (DIMENSION a 2 x DIMENSION - 1) y los paneles (el resto).
+	//Cantidad de celdas activas con cada valor, por unidad: apariciones[unidad x DIMENSION + v - 1] es la cantidad de v en la unidad.
+	//Se actualizan con cada cambio de una celda, as el control de repetidos no necesita recorrer el tablero.
+	private byte[] apariciones;
+	//Valores presentes en cada unidad (el bit v-1 representa al valor v). Un bit est encendido si y solo si la cantidad de
+	//apariciones correspondiente es > 0, as los candidatos de una celda se obtienen sin recorrer el tablero.
+	private int[] valores_en_unidad;
+	//Se actualizan con cada cambio de una celda, as comprobar la resolucin no necesita recorrer el tablero.
+	private int cant_vacias; //Celdas sin valor.
+	private int cant_distintas; //Celdas con un valor distinto al de la solucin.
+	private int cant_en_conflicto; //Celdas cuyo valor se repite en su fila, columna o panel.
+	private boolean comprobar_por_reglas; //Ver setComprobarPorReglas.
+	private RegistroJugadas registro = new RegistroJugadas(); //Jugadas hechas (y deshechas) desde el inicio o el ltimo reinicio.
+	private long ultima_jugada_nanos = System.nanoTime();
+	private MotorAyudas ayudas; //Se crea con la primera ayuda pedida.
+	private ArrayList<OyenteJuego> oyentes = new ArrayList<OyenteJuego>();
 
 	/**
-	 * Genera un juego a partir de un archivo de texto.
+	 * Genera un juego a partir de un archivo de texto. Las pistas se eligen al azar.
 	 * @param tablero_numero Nmero de juego elegido por el usuario.
 	 * @throws TextFileException Si hay algn tipo de problema con el archivo de texto desde el que se carga el juego.
 	 */
 	public Juego(int tablero_numero) throws TextFileException {
-		path = "/txt/sudoku" + tablero_numero + ".txt";
-		tablero = generarMatriz();
-		if (!esTableroValido()) {
-			throw new TextFileException("error : text file : \"El archivo no contiene un juego vlido.\"");
-		} else {
-			tablero_para_GUI = generar_tablero_apto_para_GUI();
+		this(tablero_numero, new Random().nextLong());
+	}
+	
+	/**
+	 * Genera un juego a partir de un archivo de texto, eligiendo las pistas a partir de la semilla recibida.
+	 * Con el mismo archivo y la misma semilla se obtiene siempre la misma distribucin de pistas.
+	 * @param tablero_numero Nmero de juego elegido por el usuario.
+	 * @param semilla Semilla a partir de la cual se eligen las pistas.
+	 * @throws TextFileException Si hay algn tipo de problema con el archivo de texto desde el que se carga el juego.
+	 */
+	public Juego(int tablero_numero, long semilla) throws TextFileException {
+		this(tablero_numero, 3, semilla);
+	}
+	
+	/**
+	 * Genera un juego de cualquier dimensin a partir de un archivo de texto, eligiendo las pistas a partir de la semilla recibida.
+	 * Los juegos de 9 x 9 se leen de "/txt/sudokuN.txt", los de otras dimensiones de "/txt/sudokuDxD_N.txt" (ej.: "/txt/sudoku16x16_1.txt").
+	 * @param tablero_numero Nmero de juego elegido por el usuario.
+	 * @param tam_panel Cantidad de filas (y columnas) de un panel, entre 2 y 5. El tablero tiene tam_panel x tam_panel filas y columnas.
+	 * @param semilla Semilla a partir de la cual se eligen las pistas.
+	 * @throws TextFileException Si hay algn tipo de problema con el archivo de texto desde el que se carga el juego.
+	 */
+	public Juego(int tablero_numero, int tam_panel, long semilla) throws TextFileException {
+		setTamPanel(tam_panel);
+		path = tam_panel == 3 ? "/txt/sudoku" + tablero_numero + ".txt" : "/txt/sudoku" + dimension + "x" + dimension + "_" + tablero_numero + ".txt";
+		this.semilla = semilla;
+		solucion = tableros_leidos.get(path);
+		if (solucion == null) {
+			int[][] matriz = generarMatriz();
+			//La matriz ya tiene DIMENSION x DIMENSION valores, todos en el rango 1..DIMENSION. Se controla que no se repitan en filas, columnas ni paneles.
+			ValidadorTablero validador = new ValidadorTablero(tam_panel);
+			if (!validador.validar(matriz)) {
+				throw new TextFileException("error : text file : \"El archivo no contiene un juego vlido: " + validador.getDescripcionError() + ".\"");
+			}
+			solucion = new byte[dimension * dimension];
+			for (int k = 0; k < solucion.length; k++) {
+				solucion[k] = (byte) matriz[k / dimension][k % dimension];
+			}
+			tableros_leidos.put(path, solucion);
+		}
+		iniciar_celdas(elegir_pistas(new GeneradorTableros(tam_panel, semilla)));
+	}
+	
+	//Crea un juego a partir de una solucin completa y vlida, con la cantidad de pistas recibida.
+	private Juego(byte[] solucion, GeneradorTableros generador, int tam_panel, long semilla, int cant_pistas) {
+		setTamPanel(tam_panel);
+		path = null;
+		this.semilla = semilla;
+		this.solucion = solucion;
+		cant_minima_pistas = cant_maxima_pistas = cant_pistas;
+		iniciar_celdas(elegir_pistas(generador));
+	}
+	
+	//Crea un juego a partir de una solucin completa y vlida, con las pistas recibidas.
+	private Juego(byte[] solucion, int[] pistas, int tam_panel) {
+		setTamPanel(tam_panel);
+		path = null;
+		this.solucion = solucion;
+		con_pistas_fijas = true;
+		iniciar_celdas(pistas);
+	}
+	
+	//Crea un juego a partir de la solucin y las celdas guardadas en una instantnea (ver restaurar).
+	private Juego(int tam_panel, long semilla, ByteBuffer origen) {
+		setTamPanel(tam_panel);
+		path = null;
+		this.semilla = semilla;
+		int cant_celdas = dimension * dimension;
+		int[] grilla = new int[cant_celdas];
+		solucion = new byte[cant_celdas];
+		origen.get(solucion);
+		for (int k = 0; k < cant_celdas; k++) {
+			grilla[k] = solucion[k];
+		}
+		ValidadorTablero validador = new ValidadorTablero(tam_panel);
+		if (!validador.validar(grilla)) {
+			throw new IllegalArgumentException("La instantnea no contiene un juego vlido: " + validador.getDescripcionError() + ".");
+		}
+		celdas = new byte[cant_celdas];
+		origen.get(celdas);
+		for (int k = 0; k < cant_celdas; k++) {
+			int valor = celdas[k] & ~PISTA & 0xFF;
+			boolean es_una_pista = (celdas[k] & PISTA) != 0;
+			if (valor > dimension || (es_una_pista && valor != solucion[k])) {
+				throw new IllegalArgumentException("La instantnea contiene una celda invlida.");
+			}
 		}
+		contar_apariciones();
+		registro.cargar(origen, dimension);
+	}
+	
+	/**
+	 * Genera un juego nuevo al azar, sin recurrir a archivos de texto.
+	 * Con la misma semilla y la misma cantidad de pistas se obtiene siempre el mismo juego.
+	 * @param semilla Semilla a partir de la cual se genera el juego.
+	 * @param cant_pistas Cantidad de pistas buscada (como mximo 81). Si no es posible llegar a ella sin perder la unicidad de la solucin, el juego queda con algunas pistas ms.
+	 * @return Un juego nuevo con solucin nica.
+	 */
+	public static Juego generar(long semilla, int cant_pistas) {
+		return generar(3, semilla, cant_pistas);
+	}
+	
+	/**
+	 * Genera un juego nuevo al azar de cualquier dimensin, sin recurrir a archivos de texto.
+	 * Con la misma dimensin, la misma semilla y la misma cantidad de pistas se obtiene siempre el mismo juego.
+	 * @param tam_panel Cantidad de filas (y columnas) de un panel, entre 2 y 5. El tablero tiene tam_panel x tam_panel filas y columnas.
+	 * @param semilla Semilla a partir de la cual se genera el juego.
+	 * @param cant_pistas Cantidad de pistas buscada (como mximo, todas las celdas). Si no es posible llegar a ella sin perder la unicidad de la solucin, el juego queda con algunas pistas ms.
+	 * @return Un juego nuevo con solucin nica.
+	 */
+	public static Juego generar(int tam_panel, long semilla, int cant_pistas) {
+		return generar(new GeneradorTableros(tam_panel, semilla), tam_panel, semilla, cant_pistas);
+	}
+	
+	private static Juego generar(GeneradorTableros generador, int tam_panel, long semilla, int cant_pistas) {
+		int dimension = generador.getDimension();
+		if (cant_pistas < 0 || cant_pistas > dimension * dimension) {
+			throw new IllegalArgumentException("Cantidad de pistas fuera de rango: " + cant_pistas);
+		}
+		int[] generada = generador.generarSolucion();
+		byte[] solucion = new byte[generada.length];
+		for (int k = 0; k < solucion.length; k++) {
+			solucion[k] = (byte) generada[k];
+		}
+		return new Juego(solucion, generador, tam_panel, semilla, cant_pistas);
+	}
+	
+	/**
+	 * Abre un juego de una biblioteca de juegos, con las pistas que tiene registradas. Solo se lee el registro de ese juego (ver BibliotecaTableros).
+	 * Al reiniciarlo se vuelven a poner las mismas pistas.
+	 * @param biblioteca Biblioteca de la que se abre el juego.
+	 * @param indice Posicin del juego en la biblioteca, entre 0 y biblioteca.getCantidad() - 1.
+	 * @return El juego abierto.
+	 * @throws IllegalArgumentException Si el registro del juego no contiene un juego vlido.
+	 */
+	public static Juego abrir(BibliotecaTableros biblioteca, int indice) {
+		int dimension = biblioteca.getDimension();
+		int[] leida = new int[dimension * dimension], pistas = new int[dimension * dimension];
+		biblioteca.leer(indice, leida, pistas);
+		ValidadorTablero validador = new ValidadorTablero(biblioteca.getTamPanel());
+		if (!validador.validar(leida)) {
+			throw new IllegalArgumentException("El juego " + indice + " de la biblioteca no es vlido: " + validador.getDescripcionError() + ".");
+		}
+		byte[] solucion = new byte[leida.length];
+		for (int k = 0; k < solucion.length; k++) {
+			solucion[k] = (byte) leida[k];
+		}
+		return new Juego(solucion, pistas, biblioteca.getTamPanel());
+	}
+	
+	/**
+	 * Empieza a crear en segundo plano un juego a partir de un archivo de texto (ver Juego(int)), sin esperar a que termine.
+	 * Varios juegos pueden crearse a la vez.
+	 * @param tablero_numero Nmero de juego elegido por el usuario.
+	 * @return Un futuro que se completa con el juego creado. Si hay algn problema con el archivo de texto, se completa con una
+	 * CompletionException cuya causa es la TextFileException correspondiente.
+	 */
+	public static CompletableFuture<Juego> cargarEnSegundoPlano(int tablero_numero) {
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return new Juego(tablero_numero);
+			} catch (TextFileException e) {
+				throw new CompletionException(e);
+			}
+		});
+	}
+	
+	/**
+	 * Empieza a generar en segundo plano un juego nuevo al azar (ver generar), sin esperar a que termine.
+	 * Sirve para los tableros grandes, cuya generacin puede demorar alrededor de un segundo.
+	 * Cancelar el futuro detiene la generacin en pocos milisegundos (en lugar de dejarla terminar ocupando un hilo del pool comn).
+	 * @param tam_panel Cantidad de filas (y columnas) de un panel, entre 2 y 5.
+	 * @param semilla Semilla a partir de la cual se genera el juego.
+	 * @param cant_pistas Cantidad de pistas buscada.
+	 * @return Un futuro que se completa con el juego generado.
+	 */
+	public static CompletableFuture<Juego> generarEnSegundoPlano(int tam_panel, long semilla, int cant_pistas) {
+		GeneradorTableros generador = new GeneradorTableros(tam_panel, semilla);
+		CompletableFuture<Juego> futuro = CompletableFuture.supplyAsync(() -> generar(generador, tam_panel, semilla, cant_pistas));
+		//CompletableFuture.cancel no interrumpe la tarea que lo completa: se le avisa al generador, que deja de buscar.
+		futuro.whenComplete((juego, error) -> {
+			if (futuro.isCancelled()) {
+				generador.cancelar();
+			}
+		});
+		return futuro;
+	}
+	
+	//Configura la dimensin del tablero y escala los lmites de pistas (pensados para 9 x 9) a la cantidad de celdas.
+	//Con paneles de 5 x 5 los valores llegan a 25, que todava entran en las mscaras de bits (int) que se usan en todo el juego.
+	private void setTamPanel(int tam_panel) {
+		if (tam_panel < 2 || tam_panel > 5) {
+			throw new IllegalArgumentException("Tamao de panel fuera de rango: " + tam_panel);
+		}
+		this.tam_panel = tam_panel;
+		dimension = tam_panel * tam_panel;
+		cant_minima_pistas = dimension * dimension * cant_minima_pistas / 81;
+		cant_maxima_pistas = dimension * dimension * cant_maxima_pistas / 81;
 	}
 	
 	/* 
 	 * Si el archivo tiene ms de DIMENSION filas o columnas no importa (ignora el contenido extra).
 	 * Lo que importa es que el archivo tenga al menos DIMENSION filas y DIMENSION columnas correctas.
-	 * Se retorna una matriz de DIMENSION x DIMENSION dgitos entre 1 y 9.
+	 * Tambin se acepta el tablero completo en una sola lnea de DIMENSION x DIMENSION dgitos (ver LectorTableros).
+	 * Los nmeros de una fila pueden tener ms de un dgito (tableros de ms de 9 x 9).
+	 * Se retorna una matriz de DIMENSION x DIMENSION nmeros entre 1 y DIMENSION.
 	 */
 	private int[][] generarMatriz() throws TextFileException{
 		InputStream ins = Juego.class.getResourceAsStream(path);
 		if (ins == null) {
 			throw new TextFileException("error : text file : \"No se puede abrir el archivo - Archivo inexistente?\"");
 		}
-		InputStreamReader insr = new InputStreamReader(ins);
-		BufferedReader bfr = new BufferedReader(insr);
-		String linea; //Almacena temporalmente cada lnea obtenida del archivo.
-		Scanner sLine;
-		String delimitador = " "; //El delimitador para recuperar nmeros ser un espacio simple.
-		int numero;
-		int[][] matriz = new int[dimension][dimension];
-		int fila = 0, col;
+		LectorTableros lector = new LectorTableros(ins, dimension, false);
+		int[][] matriz;
 		
 		try {
-			while ( (linea = bfr.readLine()) != null && fila < dimension) {
-				sLine = new Scanner(linea);
-				sLine.useDelimiter(delimitador);
-				col = 0;
-				while (sLine.hasNext() && col < dimension) {
-					numero = Integer.parseInt( sLine.next() ); //Recupera un nmero de la lnea de texto, lo convierte a int.
-					if (numero < 1 || numero > 9) {
-						sLine.close();
-						bfr.close();
-						throw new TextFileException("error : text file : \"Juego con valores fuera de rango.\"");
-					}
-					else {
-						matriz[fila][col] = numero;
-						col++;
-					}
-				}
-				sLine.close();
-				
-				//Al terminar de recorrer una lnea controlo haber obtenido la cantidad de nmeros (columnas) correspondientes.
-				if (col < dimension) {
-					bfr.close();
-					throw new TextFileException("error : text file : \"Faltan nmeros para el tablero de juego.\"");
-				}
-				
-				fila++;
+			matriz = lector.leerMatriz();
+		} finally {
+			try {
+				lector.close();
+			} catch (IOException ex) {
+				//El tablero ya fue ledo (o fall por otro motivo), el error al cerrar no cambia el resultado.
 			}
-			bfr.close();
-			
-			//Al terminar de recorrer el archivo controlo haber obtenido la cantidad de filas correspondientes.
-			if (fila < dimension) {
-				throw new TextFileException("error : text file : \"Faltan nmeros para el tablero de juego.\"");
-			}
-		} catch (IOException ex) {
-			throw new TextFileException("error : text file : \"Error al recuperar el tablero de juego.\"");
+		}
+		
+		//Un archivo vaco no tiene ningn tablero.
+		if (matriz == null) {
+			throw new TextFileException("error : text file : \"Faltan nmeros para el tablero de juego.\"");
 		}
 
 		return matriz;
 	} //generarMatriz
 	
-	//Verifica que la matriz con el juego obtenido de un archivo de texto contenga un juego vlido.
-	//La matriz ya tiene DIMENSION x DIMENSION valores, todos en el rango 1..9.
-	//Mtodo: se chequea que cada fila tenga todos valores diferentes entre s. Lo mismo para las columnas.
-	//Controla simultneamente una fila y una columna.
-	private boolean esTableroValido() {
-		ArrayList<Integer> valores_de_fila = new ArrayList<Integer>(dimension);
-		ArrayList<Integer> valores_de_columna = new ArrayList<Integer>(dimension);
-		boolean esValido = true;
-		int nFil, nCol;
-		int i = 0, j;
-		while (i < dimension && esValido) {
-			j = 0;
-			while (j < dimension && esValido) {
-				nFil = tablero[i][j]; //Avanza a travs de una fila.
-				nCol = tablero[j][i]; //Avanza a travs de una columna.
-				if (valores_de_fila.contains(nFil) || valores_de_columna.contains(nCol)){
-					esValido = false;
-				}
-				else {
-					valores_de_fila.add(nFil);
-					valores_de_columna.add(nCol);
-					j++;
-				}
-			}
-			valores_de_fila.clear();
-			valores_de_columna.clear();
-			i++;
-		}
-		return esValido;
-	} //esTableroValido
-	
-	//Genera un tablero con el juego, pero apto para trabajar con l desde la GUI.
-	private CeldaTablero[][] generar_tablero_apto_para_GUI(){
-		int cant_pistas;
-		Random rand = new Random();
-		int numero_random;
-		boolean mostrar;
+	/*
+	 * Pone en las celdas las pistas recibidas (recorridas por filas, con 0 en las dems celdas) y deja vacas las dems.
+	 * Las pistas se eligen quitando celdas del tablero completo mientras el juego siga teniendo una nica solucin (ver GeneradorTableros).
+	 */
+	private void iniciar_celdas(int[] pistas) {
+		if (celdas == null) {
+			celdas = new byte[dimension * dimension];
+		}
+		for (int k = 0; k < celdas.length; k++) {
+			celdas[k] = (byte) (pistas[k] != 0 ? pistas[k] | PISTA : 0);
+		}
+		contar_apariciones();
+	}
+	
+	//Devuelve el tablero completo recorrido por filas, con 0 en las celdas que no quedaron como pista.
+	//En un juego abierto de una biblioteca las pistas son siempre las que ya tiene, y el generador no se usa.
+	private int[] elegir_pistas(GeneradorTableros generador) {
+		int[] grilla = new int[dimension * dimension];
+		for (int k = 0; k < grilla.length; k++) {
+			grilla[k] = !con_pistas_fijas || (celdas[k] & PISTA) != 0 ? solucion[k] : 0;
+		}
+		if (!con_pistas_fijas) {
+			generador.quitarPistas(grilla, cant_minima_pistas, cant_maxima_pistas);
+		}
+		return grilla;
+	}
+	
+	//Con las celdas definidas, se cuentan las apariciones de cada valor por unidad, las celdas vacas,
+	//las que difieren de la solucin y las que estn en conflicto.
+	private void contar_apariciones() {
 		int valor;
-		CeldaTablero[][] tablero_para_GUI = new CeldaTablero[dimension][dimension];
-		
-		do {
-			cant_pistas = 0;
-			for (int i = 0; i < dimension; i++) {
-				for (int j = 0; j < dimension; j++) {
-					//Con estas 2 lneas se vara la cantidad de pistas mostradas.
-					//As como est, hay un 40% de chance de que una celda sea pista. El tablero suele mostrar unas ~30.
-					numero_random = rand.nextInt(5);
-					mostrar = (numero_random == 0 || numero_random == 1) ? true : false;
-					
-					if (mostrar) {
-						valor = tablero[i][j];
-						cant_pistas++;
-					}
-					else {
-						valor = 0;
-					}
-					tablero_para_GUI[i][j] = new CeldaTablero(valor, i, j);
-				}
+		if (apariciones == null) {
+			apariciones = new byte[3 * dimension * dimension];
+			valores_en_unidad = new int[3 * dimension];
+		}
+		else {
+			Arrays.fill(apariciones, (byte) 0);
+			Arrays.fill(valores_en_unidad, 0);
+		}
+		cant_vacias = cant_distintas = cant_en_conflicto = 0;
+		for (int k = 0; k < celdas.length; k++) {
+			valor = celdas[k] & VALOR;
+			if (valor != 0) {
+				sumar_aparicion(k, valor);
+				cant_distintas += valor != solucion[k] ? 1 : 0;
 			}
-		} while (cant_pistas < cant_minima_pistas || cant_pistas > cant_maxima_pistas);
-
-		return tablero_para_GUI;
-	} //generar_tablero_apto_para_GUI
+			else {
+				cant_vacias++;
+			}
+		}
+		for (int k = 0; k < celdas.length; k++) {
+			boolean en_conflicto = tiene_repetidos(k);
+			celdas[k] = (byte) (en_conflicto ? celdas[k] | EN_CONFLICTO : celdas[k] & ~EN_CONFLICTO);
+			cant_en_conflicto += en_conflicto ? 1 : 0;
+		}
+	}
+	
+	private void sumar_aparicion(int celda, int valor) {
+		int bit = 1 << (valor - 1);
+		int fila = celda / dimension, columna = celda % dimension;
+		if (apariciones[fila * dimension + valor - 1]++ == 0) {
+			valores_en_unidad[fila] |= bit;
+		}
+		if (apariciones[(dimension + columna) * dimension + valor - 1]++ == 0) {
+			valores_en_unidad[dimension + columna] |= bit;
+		}
+		if (apariciones[(2 * dimension + getPanel(fila, columna)) * dimension + valor - 1]++ == 0) {
+			valores_en_unidad[2 * dimension + getPanel(fila, columna)] |= bit;
+		}
+	}
+	
+	//Al quitar la ltima aparicin de un valor en una unidad, el valor vuelve a ser candidato en las celdas de esa unidad.
+	private void restar_aparicion(int celda, int valor) {
+		int bit = 1 << (valor - 1);
+		int fila = celda / dimension, columna = celda % dimension;
+		if (--apariciones[fila * dimension + valor - 1] == 0) {
+			valores_en_unidad[fila] &= ~bit;
+		}
+		if (--apariciones[(dimension + columna) * dimension + valor - 1] == 0) {
+			valores_en_unidad[dimension + columna] &= ~bit;
+		}
+		if (--apariciones[(2 * dimension + getPanel(fila, columna)) * dimension + valor - 1] == 0) {
+			valores_en_unidad[2 * dimension + getPanel(fila, columna)] &= ~bit;
+		}
+	}
+	
+	/**
+	 * Reinicia el juego sin crear uno nuevo: se eligen nuevas pistas al azar sobre el mismo tablero completo y se borran los valores elegidos por el jugador.
+	 * Se conservan los oyentes, y no se vuelve a leer ningn archivo.
+	 */
+	public void reiniciar() {
+		reiniciar(new Random().nextLong());
+	}
+	
+	/**
+	 * Reinicia el juego sin crear uno nuevo, eligiendo las pistas a partir de la semilla recibida.
+	 * Se conservan los oyentes, y no se vuelve a leer ningn archivo.
+	 * Al terminar se avisa a los oyentes con tableroReiniciado.
+	 * @param semilla Semilla a partir de la cual se eligen las pistas. En un juego generado, el tablero completo no cambia.
+	 * En un juego abierto de una biblioteca no se usa: se vuelven a poner las pistas registradas.
+	 */
+	public void reiniciar(long semilla) {
+		this.semilla = semilla;
+		iniciar_celdas(elegir_pistas(con_pistas_fijas ? null : new GeneradorTableros(tam_panel, semilla)));
+		registro.limpiar();
+		if (ayudas != null) {
+			ayudas.olvidar();
+		}
+		ultima_jugada_nanos = System.nanoTime();
+		for (OyenteJuego oyente : oyentes) {
+			oyente.tableroReiniciado();
+		}
+	}
 	
 	/**
 	 * Devuelve la dimensin del tablero de juego.
@@ -168,119 +430,451 @@ public class Juego {
 	}
 	
 	/**
-	 * Devuelve la celda del tablero ubicada en las coordenadas recibidas por parmetro.
-	 * @param fila Coordenada de la fila de la celda solicitada.
-	 * @param columna Coordenada de la columna de la celda solicitada.
-	 * @return La celda del tablero ubicada en las coordenadas recibidas por parmetro.
+	 * Devuelve la cantidad de filas (y columnas) de un panel del tablero de juego.
+	 * @return Cantidad de filas (y columnas) de un panel del tablero de juego.
+	 */
+	public int getTamPanel() {
+		return tam_panel;
+	}
+	
+	/**
+	 * Devuelve la semilla a partir de la cual se eligieron las pistas del tablero.
+	 * @return La semilla a partir de la cual se eligieron las pistas del tablero.
+	 */
+	public long getSemilla() {
+		return semilla;
+	}
+	
+	/**
+	 * Devuelve el valor de una celda.
+	 * @param fila Coordenada de la fila de la celda.
+	 * @param columna Coordenada de la columna de la celda.
+	 * @return Un nmero de 1 a la dimensin del tablero, o 0 si la celda est vaca.
+	 */
+	public int getValor(int fila, int columna) {
+		return celdas[fila * dimension + columna] & VALOR;
+	}
+	
+	/**
+	 * Indica si una celda corresponde a una pista (celda que no puede ser modificada) del tablero.
+	 * @param fila Coordenada de la fila de la celda.
+	 * @param columna Coordenada de la columna de la celda.
+	 * @return True si la celda corresponde a una pista, false en caso contrario.
+	 */
+	public boolean esPista(int fila, int columna) {
+		return (celdas[fila * dimension + columna] & PISTA) != 0;
+	}
+	
+	/**
+	 * Indica si el valor de una celda se repite en su misma fila, columna o panel.
+	 * @param fila Coordenada de la fila de la celda.
+	 * @param columna Coordenada de la columna de la celda.
+	 * @return True si la celda est en conflicto, false en caso contrario.
 	 */
-	public CeldaTablero getCelda(int fila, int columna) {
-		return tablero_para_GUI[fila][columna];
+	public boolean estaEnConflicto(int fila, int columna) {
+		return (celdas[fila * dimension + columna] & EN_CONFLICTO) != 0;
+	}
+	
+	/**
+	 * Hace una jugada: cambia el valor de una celda que no es pista. La jugada se registra (ver deshacer) y se avisa a los oyentes.
+	 * Si la celda ya tiene ese valor, no se hace nada.
+	 * @param fila Coordenada de la fila de la celda.
+	 * @param columna Coordenada de la columna de la celda.
+	 * @param valor Nuevo valor de la celda, entre 0 (vaciarla) y la dimensin del tablero.
+	 * @throws IllegalArgumentException Si la celda es una pista o el valor est fuera de rango.
+	 */
+	public void jugar(int fila, int columna, int valor) {
+		int celda = fila * dimension + columna;
+		if ((celdas[celda] & PISTA) != 0) {
+			throw new IllegalArgumentException("La celda (" + fila + ", " + columna + ") es una pista.");
+		}
+		if (valor < 0 || valor > dimension) {
+			throw new IllegalArgumentException("Valor fuera de rango: " + valor);
+		}
+		int valor_anterior = celdas[celda] & VALOR;
+		if (valor == valor_anterior) {
+			return;
+		}
+		long ahora = System.nanoTime();
+		registro.agregar(celda, valor_anterior, valor, (ahora - ultima_jugada_nanos) / 100000000L);
+		ultima_jugada_nanos = ahora;
+		cambiar_valor(celda, valor);
+	}
+
+	/**
+	 * Copia los valores actuales del tablero (pistas y valores elegidos por el jugador) en el arreglo recibido, recorriendo el tablero por filas.
+	 * Las celdas sin valor se copian como 0.
+	 * @param destino Arreglo con al menos DIMENSION x DIMENSION componentes.
+	 */
+	public void copiarValores(int[] destino) {
+		for (int k = 0; k < celdas.length; k++) {
+			destino[k] = celdas[k] & VALOR;
+		}
+	}
+	
+	/**
+	 * Indica si una celda tiene valores repetidos en su misma fila, columna o panel.
+	 * La consulta se responde en tiempo constante a partir de la cantidad de apariciones de cada valor por fila, columna y panel.
+	 * @param fila Coordenada de la fila de la celda.
+	 * @param columna Coordenada de la columna de la celda.
+	 * @return True si hay al menos otra celda activa con el mismo valor en la fila, columna o panel de la celda, false en caso contrario.
+	 */
+	public boolean tieneRepetidos(int fila, int columna) {
+		return tiene_repetidos(fila * dimension + columna);
+	}
+	
+	private boolean tiene_repetidos(int celda) {
+		int valor = celdas[celda] & VALOR;
+		if (valor == 0) {
+			return false;
+		}
+		int fila = celda / dimension, columna = celda % dimension;
+		return apariciones[fila * dimension + valor - 1] > 1
+				|| apariciones[(dimension + columna) * dimension + valor - 1] > 1
+				|| apariciones[(2 * dimension + getPanel(fila, columna)) * dimension + valor - 1] > 1;
 	}
 
 	/**
-	 * Controla que no hayan valores repetidos con el de la celda recibida por parmetro.
-	 * Ese control se hace sobre los elementos de la misma fila, columna y panel del parmetro.
+	 * Devuelve los candidatos de una celda: los valores que pueden ubicarse en ella sin repetir ninguno de su fila, columna o panel,
+	 * menos los que descartaron las ayudas pedidas (ver pedirAyuda), mientras esos descartes sigan siendo vlidos.
+	 * Se mantienen actualizados con cada cambio de una celda, as que la consulta es en tiempo constante y no crea ninguna estructura.
+	 * @param fila Coordenada de la fila de la celda.
+	 * @param columna Coordenada de la columna de la celda.
+	 * @return Una mscara de bits en la que el bit v-1 est encendido si el valor v es candidato, o 0 si la celda tiene un valor.
+	 */
+	public int getCandidatos(int fila, int columna) {
+		if ((celdas[fila * dimension + columna] & VALOR) != 0) {
+			return 0;
+		}
+		int presentes = valores_en_unidad[fila] | valores_en_unidad[dimension + columna] | valores_en_unidad[2 * dimension + getPanel(fila, columna)];
+		if (ayudas != null) {
+			presentes |= ayudas.getDescartes(fila * dimension + columna);
+		}
+		return ~presentes & ((1 << dimension) - 1);
+	}
+	
+	/**
+	 * Indica si alguna celda tiene candidatos descartados por las ayudas pedidas (ver getCandidatos).
+	 * Los descartes se olvidan todos juntos cuando se borra o cambia un valor del tablero, o se lo reinicia.
+	 * @return True si hay descartes de ayudas vigentes.
+	 */
+	public boolean hayCandidatosDescartados() {
+		return ayudas != null && ayudas.hayDescartes();
+	}
+	
+	/**
+	 * Controla que no hayan valores repetidos con el de una celda.
+	 * Ese control se hace sobre los elementos de la misma fila, columna y panel de la celda.
 	 * Este control equivale a chequear que no se infrinja ninguna regla del juego.
-	 * @param c Celda respecto a la cual se buscan celdas repetidas.
-	 * @return Una estructura con celdas de la misma fila, con las de la misma columna, y con las del mismo panel, que tienen el mismo valor que el parmetro.
-	 */
-	public ArrayList<CeldaTablero> chequearRepetidos(CeldaTablero c) {
-		ArrayList<CeldaTablero> repetidos = new ArrayList<CeldaTablero>();
-		chequearRepetidosEnFila(c, repetidos);
-		chequearRepetidosEnColumna(c, repetidos);
-		chequearRepetidosEnPanel(c, repetidos);
-		return repetidos;
-	}
-	
-	//Chequeo la fila en la que se encuentra c.
-	private void chequearRepetidosEnFila(CeldaTablero c, ArrayList<CeldaTablero> repetidos) {
-		CeldaTablero celda;
-		int fila_de_c = c.getFila();
-		int columna_de_c = c.getColumna();
+	 * Solo se recorren las filas, columnas o paneles en los que se sabe que hay repetidos, y no se crea ninguna estructura nueva.
+	 * @param fila Coordenada de la fila de la celda respecto a la cual se buscan celdas repetidas.
+	 * @param columna Coordenada de la columna de la celda respecto a la cual se buscan celdas repetidas.
+	 * @param repetidos Arreglo provisto por quien usa el servicio, donde se almacenan los ndices (fila x DIMENSION + columna) de las celdas repetidas.
+	 * Debe tener al menos getCantidadMaximaRepetidos() componentes.
+	 * @return La cantidad de celdas repetidas almacenadas al comienzo del arreglo recibido.
+	 */
+	public int chequearRepetidos(int fila, int columna, int[] repetidos) {
+		int valor = getValor(fila, columna);
+		int cant = 0;
+		
+		if (valor == 0) {
+			return 0;
+		}
 		
-		for (int j = 0; j < dimension; j++) {
-			if (j != columna_de_c) {
-				celda = tablero_para_GUI[fila_de_c][j];
-				if (celda.esta_activa() && celda.getValor() == c.getValor()) { //Sea una pista o no, lo que importa es que la celda est activa (visible).
-					repetidos.add(celda);
+		//Chequeo la fila de la celda. Sea una pista o no, lo que importa es que la celda est activa (valor != 0).
+		if (apariciones[fila * dimension + valor - 1] > 1) {
+			for (int j = 0; j < dimension; j++) {
+				if (j != columna && (celdas[fila * dimension + j] & VALOR) == valor) {
+					repetidos[cant++] = fila * dimension + j;
 				}
 			}
 		}
+		
+		//Chequeo la columna de la celda.
+		if (apariciones[(dimension + columna) * dimension + valor - 1] > 1) {
+			for (int i = 0; i < dimension; i++) {
+				if (i != fila && (celdas[i * dimension + columna] & VALOR) == valor) {
+					repetidos[cant++] = i * dimension + columna;
+				}
+			}
+		}
+		
+		//Chequeo el PANEL de la celda.
+		//Las celdas del panel que comparten fila o columna con ella ya fueron consideradas arriba, por eso se omiten (as no hay duplicados).
+		if (apariciones[(2 * dimension + getPanel(fila, columna)) * dimension + valor - 1] > 1) {
+			int fila_inicial = fila - fila % tam_panel;
+			int col_inicial = columna - columna % tam_panel;
+			for (int i = fila_inicial; i < fila_inicial + tam_panel; i++) {
+				for (int j = col_inicial; j < col_inicial + tam_panel; j++) {
+					if (i != fila && j != columna && (celdas[i * dimension + j] & VALOR) == valor) {
+						repetidos[cant++] = i * dimension + j;
+					}
+				}
+			}
+		}
+		
+		return cant;
+	}
+	
+	/**
+	 * Devuelve la mxima cantidad de celdas que pueden estar repetidas respecto a una celda (las de su fila, columna y panel, sin contarla).
+	 * Sirve para dimensionar el arreglo que recibe chequearRepetidos.
+	 * @return La mxima cantidad de celdas que pueden estar repetidas respecto a una celda.
+	 */
+	public int getCantidadMaximaRepetidos() {
+		return 3 * (dimension - 1) - 2 * (tam_panel - 1);
+	}
+	
+	/**
+	 * Agrega un oyente que ser avisado de cada cambio de valor y de estado de conflicto de las celdas.
+	 * @param oyente Oyente a agregar.
+	 */
+	public void agregarOyente(OyenteJuego oyente) {
+		oyentes.add(oyente);
 	}
 	
-	//Chequeo la columna en la que se encuentra c.
-	private void chequearRepetidosEnColumna(CeldaTablero c, ArrayList<CeldaTablero> repetidos) {
-		CeldaTablero celda;
-		int fila_de_c = c.getFila();
-		int columna_de_c = c.getColumna();
+	/**
+	 * Quita un oyente previamente agregado.
+	 * @param oyente Oyente a quitar.
+	 */
+	public void quitarOyente(OyenteJuego oyente) {
+		oyentes.remove(oyente);
+	}
+	
+	/**
+	 * Indica si hay alguna jugada para deshacer.
+	 * @return True si hay alguna jugada para deshacer, false en caso contrario.
+	 */
+	public boolean puedeDeshacer() {
+		return registro.puedeDeshacer();
+	}
+	
+	/**
+	 * Indica si hay alguna jugada deshecha para rehacer. Al hacer una jugada nueva, las jugadas deshechas ya no pueden rehacerse.
+	 * @return True si hay alguna jugada para rehacer, false en caso contrario.
+	 */
+	public boolean puedeRehacer() {
+		return registro.puedeRehacer();
+	}
+	
+	/**
+	 * Deshace la ltima jugada, devolviendo la celda a su valor anterior. Los oyentes se enteran como de cualquier otro cambio de valor.
+	 * @return True si se deshizo una jugada, false si no haba ninguna para deshacer.
+	 */
+	public boolean deshacer() {
+		if (!registro.puedeDeshacer()) {
+			return false;
+		}
+		int jugada = registro.deshacer();
+		cambiar_valor(RegistroJugadas.getCelda(jugada), RegistroJugadas.getValorAnterior(jugada));
+		return true;
+	}
+	
+	/**
+	 * Vuelve a hacer la ltima jugada deshecha.
+	 * @return True si se rehizo una jugada, false si no haba ninguna para rehacer.
+	 */
+	public boolean rehacer() {
+		if (!registro.puedeRehacer()) {
+			return false;
+		}
+		int jugada = registro.rehacer();
+		cambiar_valor(RegistroJugadas.getCelda(jugada), RegistroJugadas.getValorNuevo(jugada));
+		return true;
+	}
+	
+	/**
+	 * Guarda el estado completo del juego en un arreglo de bytes: la solucin, el valor de cada celda y si es pista,
+	 * el registro de jugadas (para poder seguir deshacindolas) y el tiempo de juego del reloj recibido.
+	 * Ocupa alrededor de 2 bytes por celda ms 4 bytes por jugada.
+	 * @param reloj Reloj cuyo tiempo de juego se guarda, o null si no se quiere guardar el tiempo.
+	 * @return La instantnea del juego, que puede recuperarse con restaurar.
+	 */
+	public byte[] guardar(LogicaReloj reloj) {
+		int cant_celdas = dimension * dimension;
+		ByteBuffer destino = ByteBuffer.allocate(4 + 3 + 8 + 8 + 2 * cant_celdas + registro.getTamanioGuardado());
+		destino.putInt(MAGIA_INSTANTANEA);
+		destino.put(VERSION_INSTANTANEA);
+		destino.put((byte) tam_panel);
+		destino.put((byte) ((comprobar_por_reglas ? POR_REGLAS : 0) | (con_pistas_fijas ? CON_PISTAS_FIJAS : 0)));
+		destino.putLong(semilla);
+		destino.putLong(reloj == null ? 0 : reloj.getTiempoTranscurrido());
+		destino.put(solucion);
+		for (int k = 0; k < cant_celdas; k++) {
+			destino.put((byte) (celdas[k] & ~EN_CONFLICTO));
+		}
+		registro.guardar(destino);
+		return destino.array();
+	}
+	
+	/**
+	 * Crea un juego a partir de una instantnea obtenida con guardar. El juego queda tal como estaba al guardarlo, sin oyentes.
+	 * @param instantanea Arreglo de bytes obtenido con guardar.
+	 * @param reloj Reloj al que se le asigna el tiempo de juego guardado, o null si no se quiere recuperar el tiempo.
+	 * @return El juego guardado en la instantnea.
+	 * @throws IllegalArgumentException Si el arreglo no contiene una instantnea vlida.
+	 */
+	public static Juego restaurar(byte[] instantanea, LogicaReloj reloj) {
+		try {
+			ByteBuffer origen = ByteBuffer.wrap(instantanea);
+			if (origen.getInt() != MAGIA_INSTANTANEA || origen.get() != VERSION_INSTANTANEA) {
+				throw new IllegalArgumentException("El arreglo no contiene una instantnea de un juego.");
+			}
+			int tam_panel = origen.get();
+			int opciones = origen.get();
+			long semilla = origen.getLong();
+			long tiempo_de_juego = origen.getLong();
+			if (tiempo_de_juego < 0) {
+				throw new IllegalArgumentException("La instantnea tiene un tiempo de juego invlido.");
+			}
+			Juego juego = new Juego(tam_panel, semilla, origen);
+			juego.comprobar_por_reglas = (opciones & POR_REGLAS) != 0;
+			juego.con_pistas_fijas = (opciones & CON_PISTAS_FIJAS) != 0;
+			if (reloj != null) {
+				reloj.setTiempoTranscurrido(tiempo_de_juego);
+			}
+			return juego;
+		} catch (BufferUnderflowException ex) {
+			throw new IllegalArgumentException("La instantnea est incompleta.");
+		}
+	}
+	
+	//Cambia el valor de una celda, manteniendo actualizada la cantidad de apariciones de cada valor por unidad y el estado de conflicto
+	//de las celdas. Lo usan jugar (que antes registra la jugada) y deshacer y rehacer.
+	private void cambiar_valor(int celda, int valor) {
+		int valor_anterior = celdas[celda] & VALOR;
+		int fila = celda / dimension, columna = celda % dimension;
+		if (ayudas != null && valor_anterior != 0) {
+			ayudas.olvidar(); //Ver MotorAyudas.
+		}
+		celdas[celda] = (byte) ((celdas[celda] & ~VALOR) | valor);
+		if (valor_anterior != 0) {
+			restar_aparicion(celda, valor_anterior);
+			cant_distintas -= valor_anterior != solucion[celda] ? 1 : 0;
+		}
+		else {
+			cant_vacias--;
+		}
+		if (valor != 0) {
+			sumar_aparicion(celda, valor);
+			cant_distintas += valor != solucion[celda] ? 1 : 0;
+		}
+		else {
+			cant_vacias++;
+		}
+		for (OyenteJuego oyente : oyentes) {
+			oyente.celdaActualizada(fila, columna);
+		}
 		
-		for (int i = 0; i < dimension; i++) {
-			if (i != fila_de_c) {
-				celda = tablero_para_GUI[i][columna_de_c];
-				if (celda.esta_activa() && celda.getValor() == c.getValor()) {
-					repetidos.add(celda);
-				}
+		//Solo pueden cambiar de estado de conflicto la celda actualizada y las de su fila, columna y panel que tengan el valor anterior o el nuevo.
+		actualizar_conflicto(celda);
+		int fila_inicial = fila - fila % tam_panel;
+		int col_inicial = columna - columna % tam_panel;
+		for (int k = 0; k < dimension; k++) {
+			actualizar_conflicto_si_corresponde(fila * dimension + k, celda, valor_anterior);
+			actualizar_conflicto_si_corresponde(k * dimension + columna, celda, valor_anterior);
+			actualizar_conflicto_si_corresponde((fila_inicial + k / tam_panel) * dimension + col_inicial + k % tam_panel, celda, valor_anterior);
+		}
+		
+		//Los contadores ya estn al da, as que detectar que el juego qued resuelto no cuesta nada extra.
+		if (cant_vacias == 0 && comprobar_resolucion() == ResultadoComprobacion.IGUALES) {
+			for (OyenteJuego oyente : oyentes) {
+				oyente.juegoResuelto();
 			}
 		}
 	}
 	
-	//Chequeo PANEL en que se encuentra c.
-	private void chequearRepetidosEnPanel(CeldaTablero c, ArrayList<CeldaTablero> repetidos) {
-		CeldaTablero celda;
-		//Fila y columna inicial son las coordenadas de la celda ubicada en la esquina superior izquierda del panel en el que se encuentra c.
-		int fila_inicial = c.getFila() - c.getFila() % 3;
-		int col_inicial = c.getColumna() - c.getColumna() % 3;
-
-		for (int i = fila_inicial; i < fila_inicial + 3; i++) {
-			for (int j = col_inicial; j < col_inicial + 3; j++) {
-				celda = tablero_para_GUI[i][j];
-				if (celda != c) {
-					if (celda.esta_activa() && celda.getValor() == c.getValor()) {
-						//Controlo que no est en los repetidos ya.
-						//Esto puede darse cuando hay repeticin con una celda de la misma fila/columna y que adems est en el mismo panel.
-						if (!repetidos.contains(celda)) {
-							repetidos.add(celda);
-						}
-					}
-				}
+	private void actualizar_conflicto_si_corresponde(int celda, int actualizada, int valor_anterior) {
+		int valor = celdas[celda] & VALOR;
+		if (celda != actualizada && valor != 0 && (valor == valor_anterior || valor == (celdas[actualizada] & VALOR))) {
+			actualizar_conflicto(celda);
+		}
+	}
+	
+	//Recalcula si la celda est en conflicto y, solo si su estado cambi, avisa a los oyentes.
+	private void actualizar_conflicto(int celda) {
+		boolean en_conflicto = tiene_repetidos(celda);
+		if (en_conflicto != ((celdas[celda] & EN_CONFLICTO) != 0)) {
+			celdas[celda] ^= EN_CONFLICTO;
+			cant_en_conflicto += en_conflicto ? 1 : -1;
+			for (OyenteJuego oyente : oyentes) {
+				oyente.conflictoActualizado(celda / dimension, celda % dimension, en_conflicto);
 			}
 		}
 	}
 	
+	//Los paneles se numeran de izquierda a derecha y de arriba hacia abajo.
+	private int getPanel(int fila, int columna) {
+		return (fila / tam_panel) * tam_panel + columna / tam_panel;
+	}
+	
+	/**
+	 * Indica cmo se decide si un tablero completo est bien resuelto.
+	 * Por defecto se lo compara con la solucin del juego. Por reglas, se acepta cualquier tablero completo que no repita valores
+	 * en ninguna fila, columna o panel (aunque sea distinto de la solucin guardada).
+	 * @param por_reglas True para comprobar por reglas, false para comparar con la solucin del juego.
+	 */
+	public void setComprobarPorReglas(boolean por_reglas) {
+		comprobar_por_reglas = por_reglas;
+	}
+	
+	/**
+	 * Devuelve la cantidad de celdas que todava no tienen valor.
+	 * @return La cantidad de celdas vacas.
+	 */
+	public int getCantidadCeldasVacias() {
+		return cant_vacias;
+	}
+	
+	/**
+	 * Devuelve la cantidad de celdas cuyo valor se repite en su fila, columna o panel.
+	 * @return La cantidad de celdas en conflicto.
+	 */
+	public int getCantidadCeldasEnConflicto() {
+		return cant_en_conflicto;
+	}
+	
+	/**
+	 * Crea un paso vaco, apto para pedirAyuda.
+	 * @return Un paso nuevo para el tablero de este juego.
+	 */
+	public PasoResolucion crearPaso() {
+		if (ayudas == null) {
+			ayudas = new MotorAyudas(tam_panel);
+		}
+		return ayudas.crearPaso();
+	}
+	
+	/**
+	 * Busca una ayuda para el jugador: el siguiente valor a ubicar o candidatos a descartar, con la tcnica ms sencilla que permite avanzar
+	 * y las celdas que lo justifican. Se trabaja sobre los valores actuales del tablero, sin consultar la solucin guardada.
+	 * Las ayudas de descarte se recuerdan, as la siguiente ayuda avanza (hasta que se borre o cambie algn valor).
+	 * @param paso Paso en el que se almacena la ayuda (ver crearPaso).
+	 * @return PASO si se encontr una ayuda, o el motivo por el que no la hay (ej.: el jugador ya eligi algn valor incorrecto).
+	 */
+	public ResultadoAyuda pedirAyuda(PasoResolucion paso) {
+		if (ayudas == null) {
+			ayudas = new MotorAyudas(tam_panel);
+		}
+		return ayudas.pedir(this, paso);
+	}
+	
 	/**
-	 * Compara el tablero con el que viene jugando el usuario contra el tablero que contiene el juego original.
-	 * Hay tres resultados posibles:
+	 * Comprueba el tablero con el que viene jugando el usuario. Hay tres resultados posibles:
 	 * - INCOMPLETO: si hay al menos una celda que el usuario dej sin elegir nmero.
 	 * - DISTINTOS: si el usuario complet el tablero pero no con la solucin correcta.
 	 * - IGUALES: el usuario resolvi correctamente el juego.
-	 * @return Una cadena de texto que contiene el resultado de la comprobacin del juego. 
+	 * Se responde en tiempo constante a partir de contadores que se mantienen con cada cambio de una celda.
+	 * @return El resultado de la comprobacin del juego.
 	 */
-	public String comprobar_resolucion() {
-		boolean iguales = true;
-		String resultado = "";
-		int i = 0, j;
-		
-		while (i < dimension && iguales) {
-			j = 0;
-			while (j < dimension && iguales) {
-				if (tablero_para_GUI[i][j].getValor() == 0) {
-					iguales = false;
-					resultado = "INCOMPLETO";
-				}
-				else {
-					if (tablero_para_GUI[i][j].getValor() != tablero[i][j]) {
-						iguales = false;
-						resultado = "DISTINTOS";
-					}
-				}
-				j++;
-			}
-			i++;
+	public ResultadoComprobacion comprobar_resolucion() {
+		if (cant_vacias > 0) {
+			return ResultadoComprobacion.INCOMPLETO;
 		}
-		if (iguales) {
-			resultado = "IGUALES";
+		if (comprobar_por_reglas ? cant_en_conflicto > 0 : cant_distintas > 0) {
+			return ResultadoComprobacion.DISTINTOS;
 		}
-		return resultado;
+		return ResultadoComprobacion.IGUALES;
 	} //comprobar_resolucion
 	
 }
\ No newline at end of file
@@ -0,0 +1,224 @@
+package logica;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/*
+ * Se aceptan dos formatos:
+ * - Por filas: DIMENSION lneas con DIMENSION nmeros cada una, separados por espacios. Si una lnea o el archivo tienen
+ *   contenido extra no importa (se ignora), lo que importa es tener al menos DIMENSION filas y DIMENSION columnas correctas.
+ * - En una lnea: DIMENSION x DIMENSION caracteres seguidos, un dgito por celda (solo para tableros de hasta 9 x 9).
+ * En ambos formatos, si se permiten celdas vacas, se indican con 0 (o con '.' en el formato de una lnea).
+ * Un mismo archivo puede contener varios tableros seguidos, separados o no por lneas en blanco.
+ *
+ * Los bytes se leen directamente de a bloques, sin pasar por Scanner ni crear cadenas de texto por cada lnea o nmero.
+ */
+
+/**
+ * Interpreta tableros de juego a partir de un flujo de bytes (por ejemplo, un archivo de texto).
+ * @author Dario A. Leal
+ */
+public class LectorTableros implements Closeable {
+
+	private static final String ERROR_FUERA_DE_RANGO = "error : text file : \"Juego con valores fuera de rango.\"";
+	private static final String ERROR_FALTAN_NUMEROS = "error : text file : \"Faltan nmeros para el tablero de juego.\"";
+	private static final String ERROR_CARACTER_INVALIDO = "error : text file : \"El archivo contiene caracteres invlidos.\"";
+	private static final String ERROR_LECTURA = "error : text file : \"Error al recuperar el tablero de juego.\"";
+
+	private InputStream entrada;
+	private int dimension;
+	private boolean permitir_vacias;
+	private byte[] buffer; //Bloque de bytes ledo del flujo.
+	private int pos, lim;
+	private byte[] linea; //Lnea actual, sin el fin de lnea. Se agranda si hace falta.
+	private int largo_linea;
+
+	/**
+	 * Constructor. Crea un lector de tableros de DIMENSION x DIMENSION a partir del flujo recibido.
+	 * @param entrada Flujo de bytes del que se leen los tableros.
+	 * @param dimension Dimensin de los tableros a leer.
+	 * @param permitir_vacias True si las celdas pueden estar vacas (valor 0), false si todas las celdas deben tener un valor.
+	 */
+	public LectorTableros(InputStream entrada, int dimension, boolean permitir_vacias) {
+		this.entrada = entrada;
+		this.dimension = dimension;
+		this.permitir_vacias = permitir_vacias;
+		buffer = new byte[1 << 16];
+		linea = new byte[256];
+	}
+
+	/**
+	 * Lee el siguiente tablero del flujo y lo devuelve en una matriz nueva.
+	 * @return Una matriz de DIMENSION x DIMENSION con el tablero ledo, o null si el flujo no contiene ms tableros.
+	 * @throws TextFileException Si el tablero ledo tiene valores fuera de rango, le faltan nmeros o no puede leerse.
+	 */
+	public int[][] leerMatriz() throws TextFileException {
+		int[] grilla = new int[dimension * dimension];
+		if (!leer(grilla)) {
+			return null;
+		}
+		int[][] matriz = new int[dimension][dimension];
+		for (int i = 0; i < dimension; i++) {
+			System.arraycopy(grilla, i * dimension, matriz[i], 0, dimension);
+		}
+		return matriz;
+	}
+
+	/**
+	 * Lee el siguiente tablero del flujo, sin crear estructuras nuevas.
+	 * @param destino Arreglo de al menos DIMENSION x DIMENSION componentes, donde se almacena el tablero ledo recorrido por filas.
+	 * @return True si se ley un tablero, false si el flujo no contiene ms tableros.
+	 * @throws TextFileException Si el tablero ledo tiene valores fuera de rango, le faltan nmeros o no puede leerse.
+	 */
+	public boolean leer(int[] destino) throws TextFileException {
+		//Las lneas en blanco entre tableros se ignoran.
+		do {
+			if (!leerLinea()) {
+				return false;
+			}
+		} while (esLineaEnBlanco());
+
+		if (dimension <= 9 && largoPrimerNumero() >= dimension * dimension) {
+			leerFormatoUnaLinea(destino);
+			return true;
+		}
+
+		for (int fila = 0; fila < dimension; fila++) {
+			if (fila > 0 && !leerLinea()) {
+				throw new TextFileException(ERROR_FALTAN_NUMEROS);
+			}
+			leerFila(destino, fila * dimension);
+		}
+		return true;
+	}
+
+	/**
+	 * Cierra el flujo del que se leen los tableros.
+	 * @throws IOException Si hay un error al cerrar el flujo.
+	 */
+	@Override
+	public void close() throws IOException {
+		entrada.close();
+	}
+
+	//Recupera DIMENSION nmeros de la lnea actual a partir de la posicin inicio del destino. Los nmeros extra se ignoran.
+	private void leerFila(int[] destino, int inicio) throws TextFileException {
+		int col = 0, k = 0, numero;
+		byte b;
+		while (k < largo_linea && col < dimension) {
+			b = linea[k];
+			if (b == ' ' || b == '\t') {
+				k++;
+			}
+			else {
+				if (b < '0' || b > '9') {
+					throw new TextFileException(ERROR_CARACTER_INVALIDO);
+				}
+				numero = 0;
+				while (k < largo_linea && linea[k] >= '0' && linea[k] <= '9') {
+					if (numero <= dimension) { //Pasado ese valor ya est fuera de rango, as se evita desbordar.
+						numero = numero * 10 + (linea[k] - '0');
+					}
+					k++;
+				}
+				if (k < largo_linea && linea[k] != ' ' && linea[k] != '\t') {
+					throw new TextFileException(ERROR_CARACTER_INVALIDO);
+				}
+				destino[inicio + col] = validar(numero);
+				col++;
+			}
+		}
+
+		//Al terminar de recorrer una lnea controlo haber obtenido la cantidad de nmeros (columnas) correspondientes.
+		if (col < dimension) {
+			throw new TextFileException(ERROR_FALTAN_NUMEROS);
+		}
+	}
+
+	//Recupera el tablero completo de la lnea actual, a razn de un caracter por celda.
+	private void leerFormatoUnaLinea(int[] destino) throws TextFileException {
+		int inicio = 0;
+		byte b;
+		while (linea[inicio] == ' ' || linea[inicio] == '\t') {
+			inicio++;
+		}
+		for (int k = 0; k < dimension * dimension; k++) {
+			b = linea[inicio + k];
+			destino[k] = validar(b == '.' ? 0 : b - '0');
+		}
+	}
+
+	private int validar(int numero) throws TextFileException {
+		if ((numero < 1 || numero > dimension) && !(numero == 0 && permitir_vacias)) {
+			throw new TextFileException(ERROR_FUERA_DE_RANGO);
+		}
+		return numero;
+	}
+
+	//Devuelve la cantidad de caracteres seguidos que forman el primer nmero de la lnea actual ('.' cuenta como un dgito).
+	private int largoPrimerNumero() {
+		int k = 0, largo = 0;
+		while (k < largo_linea && (linea[k] == ' ' || linea[k] == '\t')) {
+			k++;
+		}
+		while (k < largo_linea && ((linea[k] >= '0' && linea[k] <= '9') || linea[k] == '.')) {
+			k++;
+			largo++;
+		}
+		return largo;
+	}
+
+	private boolean esLineaEnBlanco() {
+		for (int k = 0; k < largo_linea; k++) {
+			if (linea[k] != ' ' && linea[k] != '\t') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	//Copia la siguiente lnea del flujo al arreglo linea, sin el fin de lnea ("\n" o "\r\n").
+	//Devuelve false si el flujo no tiene ms contenido.
+	private boolean leerLinea() throws TextFileException {
+		byte b;
+		largo_linea = 0;
+		if (pos == lim && !cargarBuffer()) {
+			return false;
+		}
+		while (true) {
+			if (pos == lim && !cargarBuffer()) {
+				break;
+			}
+			b = buffer[pos++];
+			if (b == '\n') {
+				break;
+			}
+			if (largo_linea == linea.length) {
+				byte[] nueva = new byte[linea.length * 2];
+				System.arraycopy(linea, 0, nueva, 0, largo_linea);
+				linea = nueva;
+			}
+			linea[largo_linea++] = b;
+		}
+		if (largo_linea > 0 && linea[largo_linea - 1] == '\r') {
+			largo_linea--;
+		}
+		return true;
+	}
+
+	private boolean cargarBuffer() throws TextFileException {
+		try {
+			lim = entrada.read(buffer, 0, buffer.length);
+		} catch (IOException ex) {
+			throw new TextFileException(ERROR_LECTURA);
+		}
+		pos = 0;
+		if (lim < 0) {
+			lim = 0;
+			return false;
+		}
+		return true;
+	}
+
+}
\ No newline at end of file
@@ -2,6 +2,8 @@ package logica;
 
 /*
  * Almacena los dgitos que componen una hora en un arreglo de 6 elementos. No se incluye el separador ":" en ese arreglo.
+ * El tiempo transcurrido se mide con System.nanoTime() y no contando actualizaciones, as no se atrasa si el timer que
+ * lo actualiza se demora. Mientras el reloj est pausado el tiempo no avanza.
  */
 
 /**
@@ -11,23 +13,19 @@ package logica;
 public class LogicaReloj {
 
 	/**
-	 * Modela un dgito correspondiente al reloj, almacenando su valor y su imagen (entidad grfica) asociada.
-	 * Si el valor almacenado es un nmero entre 0 y 9, la imagen asociada es una imagen de ese nmero.
-	 * Si valor = 10, la imagen asociada es la del smbolo separador ":"
+	 * Modela un dgito correspondiente al reloj, almacenando su valor.
+	 * El valor es un nmero entre 0 y 9, o 10 para el smbolo separador ":". Su imagen la elige quien muestra el reloj (ver gui.EntidadGraficaReloj).
 	 * @author Dario A. Leal
 	 */
 	public class DigitoReloj {
 		private int valor;
-		private EntidadGraficaReloj entidad_grafica_digito_reloj;
 		
 		/**
-		 * Constructor. Crea la estructura para almacenar un dgito del reloj y su entidad grfica asociada.
+		 * Constructor. Crea la estructura para almacenar un dgito del reloj.
 		 * @param valor Valor del dgito a almacenar.
 		 */
 		public DigitoReloj(int valor) {
 			this.valor = valor;
-			entidad_grafica_digito_reloj = new EntidadGraficaReloj();
-			entidad_grafica_digito_reloj.setImagen(this.valor);
 		}
 		
 		/**
@@ -36,7 +34,6 @@ public class LogicaReloj {
 		 */
 		public void actualizar_digito(int valor) {
 			this.valor = valor;
-			entidad_grafica_digito_reloj.setImagen(valor);
 			/*
 			Si dejamos la actualizacin automtica como en CeldaTablero pasaramos siempre de 9 a 0
 			y hay casos en los que eso es un error (las decenas de minutos y segundos), donde hay que
@@ -51,57 +48,111 @@ public class LogicaReloj {
 		public int getValor() {
 			return valor;
 		}
-		
-		/**
-		 * Devuelve la entidad grfica almacenada por el dgito.
-		 * @return La entidad grfica almacenada por el dgito.
-		 */
-		public EntidadGraficaReloj getEntidadGraficaDigitoReloj() {
-			return entidad_grafica_digito_reloj;
-		}
 	} //clase anidada DigitoReloj
 	
-	private int hs, min, seg;
 	private DigitoReloj[] estado_interno_reloj;
 	private DigitoReloj simbolo_dos_puntos;
+	private long acumulado_nanos; //Tiempo transcurrido hasta la ltima pausa.
+	private long inicio_nanos; //Momento en que se inici o reanud el reloj por ltima vez.
+	private boolean corriendo;
 	
 	/**
 	 * Constructor. Crea la estructura interna para almacenar la informacin relacionada al reloj del juego.
+	 * El reloj se crea pausado, marcando 00:00:00.
 	 */
 	public LogicaReloj() {
-		hs = min = seg = 0;
 		estado_interno_reloj = new DigitoReloj[6];
 		for (int i = 0; i < 6; i++) {
 			estado_interno_reloj[i] = new DigitoReloj(0);
 		}
 		simbolo_dos_puntos = new DigitoReloj(10);
+		acumulado_nanos = 0;
+		corriendo = false;
 	}
 	
 	/**
-	 * Actualiza el estado interno del reloj (sus valores y respectivas entidades grficas asociadas). 
+	 * Vuelve el reloj a 00:00:00, pausado, reutilizando sus dgitos.
 	 */
-	public void actualizar_reloj() {
-		if (seg < 59) {
-			seg++;
-		}	
-		else {
-			if (min < 59) {
-				min++;
-				seg = 0;
-			}
-			else {
-				hs++;
-				min = 0;
-				seg = 0;
-			}
+	public void reiniciar() {
+		acumulado_nanos = 0;
+		corriendo = false;
+		for (int i = 0; i < 6; i++) {
+			estado_interno_reloj[i].actualizar_digito(0);
 		}
-		
-		estado_interno_reloj[0].actualizar_digito(hs / 10);
-		estado_interno_reloj[1].actualizar_digito(hs % 10);
-		estado_interno_reloj[2].actualizar_digito(min / 10);
-		estado_interno_reloj[3].actualizar_digito(min % 10);
-		estado_interno_reloj[4].actualizar_digito(seg / 10);
-		estado_interno_reloj[5].actualizar_digito(seg % 10);
+	}
+	
+	/**
+	 * Inicia el reloj, o lo reanuda si estaba pausado. Si ya estaba corriendo no tiene efecto.
+	 */
+	public void reanudar() {
+		if (!corriendo) {
+			inicio_nanos = System.nanoTime();
+			corriendo = true;
+		}
+	}
+	
+	/**
+	 * Pausa el reloj. Si ya estaba pausado no tiene efecto.
+	 */
+	public void pausar() {
+		if (corriendo) {
+			acumulado_nanos += System.nanoTime() - inicio_nanos;
+			corriendo = false;
+		}
+	}
+	
+	/**
+	 * Devuelve el tiempo de juego transcurrido, sin contar los perodos en que el reloj estuvo pausado.
+	 * @return El tiempo transcurrido, en nanosegundos.
+	 */
+	public long getTiempoTranscurrido() {
+		return corriendo ? acumulado_nanos + System.nanoTime() - inicio_nanos : acumulado_nanos;
+	}
+	
+	/**
+	 * Fija el tiempo de juego transcurrido, por ejemplo al retomar un juego guardado. Si el reloj est corriendo, sigue corriendo desde ese tiempo.
+	 * Los dgitos se actualizan con la siguiente invocacin a actualizar_reloj.
+	 * @param nanos Tiempo transcurrido, en nanosegundos.
+	 */
+	public void setTiempoTranscurrido(long nanos) {
+		acumulado_nanos = nanos;
+		inicio_nanos = System.nanoTime();
+	}
+	
+	/**
+	 * Actualiza el estado interno del reloj (los valores de sus dgitos) segn el tiempo transcurrido.
+	 * Solo se actualizan los dgitos cuyo valor cambi.
+	 * @return Una mscara de bits que indica qu dgitos cambiaron: el bit i corresponde al dgito i, desde la decena de las horas (0) hasta la unidad de los segundos (5).
+	 */
+	public int actualizar_reloj() {
+		long total = getSegundosTotales(); //Se consulta una sola vez, as los 6 dgitos corresponden al mismo instante.
+		int hs = (int) (total / 3600), min = (int) (total / 60 % 60), seg = (int) (total % 60);
+		int cambios = 0;
+		cambios |= actualizar_digito(0, (hs / 10) % 10); //Pasadas las 99 horas solo se muestran las 2 ltimas cifras.
+		cambios |= actualizar_digito(1, hs % 10);
+		cambios |= actualizar_digito(2, min / 10);
+		cambios |= actualizar_digito(3, min % 10);
+		cambios |= actualizar_digito(4, seg / 10);
+		cambios |= actualizar_digito(5, seg % 10);
+		return cambios;
+	}
+	
+	//Actualiza el dgito de la posicin recibida solo si su valor cambi. Devuelve el bit de esa posicin si cambi, 0 en caso contrario.
+	private int actualizar_digito(int posicion, int valor) {
+		if (estado_interno_reloj[posicion].getValor() == valor) {
+			return 0;
+		}
+		estado_interno_reloj[posicion].actualizar_digito(valor);
+		return 1 << posicion;
+	}
+	
+	/**
+	 * Devuelve el dgito ubicado en la posicin recibida.
+	 * @param posicion Posicin del dgito, desde la decena de las horas (0) hasta la unidad de los segundos (5).
+	 * @return El dgito ubicado en la posicin recibida.
+	 */
+	public DigitoReloj getDigito(int posicion) {
+		return estado_interno_reloj[posicion];
 	}
 	
 	/**
@@ -161,27 +212,31 @@ public class LogicaReloj {
 	}
 
 	/**
-	 * Devuelve el valor del atributo que representa las horas del reloj.
-	 * @return El valor del atributo que representa las horas del reloj.
+	 * Devuelve las horas completas de tiempo transcurrido.
+	 * @return Las horas completas de tiempo transcurrido.
 	 */
 	public int getHoras() {
-		return hs;
+		return (int) (getSegundosTotales() / 3600);
 	}
 	
 	/**
-	 * Devuelve el valor del atributo que representa los minutos del reloj.
-	 * @return El valor del atributo que representa los minutos del reloj.
+	 * Devuelve los minutos de tiempo transcurrido, sin contar las horas completas (entre 0 y 59).
+	 * @return Los minutos de tiempo transcurrido, sin contar las horas completas.
 	 */
 	public int getMinutos() {
-		return min;
+		return (int) (getSegundosTotales() / 60 % 60);
 	}
 	
 	/**
-	 * Devuelve el valor del atributo que representa los segundos del reloj.
-	 * @return El valor del atributo que representa los segundos del reloj.
+	 * Devuelve los segundos de tiempo transcurrido, sin contar los minutos completos (entre 0 y 59).
+	 * @return Los segundos de tiempo transcurrido, sin contar los minutos completos.
 	 */
 	public int getSegundos() {
-		return seg;
+		return (int) (getSegundosTotales() % 60);
+	}
+	
+	private long getSegundosTotales() {
+		return getTiempoTranscurrido() / 1000000000L;
 	}
 	
 }
\ No newline at end of file
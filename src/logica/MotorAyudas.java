@@ -0,0 +1,115 @@
+package logica;
+
+import java.util.Arrays;
+
+/*
+ * La ayuda se busca sobre el tablero tal como lo tiene el jugador, no sobre la solucin guardada en el juego.
+ * Antes de buscarla se controla que el tablero no tenga repetidos y que todava tenga solucin (con el Solucionador,
+ * acotado en cantidad de nodos para los tableros grandes). Si el jugador ya se equivoc, cualquier deduccin a partir de sus valores
+ * podra ser incorrecta, as que en lugar de una ayuda se le avisa que hay un error.
+ * La solucin encontrada se recuerda: mientras los valores del tablero coincidan con ella, el tablero sigue teniendo solucin
+ * y no hace falta volver a resolverlo. As, en una partida sin errores el Solucionador se usa una sola vez.
+ * Si la bsqueda se interrumpe por el lmite de nodos (tableros grandes con muchas celdas vacas), no se sabe si hay solucin:
+ * la ayuda se busca igual y no se vuelve a intentar hasta que se borre o cambie un valor, as cada pedido sigue siendo rpido.
+ * Los candidatos descartados por ayudas anteriores se recuerdan, as la siguiente ayuda avanza en lugar de repetir el mismo descarte.
+ * Un descarte sigue siendo vlido mientras solo se agreguen valores al tablero; si se borra o cambia un valor, se olvidan todos (ver olvidar).
+ */
+
+/**
+ * Busca ayudas para el jugador: el siguiente paso que puede deducirse con las tcnicas de resolucin (ver MotorTecnicas).
+ * @author Dario A. Leal
+ */
+class MotorAyudas {
+
+	//Mxima cantidad de valores a probar al controlar si el tablero tiene solucin. Si no alcanza, se busca la ayuda de todas formas.
+	private static final long LIMITE_NODOS = 20000;
+
+	private MotorTecnicas motor;
+	private Solucionador solucionador;
+	private int[] grilla;
+	private int[] solucion; //ltima solucin encontrada para el tablero del jugador.
+	private boolean hay_solucion; //False si todava no se busc, o si la ltima bsqueda no la encontr.
+	private boolean busqueda_interrumpida; //True si la ltima bsqueda alcanz el lmite de nodos.
+	private int[] descartes; //Candidatos descartados por ayudas anteriores, por celda (el bit v-1 representa al valor v).
+	private boolean hay_descartes; //False si ninguna celda tiene descartes.
+
+	MotorAyudas(int tam_panel) {
+		motor = new MotorTecnicas(tam_panel);
+		solucionador = new Solucionador(tam_panel);
+		solucionador.setLimiteNodos(LIMITE_NODOS);
+		grilla = new int[motor.getDimension() * motor.getDimension()];
+		solucion = new int[grilla.length];
+		descartes = new int[grilla.length];
+	}
+
+	/**
+	 * Busca la ayuda para el estado actual del juego.
+	 * @param juego Juego para el que se busca la ayuda.
+	 * @param paso Paso en el que se almacena la ayuda, si se encontr.
+	 * @return PASO si se encontr una ayuda, o el motivo por el que no la hay.
+	 */
+	ResultadoAyuda pedir(Juego juego, PasoResolucion paso) {
+		if (juego.getCantidadCeldasEnConflicto() > 0) {
+			return ResultadoAyuda.CON_REPETIDOS;
+		}
+		if (juego.getCantidadCeldasVacias() == 0) {
+			return ResultadoAyuda.COMPLETO;
+		}
+		juego.copiarValores(grilla);
+		if (!busqueda_interrumpida && (!hay_solucion || !coincide_con_solucion())) {
+			System.arraycopy(grilla, 0, solucion, 0, grilla.length);
+			hay_solucion = solucionador.resolver(solucion);
+			busqueda_interrumpida = solucionador.fueInterrumpida();
+			if (!hay_solucion && !busqueda_interrumpida) {
+				return ResultadoAyuda.SIN_SOLUCION;
+			}
+		}
+		motor.cargar(grilla);
+		for (int celda = 0; celda < descartes.length; celda++) {
+			if (descartes[celda] != 0) {
+				motor.descartar(celda, descartes[celda]);
+			}
+		}
+		if (!motor.buscarPaso(paso)) {
+			return ResultadoAyuda.SIN_TECNICA;
+		}
+		for (int k = 0; k < paso.getCantidadDescartes(); k++) {
+			descartes[paso.getCeldaConDescarte(k)] |= paso.getValoresDescartados(k);
+			hay_descartes = true;
+		}
+		return ResultadoAyuda.PASO;
+	}
+
+	private boolean coincide_con_solucion() {
+		for (int celda = 0; celda < grilla.length; celda++) {
+			if (grilla[celda] != 0 && grilla[celda] != solucion[celda]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	//Se invoca cuando se borra o cambia un valor del tablero: los descartes anteriores pueden dejar de ser vlidos,
+	//y si la ltima bsqueda de la solucin se interrumpi, vale la pena volver a intentarla.
+	void olvidar() {
+		if (hay_descartes) {
+			Arrays.fill(descartes, 0);
+			hay_descartes = false;
+		}
+		busqueda_interrumpida = false;
+	}
+
+	//Candidatos de la celda descartados por ayudas anteriores (el bit v-1 representa al valor v).
+	int getDescartes(int celda) {
+		return descartes[celda];
+	}
+
+	boolean hayDescartes() {
+		return hay_descartes;
+	}
+
+	PasoResolucion crearPaso() {
+		return motor.crearPaso();
+	}
+
+}
\ No newline at end of file
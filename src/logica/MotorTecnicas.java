@@ -0,0 +1,464 @@
+package logica;
+
+import java.util.Arrays;
+
+/*
+ * Trabaja sobre un tablero compacto, como el Solucionador: los valores en un arreglo recorrido por filas (0 indica una celda vaca)
+ * y, para cada celda vaca, una mscara con sus candidatos (el bit v-1 representa al valor v). A diferencia del Solucionador,
+ * los candidatos se guardan por celda: los descartes de tcnicas como los pares o el X-Wing no se deducen de los valores ubicados,
+ * as que hay que recordarlos.
+ * Las 3 x DIMENSION unidades (filas, columnas y paneles) se precalculan como listas de celdas, as todas las tcnicas recorren
+ * una unidad de la misma forma. En una fila, la posicin i es la columna i, y en una columna, la posicin i es la fila i.
+ * Cada tcnica se busca en todo el tablero antes de pasar a la siguiente, as el paso encontrado es siempre el de la tcnica
+ * ms sencilla que permite avanzar. Ninguna bsqueda crea estructuras nuevas.
+ */
+
+/**
+ * Resuelve un juego paso a paso con las tcnicas que usara una persona (ver Tecnica), sin probar valores.
+ * @author Dario A. Leal
+ */
+public class MotorTecnicas {
+
+	private int dimension;
+	private int cant_celdas;
+	private int completo; //Mscara con un bit por cada valor posible.
+	private int[] fila_de, columna_de, panel_de; //Coordenadas precalculadas de cada celda.
+	private int[][] unidades; //Filas en [0, DIMENSION), columnas en [DIMENSION, 2 x DIMENSION) y paneles en [2 x DIMENSION, 3 x DIMENSION).
+	private int[] valores;
+	private int[] candidatos; //0 en las celdas con valor.
+	private int cant_vacias;
+	private int[] posiciones; //Para cada valor (o lnea, en el X-Wing), posiciones de una unidad en las que es candidato (el bit i representa a la posicin i).
+	private int[] celdas_aux; //Celdas vacas de una unidad que pueden formar un par o un tro.
+	private int[] en_fila, en_columna, en_panel; //Valores ubicados en cada fila, columna y panel, mientras se carga un tablero.
+
+	/**
+	 * Constructor. Crea un motor para tableros con paneles de tam_panel x tam_panel celdas.
+	 * @param tam_panel Cantidad de filas (y columnas) de un panel, entre 2 y 5.
+	 */
+	public MotorTecnicas(int tam_panel) {
+		dimension = tam_panel * tam_panel;
+		cant_celdas = dimension * dimension;
+		completo = (1 << dimension) - 1;
+		fila_de = new int[cant_celdas];
+		columna_de = new int[cant_celdas];
+		panel_de = new int[cant_celdas];
+		unidades = new int[3 * dimension][dimension];
+		int[] cant_en_panel = new int[dimension];
+		for (int celda = 0; celda < cant_celdas; celda++) {
+			fila_de[celda] = celda / dimension;
+			columna_de[celda] = celda % dimension;
+			panel_de[celda] = (fila_de[celda] / tam_panel) * tam_panel + columna_de[celda] / tam_panel;
+			unidades[fila_de[celda]][columna_de[celda]] = celda;
+			unidades[dimension + columna_de[celda]][fila_de[celda]] = celda;
+			unidades[2 * dimension + panel_de[celda]][cant_en_panel[panel_de[celda]]++] = celda;
+		}
+		valores = new int[cant_celdas];
+		candidatos = new int[cant_celdas];
+		posiciones = new int[dimension];
+		celdas_aux = new int[dimension];
+		en_fila = new int[dimension];
+		en_columna = new int[dimension];
+		en_panel = new int[dimension];
+	}
+
+	/**
+	 * Carga un tablero. Los candidatos de cada celda vaca son los valores que no estn en su fila, columna ni panel.
+	 * @param grilla Tablero recorrido por filas, con 0 en las celdas vacas. No se modifica.
+	 */
+	public void cargar(int[] grilla) {
+		int bit;
+		Arrays.fill(en_fila, 0);
+		Arrays.fill(en_columna, 0);
+		Arrays.fill(en_panel, 0);
+		cant_vacias = 0;
+		for (int celda = 0; celda < cant_celdas; celda++) {
+			valores[celda] = grilla[celda];
+			if (grilla[celda] != 0) {
+				bit = 1 << (grilla[celda] - 1);
+				en_fila[fila_de[celda]] |= bit;
+				en_columna[columna_de[celda]] |= bit;
+				en_panel[panel_de[celda]] |= bit;
+			}
+			else {
+				cant_vacias++;
+			}
+		}
+		for (int celda = 0; celda < cant_celdas; celda++) {
+			candidatos[celda] = valores[celda] != 0 ? 0 : completo & ~(en_fila[fila_de[celda]] | en_columna[columna_de[celda]] | en_panel[panel_de[celda]]);
+		}
+	}
+
+	/**
+	 * Descarta candidatos de una celda, por ejemplo los que ya se descartaron en pasos anteriores sobre el mismo tablero.
+	 * @param celda ndice de la celda (fila x DIMENSION + columna).
+	 * @param valores Mscara de bits con los valores a descartar (el bit v-1 representa al valor v).
+	 */
+	public void descartar(int celda, int valores) {
+		candidatos[celda] &= ~valores;
+	}
+
+	/**
+	 * Crea un paso vaco, apto para buscarPaso.
+	 * @return Un paso nuevo para tableros de la dimensin del motor.
+	 */
+	public PasoResolucion crearPaso() {
+		return new PasoResolucion(cant_celdas);
+	}
+
+	/**
+	 * Devuelve la dimensin de los tableros con los que trabaja el motor.
+	 * @return Dimensin de los tableros con los que trabaja el motor.
+	 */
+	public int getDimension() {
+		return dimension;
+	}
+
+	/**
+	 * Devuelve el valor de una celda.
+	 * @param celda ndice de la celda (fila x DIMENSION + columna).
+	 * @return El valor de la celda, o 0 si est vaca.
+	 */
+	public int getValor(int celda) {
+		return valores[celda];
+	}
+
+	/**
+	 * Devuelve los candidatos que le quedan a una celda, luego de los descartes de los pasos aplicados.
+	 * @param celda ndice de la celda (fila x DIMENSION + columna).
+	 * @return Mscara de bits con los candidatos (el bit v-1 representa al valor v), o 0 si la celda tiene un valor.
+	 */
+	public int getCandidatos(int celda) {
+		return candidatos[celda];
+	}
+
+	/**
+	 * Indica si el tablero est completo.
+	 * @return True si no quedan celdas vacas.
+	 */
+	public boolean estaResuelto() {
+		return cant_vacias == 0;
+	}
+
+	/**
+	 * Indica si el tablero ya no puede completarse: hay un valor repetido en una fila, columna o panel, una celda vaca sin candidatos,
+	 * o un valor que no tiene lugar en alguna fila, columna o panel.
+	 * @return True si el tablero tiene una contradiccin.
+	 */
+	public boolean hayContradiccion() {
+		int presentes, posibles, bit;
+		for (int u = 0; u < 3 * dimension; u++) {
+			presentes = posibles = 0;
+			for (int celda : unidades[u]) {
+				if (valores[celda] != 0) {
+					bit = 1 << (valores[celda] - 1);
+					if ((presentes & bit) != 0) {
+						return true;
+					}
+					presentes |= bit;
+				}
+				else if (candidatos[celda] == 0) {
+					return true;
+				}
+				posibles |= candidatos[celda];
+			}
+			if ((presentes | posibles) != completo) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Busca el siguiente paso, con la tcnica ms sencilla que permita avanzar (en el orden de Tecnica). El tablero no se modifica.
+	 * @param paso Paso en el que se almacena el paso encontrado (ver crearPaso).
+	 * @return True si se encontr un paso, false si ninguna tcnica permite avanzar (o el tablero est completo).
+	 */
+	public boolean buscarPaso(PasoResolucion paso) {
+		return simple_oculto(paso)
+				|| simple_desnudo(paso)
+				|| interseccion(paso)
+				|| subconjunto_desnudo(paso, 2, Tecnica.PAR_DESNUDO)
+				|| par_oculto(paso)
+				|| subconjunto_desnudo(paso, 3, Tecnica.TRIO_DESNUDO)
+				|| x_wing(paso);
+	}
+
+	/**
+	 * Aplica un paso encontrado con buscarPaso: ubica su valor o descarta sus candidatos.
+	 * @param paso Paso a aplicar.
+	 */
+	public void aplicar(PasoResolucion paso) {
+		if (paso.esUbicacion()) {
+			ubicar(paso.getCelda(), paso.getValor());
+		}
+		for (int k = 0; k < paso.getCantidadDescartes(); k++) {
+			candidatos[paso.getCeldaConDescarte(k)] &= ~paso.getValoresDescartados(k);
+		}
+	}
+
+	//Ubica el valor en la celda y lo descarta de las dems celdas de su fila, columna y panel.
+	private void ubicar(int celda, int valor) {
+		int bit = 1 << (valor - 1);
+		valores[celda] = valor;
+		candidatos[celda] = 0;
+		cant_vacias--;
+		for (int otra : unidades[fila_de[celda]]) {
+			candidatos[otra] &= ~bit;
+		}
+		for (int otra : unidades[dimension + columna_de[celda]]) {
+			candidatos[otra] &= ~bit;
+		}
+		for (int otra : unidades[2 * dimension + panel_de[celda]]) {
+			candidatos[otra] &= ~bit;
+		}
+	}
+
+	//Un valor que es candidato en una sola celda de una unidad (y no est ubicado en ella) va en esa celda.
+	private boolean simple_oculto(PasoResolucion paso) {
+		int presentes, una_vez, mas_de_una_vez, unicos, bit;
+		for (int u = 0; u < 3 * dimension; u++) {
+			presentes = una_vez = mas_de_una_vez = 0;
+			for (int celda : unidades[u]) {
+				if (valores[celda] != 0) {
+					presentes |= 1 << (valores[celda] - 1);
+				}
+				else {
+					mas_de_una_vez |= una_vez & candidatos[celda];
+					una_vez |= candidatos[celda];
+				}
+			}
+			unicos = una_vez & ~mas_de_una_vez & ~presentes;
+			if (unicos != 0) {
+				bit = unicos & -unicos;
+				paso.iniciar(Tecnica.SIMPLE_OCULTO);
+				for (int celda : unidades[u]) {
+					if ((candidatos[celda] & bit) != 0) {
+						paso.setUbicacion(celda, Integer.numberOfTrailingZeros(bit) + 1);
+					}
+					paso.agregarInvolucrada(celda);
+				}
+				return true;
+			}
+		}
+		return false;
+	}
+
+	//Una celda con un nico candidato.
+	private boolean simple_desnudo(PasoResolucion paso) {
+		int cand;
+		for (int celda = 0; celda < cant_celdas; celda++) {
+			cand = candidatos[celda];
+			if (cand != 0 && (cand & (cand - 1)) == 0) {
+				paso.iniciar(Tecnica.SIMPLE_DESNUDO);
+				paso.setUbicacion(celda, Integer.numberOfTrailingZeros(cand) + 1);
+				paso.agregarInvolucrada(celda);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	//Si los candidatos de un valor en un panel estn en una sola fila o columna, el valor se descarta del resto de esa fila o columna.
+	//Y si los de una fila o columna estn en un solo panel, se descarta del resto del panel.
+	private boolean interseccion(PasoResolucion paso) {
+		int en_unidad, bit, filas, columnas, paneles;
+		for (int u = 0; u < 3 * dimension; u++) {
+			en_unidad = 0;
+			for (int celda : unidades[u]) {
+				en_unidad |= candidatos[celda];
+			}
+			for (; en_unidad != 0; en_unidad &= en_unidad - 1) {
+				bit = en_unidad & -en_unidad;
+				filas = columnas = paneles = 0;
+				for (int celda : unidades[u]) {
+					if ((candidatos[celda] & bit) != 0) {
+						filas |= 1 << fila_de[celda];
+						columnas |= 1 << columna_de[celda];
+						paneles |= 1 << panel_de[celda];
+					}
+				}
+				paso.iniciar(Tecnica.INTERSECCION);
+				if (u >= 2 * dimension) {
+					if (Integer.bitCount(filas) == 1) {
+						descartar_fuera_de(paso, Integer.numberOfTrailingZeros(filas), u, bit);
+					}
+					if (Integer.bitCount(columnas) == 1) {
+						descartar_fuera_de(paso, dimension + Integer.numberOfTrailingZeros(columnas), u, bit);
+					}
+				}
+				else if (Integer.bitCount(paneles) == 1) {
+					descartar_fuera_de(paso, 2 * dimension + Integer.numberOfTrailingZeros(paneles), u, bit);
+				}
+				if (paso.getCantidadDescartes() > 0) {
+					for (int celda : unidades[u]) {
+						if ((candidatos[celda] & bit) != 0) {
+							paso.agregarInvolucrada(celda);
+						}
+					}
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	//Descarta el valor (bit) de las celdas de la unidad destino que no pertenecen a la unidad excluida.
+	private void descartar_fuera_de(PasoResolucion paso, int destino, int excluida, int bit) {
+		for (int celda : unidades[destino]) {
+			if ((candidatos[celda] & bit) != 0 && !pertenece(celda, excluida)) {
+				paso.agregarDescarte(celda, bit);
+			}
+		}
+	}
+
+	private boolean pertenece(int celda, int unidad) {
+		if (unidad < dimension) {
+			return fila_de[celda] == unidad;
+		}
+		if (unidad < 2 * dimension) {
+			return columna_de[celda] == unidad - dimension;
+		}
+		return panel_de[celda] == unidad - 2 * dimension;
+	}
+
+	//Si n celdas de una unidad tienen entre todas solo n candidatos, esos valores van en esas celdas: se descartan del resto de la unidad.
+	//Se buscan pares (n = 2) y tros (n = 3).
+	private boolean subconjunto_desnudo(PasoResolucion paso, int n, Tecnica tecnica) {
+		int cant, cant_bits, union_par, union_trio;
+		for (int u = 0; u < 3 * dimension; u++) {
+			cant = 0;
+			for (int celda : unidades[u]) {
+				cant_bits = Integer.bitCount(candidatos[celda]);
+				if (cant_bits >= 2 && cant_bits <= n) {
+					celdas_aux[cant++] = celda;
+				}
+			}
+			for (int i = 0; i < cant; i++) {
+				for (int j = i + 1; j < cant; j++) {
+					union_par = candidatos[celdas_aux[i]] | candidatos[celdas_aux[j]];
+					if (n == 2) {
+						if (Integer.bitCount(union_par) == 2 && descartar_subconjunto(paso, tecnica, u, union_par, celdas_aux[i], celdas_aux[j], -1)) {
+							return true;
+						}
+					}
+					else if (Integer.bitCount(union_par) <= 3) {
+						for (int k = j + 1; k < cant; k++) {
+							union_trio = union_par | candidatos[celdas_aux[k]];
+							if (Integer.bitCount(union_trio) == 3 && descartar_subconjunto(paso, tecnica, u, union_trio, celdas_aux[i], celdas_aux[j], celdas_aux[k])) {
+								return true;
+							}
+						}
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	//Descarta los valores del subconjunto de las dems celdas de la unidad. Devuelve false si no hay nada que descartar.
+	private boolean descartar_subconjunto(PasoResolucion paso, Tecnica tecnica, int u, int valores_subconjunto, int c1, int c2, int c3) {
+		paso.iniciar(tecnica);
+		for (int celda : unidades[u]) {
+			if (celda != c1 && celda != c2 && celda != c3 && (candidatos[celda] & valores_subconjunto) != 0) {
+				paso.agregarDescarte(celda, candidatos[celda] & valores_subconjunto);
+			}
+		}
+		if (paso.getCantidadDescartes() == 0) {
+			return false;
+		}
+		paso.agregarInvolucrada(c1);
+		paso.agregarInvolucrada(c2);
+		if (c3 >= 0) {
+			paso.agregarInvolucrada(c3);
+		}
+		return true;
+	}
+
+	//Si dos valores de una unidad solo son candidatos en las mismas dos celdas, esas celdas no pueden tener otro valor.
+	private boolean par_oculto(PasoResolucion paso) {
+		int par, extra, celda;
+		for (int u = 0; u < 3 * dimension; u++) {
+			for (int v = 0; v < dimension; v++) {
+				posiciones[v] = 0;
+			}
+			for (int i = 0; i < dimension; i++) {
+				for (int cand = candidatos[unidades[u][i]]; cand != 0; cand &= cand - 1) {
+					posiciones[Integer.numberOfTrailingZeros(cand)] |= 1 << i;
+				}
+			}
+			for (int v1 = 0; v1 < dimension; v1++) {
+				if (Integer.bitCount(posiciones[v1]) != 2) {
+					continue;
+				}
+				for (int v2 = v1 + 1; v2 < dimension; v2++) {
+					if (posiciones[v2] != posiciones[v1]) {
+						continue;
+					}
+					par = 1 << v1 | 1 << v2;
+					paso.iniciar(Tecnica.PAR_OCULTO);
+					for (int pos = posiciones[v1]; pos != 0; pos &= pos - 1) {
+						celda = unidades[u][Integer.numberOfTrailingZeros(pos)];
+						extra = candidatos[celda] & ~par;
+						if (extra != 0) {
+							paso.agregarDescarte(celda, extra);
+						}
+						paso.agregarInvolucrada(celda);
+					}
+					if (paso.getCantidadDescartes() > 0) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	//Si en dos filas un valor solo es candidato en las mismas dos columnas, en esas columnas el valor va en esas dos filas:
+	//se descarta del resto de las dos columnas. Lo mismo intercambiando filas y columnas.
+	private boolean x_wing(PasoResolucion paso) {
+		int cubiertas, bit, pos;
+		for (int base = 0; base <= dimension; base += dimension) {
+			cubiertas = dimension - base; //Si las lneas base son filas, las cubiertas son columnas, y viceversa.
+			for (int v = 0; v < dimension; v++) {
+				bit = 1 << v;
+				//Para cada lnea base, las posiciones (lneas cubiertas) en las que el valor es candidato.
+				for (int l = 0; l < dimension; l++) {
+					posiciones[l] = 0;
+					for (int i = 0; i < dimension; i++) {
+						if ((candidatos[unidades[base + l][i]] & bit) != 0) {
+							posiciones[l] |= 1 << i;
+						}
+					}
+				}
+				for (int l1 = 0; l1 < dimension; l1++) {
+					if (Integer.bitCount(posiciones[l1]) != 2) {
+						continue;
+					}
+					for (int l2 = l1 + 1; l2 < dimension; l2++) {
+						if (posiciones[l2] != posiciones[l1]) {
+							continue;
+						}
+						paso.iniciar(Tecnica.X_WING);
+						for (pos = posiciones[l1]; pos != 0; pos &= pos - 1) {
+							int[] cubierta = unidades[cubiertas + Integer.numberOfTrailingZeros(pos)];
+							for (int l = 0; l < dimension; l++) {
+								if (l != l1 && l != l2 && (candidatos[cubierta[l]] & bit) != 0) {
+									paso.agregarDescarte(cubierta[l], bit);
+								}
+							}
+						}
+						if (paso.getCantidadDescartes() > 0) {
+							for (pos = posiciones[l1]; pos != 0; pos &= pos - 1) {
+								paso.agregarInvolucrada(unidades[base + l1][Integer.numberOfTrailingZeros(pos)]);
+								paso.agregarInvolucrada(unidades[base + l2][Integer.numberOfTrailingZeros(pos)]);
+							}
+							return true;
+						}
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package logica;
+
+/**
+ * Niveles de dificultad en los que se agrupan los juegos, segn la tcnica ms difcil que hace falta para resolverlos (ver Tecnica).
+ * @author Dario A. Leal
+ */
+public enum NivelDificultad {
+
+	/**
+	 * Se resuelve solo con simples: un nico lugar para un valor, o un nico candidato en una celda.
+	 */
+	FACIL("Fcil"),
+
+	/**
+	 * Hace falta al menos una interseccin entre un panel y una fila o columna.
+	 */
+	INTERMEDIO("Intermedio"),
+
+	/**
+	 * Hacen falta pares o tros de candidatos.
+	 */
+	DIFICIL("Difcil"),
+
+	/**
+	 * Hace falta al menos un X-Wing.
+	 */
+	EXPERTO("Experto"),
+
+	/**
+	 * Las tcnicas conocidas no alcanzan: hay que probar valores y descartar los que llevan a una contradiccin.
+	 */
+	DIABOLICO("Diablico");
+
+	private String nombre;
+
+	private NivelDificultad(String nombre) {
+		this.nombre = nombre;
+	}
+
+	/**
+	 * Devuelve el nombre del nivel, para mostrarlo al jugador.
+	 * @return Nombre del nivel.
+	 */
+	public String getNombre() {
+		return nombre;
+	}
+
+}
\ No newline at end of file
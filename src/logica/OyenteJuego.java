@@ -0,0 +1,34 @@
+package logica;
+
+/**
+ * Recibe los avisos de cambios en el estado de un juego, para que quien lo muestra actualice solo lo que cambi.
+ * @author Dario A. Leal
+ */
+public interface OyenteJuego {
+
+	/**
+	 * Se invoca cada vez que cambia el valor de una celda.
+	 * @param fila Fila de la celda cuyo valor cambi.
+	 * @param columna Columna de la celda cuyo valor cambi.
+	 */
+	public void celdaActualizada(int fila, int columna);
+
+	/**
+	 * Se invoca cada vez que una celda pasa a estar en conflicto (tiene un valor repetido en su fila, columna o panel) o deja de estarlo.
+	 * @param fila Fila de la celda cuyo estado de conflicto cambi.
+	 * @param columna Columna de la celda cuyo estado de conflicto cambi.
+	 * @param en_conflicto True si la celda pas a estar en conflicto, false si dej de estarlo.
+	 */
+	public void conflictoActualizado(int fila, int columna, boolean en_conflicto);
+	
+	/**
+	 * Se invoca cuando el juego se reinicia: todas las celdas pueden haber cambiado de valor y de condicin de pista, y ninguna est en conflicto.
+	 */
+	public void tableroReiniciado();
+	
+	/**
+	 * Se invoca cuando, luego de un cambio de valor, el tablero queda completo y correctamente resuelto.
+	 */
+	public void juegoResuelto();
+
+}
\ No newline at end of file
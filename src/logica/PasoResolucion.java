@@ -0,0 +1,125 @@
+package logica;
+
+/**
+ * Un paso de la resolucin de un juego con una tcnica (ver MotorTecnicas): ubicar un valor en una celda, o descartar candidatos de algunas celdas.
+ * Las celdas se identifican por su ndice: fila x DIMENSION + columna.
+ * @author Dario A. Leal
+ */
+public class PasoResolucion {
+
+	private Tecnica tecnica;
+	private int celda, valor; //Celda en la que se ubica un valor, o -1 si el paso solo descarta candidatos.
+	private int[] celdas_con_descartes, valores_descartados; //Valores descartados de cada celda, como mscara de bits (el bit v-1 representa al valor v).
+	private int cant_descartes;
+	private int[] celdas_involucradas; //Celdas que justifican el paso (ej.: las dos celdas de un par).
+	private int cant_involucradas;
+
+	/**
+	 * Constructor. Crea un paso vaco para tableros de la cantidad de celdas recibida.
+	 * @param cant_celdas Cantidad de celdas del tablero (DIMENSION x DIMENSION).
+	 */
+	PasoResolucion(int cant_celdas) {
+		celdas_con_descartes = new int[cant_celdas];
+		valores_descartados = new int[cant_celdas];
+		celdas_involucradas = new int[cant_celdas];
+		celda = -1;
+	}
+
+	//Deja el paso vaco, para la tcnica recibida.
+	void iniciar(Tecnica tecnica) {
+		this.tecnica = tecnica;
+		celda = -1;
+		valor = 0;
+		cant_descartes = cant_involucradas = 0;
+	}
+
+	void setUbicacion(int celda, int valor) {
+		this.celda = celda;
+		this.valor = valor;
+	}
+
+	void agregarDescarte(int celda, int valores) {
+		celdas_con_descartes[cant_descartes] = celda;
+		valores_descartados[cant_descartes++] = valores;
+	}
+
+	void agregarInvolucrada(int celda) {
+		celdas_involucradas[cant_involucradas++] = celda;
+	}
+
+	/**
+	 * Devuelve la tcnica con la que se justifica el paso.
+	 * @return La tcnica del paso.
+	 */
+	public Tecnica getTecnica() {
+		return tecnica;
+	}
+
+	/**
+	 * Indica si el paso ubica un valor en una celda (si no, solo descarta candidatos).
+	 * @return True si el paso ubica un valor, false si descarta candidatos.
+	 */
+	public boolean esUbicacion() {
+		return celda >= 0;
+	}
+
+	/**
+	 * Devuelve la celda en la que el paso ubica un valor.
+	 * @return ndice de la celda, o -1 si el paso solo descarta candidatos.
+	 */
+	public int getCelda() {
+		return celda;
+	}
+
+	/**
+	 * Devuelve el valor que el paso ubica.
+	 * @return El valor ubicado, o 0 si el paso solo descarta candidatos.
+	 */
+	public int getValor() {
+		return valor;
+	}
+
+	/**
+	 * Devuelve la cantidad de celdas de las que el paso descarta candidatos.
+	 * @return Cantidad de celdas con descartes.
+	 */
+	public int getCantidadDescartes() {
+		return cant_descartes;
+	}
+
+	/**
+	 * Devuelve una de las celdas de las que el paso descarta candidatos.
+	 * @param k Posicin, entre 0 y getCantidadDescartes() - 1.
+	 * @return ndice de la celda.
+	 */
+	public int getCeldaConDescarte(int k) {
+		return celdas_con_descartes[k];
+	}
+
+	/**
+	 * Devuelve los valores que el paso descarta de una celda.
+	 * @param k Posicin, entre 0 y getCantidadDescartes() - 1.
+	 * @return Mscara de bits con los valores descartados (el bit v-1 representa al valor v).
+	 */
+	public int getValoresDescartados(int k) {
+		return valores_descartados[k];
+	}
+
+	/**
+	 * Devuelve la cantidad de celdas que justifican el paso.
+	 * @return Cantidad de celdas involucradas.
+	 */
+	public int getCantidadInvolucradas() {
+		return cant_involucradas;
+	}
+
+	/**
+	 * Devuelve una de las celdas que justifican el paso (ej.: las dos celdas de un par, o la fila en la que un valor tiene un nico lugar).
+	 * @param k Posicin, entre 0 y getCantidadInvolucradas() - 1.
+	 * @return ndice de la celda.
+	 */
+	public int getCeldaInvolucrada(int k) {
+		return celdas_involucradas[k];
+	}
+
+}
\ No newline at end of file
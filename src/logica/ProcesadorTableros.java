@@ -0,0 +1,653 @@
+package logica;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/*
+ * El hilo principal recorre los orgenes en orden y agrupa sus juegos en bloques de hasta JUEGOS_POR_BLOQUE, todos del mismo origen.
+ * Los juegos de los archivos de texto los lee el hilo principal (con LectorTableros); los de una biblioteca los lee cada tarea
+ * directamente del archivo mapeado (ver BibliotecaTableros). Cada bloque se procesa como una tarea del pool fork-join,
+ * con su propio validador, solucionador y calificador (no se comparten entre hilos).
+ * Los resultados se escriben en el mismo orden en que se leyeron los juegos: cuando hay ms de BLOQUES_EN_CURSO_POR_HILO bloques
+ * pendientes por hilo, el hilo principal espera al ms antiguo y lo escribe. As la memoria usada no depende del tamao del lote.
+ *
+ * Los juegos se controlan con las mismas reglas que usa Juego: valores entre 1 y DIMENSION, sin repetirse en filas, columnas ni paneles.
+ * A diferencia de Juego, un archivo de texto puede tener varios juegos y celdas vacas (0 o '.', ver LectorTableros):
+ * en un tablero completo se controlan todas las celdas, en uno incompleto solo las que tienen valor.
+ * Los archivos de texto con la dimensin en el nombre (ej.: "sudoku16x16_1.txt") se leen con esa dimensin, los dems con la indicada.
+ */
+
+/**
+ * Valida, resuelve, cuenta las soluciones y califica lotes de juegos sin interface grfica, repartiendo el trabajo entre varios hilos.
+ * Los juegos se leen de archivos de texto, de bibliotecas (archivos ".sdk", ver BibliotecaTableros) o de carpetas con esos archivos,
+ * y los resultados se escriben en formato CSV o JSON, un juego por fila.
+ * @author Dario A. Leal
+ */
+public class ProcesadorTableros {
+
+	/**
+	 * Estado de un juego que respeta las reglas.
+	 */
+	public static final String VALIDO = "VALIDO";
+	/**
+	 * Estado de un juego con valores repetidos o fuera de rango.
+	 */
+	public static final String INVALIDO = "INVALIDO";
+	/**
+	 * Estado de un origen (o del resto de un archivo) que no pudo leerse.
+	 */
+	public static final String ERROR = "ERROR";
+
+	private static final int JUEGOS_POR_BLOQUE = 64;
+	private static final int BLOQUES_EN_CURSO_POR_HILO = 4;
+	private static final int LIMITE_SOLUCIONES = 2; //Alcanza para saber si la solucin es nica.
+	private static final Pattern DIMENSION_EN_NOMBRE = Pattern.compile("(\\d+)x\\1");
+	private static final String USO = "Uso: ProcesadorTableros [-r] [-c] [-d] [-f csv|json] [-o archivo] [-p tam_panel] [-t hilos] [-n nodos] origen...";
+
+	private int hilos;
+	private boolean resolver, contar, calificar;
+	private int tam_panel = 3;
+	private long limite_nodos;
+
+	//Estado de un procesamiento en curso.
+	private ForkJoinPool pool;
+	private ArrayDeque<ForkJoinTask<Bloque>> en_curso;
+	private Writer salida;
+	private boolean json, hay_filas;
+	private int cant, cant_validos, cant_invalidos, cant_errores;
+	private long nanos;
+
+	/**
+	 * Constructor. Crea un procesador que solo valida los juegos, repartiendo el trabajo entre la cantidad de hilos recibida.
+	 * @param hilos Cantidad de hilos a usar, al menos 1.
+	 */
+	public ProcesadorTableros(int hilos) {
+		if (hilos < 1) {
+			throw new IllegalArgumentException("Cantidad de hilos invlida: " + hilos);
+		}
+		this.hilos = hilos;
+	}
+
+	/**
+	 * Indica si se resuelve cada juego vlido. La solucin se informa en una columna "solucion", en el formato de una lnea de LectorTableros.
+	 * @param resolver True para resolver los juegos.
+	 */
+	public void setResolver(boolean resolver) {
+		this.resolver = resolver;
+	}
+
+	/**
+	 * Indica si se cuentan las soluciones de cada juego vlido, hasta 2 (columna "soluciones": 0, 1, o 2 si tiene ms de una).
+	 * @param contar True para contar las soluciones.
+	 */
+	public void setContar(boolean contar) {
+		this.contar = contar;
+	}
+
+	/**
+	 * Indica si se califica la dificultad de cada juego vlido e incompleto (columnas "tecnica" y "nivel", ver CalificadorDificultad).
+	 * Los juegos de una biblioteca que ya tienen su dificultad registrada no se vuelven a calificar.
+	 * @param calificar True para calificar los juegos.
+	 */
+	public void setCalificar(boolean calificar) {
+		this.calificar = calificar;
+	}
+
+	/**
+	 * Establece el tamao de panel de los juegos de los archivos de texto cuyo nombre no indica la dimensin. Por defecto es 3 (tableros de 9 x 9).
+	 * @param tam_panel Cantidad de filas (y columnas) de un panel, entre 2 y 5.
+	 */
+	public void setTamPanel(int tam_panel) {
+		if (tam_panel < 2 || tam_panel > 5) {
+			throw new IllegalArgumentException("Tamao de panel fuera de rango: " + tam_panel);
+		}
+		this.tam_panel = tam_panel;
+	}
+
+	/**
+	 * Limita la bsqueda al resolver o contar las soluciones de cada juego (ver Solucionador.setLimiteNodos).
+	 * Si se alcanza el lmite, la solucin y la cantidad de soluciones de ese juego quedan sin informar.
+	 * @param limite_nodos Mxima cantidad de valores a probar por juego, o 0 para no limitarla.
+	 */
+	public void setLimiteNodos(long limite_nodos) {
+		this.limite_nodos = limite_nodos;
+	}
+
+	/**
+	 * Procesa todos los juegos de los orgenes recibidos y escribe un resultado por juego, en el orden en que se leyeron.
+	 * Los orgenes que no pueden leerse se informan con estado ERROR, sin detener el procesamiento.
+	 * @param origenes Archivos de texto, bibliotecas (".sdk") o carpetas, que se recorren con sus subcarpetas buscando archivos ".txt" y ".sdk".
+	 * @param salida Destino de los resultados. No se cierra.
+	 * @param json True para escribir un arreglo JSON de objetos, false para escribir CSV con una lnea de encabezado.
+	 * @throws IOException Si hay un error al escribir los resultados.
+	 */
+	public void procesar(List<Path> origenes, Writer salida, boolean json) throws IOException {
+		this.salida = salida;
+		this.json = json;
+		hay_filas = false;
+		cant = cant_validos = cant_invalidos = cant_errores = 0;
+		long inicio = System.nanoTime();
+		pool = new ForkJoinPool(hilos);
+		en_curso = new ArrayDeque<ForkJoinTask<Bloque>>();
+		try {
+			escribir_encabezado();
+			for (Path origen : origenes) {
+				if (Files.isDirectory(origen)) {
+					for (Path archivo : listar(origen)) {
+						procesar_archivo(archivo);
+					}
+				}
+				else {
+					procesar_archivo(origen);
+				}
+			}
+			while (!en_curso.isEmpty()) {
+				escribir(en_curso.poll().join());
+			}
+			if (json) {
+				salida.write(hay_filas ? "\n]\n" : "]\n");
+			}
+			salida.flush();
+		} finally {
+			pool.shutdownNow();
+			en_curso = null;
+			this.salida = null;
+		}
+		nanos = System.nanoTime() - inicio;
+	}
+
+	/**
+	 * Devuelve la cantidad de juegos procesados en el ltimo procesamiento, sin contar los errores de lectura.
+	 * @return Cantidad de juegos procesados.
+	 */
+	public int getCantidad() {
+		return cant;
+	}
+
+	/**
+	 * Devuelve la cantidad de juegos vlidos del ltimo procesamiento.
+	 * @return Cantidad de juegos con estado VALIDO.
+	 */
+	public int getCantidadValidos() {
+		return cant_validos;
+	}
+
+	/**
+	 * Devuelve la cantidad de juegos invlidos del ltimo procesamiento.
+	 * @return Cantidad de juegos con estado INVALIDO.
+	 */
+	public int getCantidadInvalidos() {
+		return cant_invalidos;
+	}
+
+	/**
+	 * Devuelve la cantidad de errores de lectura del ltimo procesamiento.
+	 * @return Cantidad de resultados con estado ERROR.
+	 */
+	public int getCantidadErrores() {
+		return cant_errores;
+	}
+
+	/**
+	 * Devuelve cunto tard el ltimo procesamiento, incluyendo la lectura de los juegos y la escritura de los resultados.
+	 * @return Duracin del ltimo procesamiento, en segundos.
+	 */
+	public double getSegundos() {
+		return nanos / 1e9;
+	}
+
+	//Archivos ".txt" y ".sdk" de la carpeta y sus subcarpetas, ordenados por nombre.
+	private List<Path> listar(Path carpeta) throws IOException {
+		try (Stream<Path> archivos = Files.walk(carpeta)) {
+			return archivos.filter(archivo -> Files.isRegularFile(archivo) && (es_biblioteca(archivo) || archivo.toString().endsWith(".txt")))
+					.sorted().collect(Collectors.toList());
+		}
+	}
+
+	private static boolean es_biblioteca(Path archivo) {
+		return archivo.toString().endsWith(".sdk");
+	}
+
+	private void procesar_archivo(Path archivo) throws IOException {
+		if (!Files.isRegularFile(archivo)) {
+			agregar(new Bloque(archivo.toString(), tam_panel, 1, "error : text file : \"No se puede abrir el archivo - Archivo inexistente?\""));
+		}
+		else if (es_biblioteca(archivo)) {
+			procesar_biblioteca(archivo);
+		}
+		else {
+			procesar_texto(archivo);
+		}
+	}
+
+	//Cada tarea lee sus juegos de la biblioteca, as el hilo principal solo reparte los rangos.
+	private void procesar_biblioteca(Path archivo) throws IOException {
+		BibliotecaTableros biblioteca;
+		try {
+			biblioteca = BibliotecaTableros.abrir(archivo);
+		} catch (IOException | IllegalArgumentException e) {
+			agregar(new Bloque(archivo.toString(), tam_panel, 1, e.getMessage()));
+			return;
+		}
+		for (int desde = 0; desde < biblioteca.getCantidad(); desde += JUEGOS_POR_BLOQUE) {
+			agregar(new Bloque(archivo.toString(), biblioteca, desde, Math.min(JUEGOS_POR_BLOQUE, biblioteca.getCantidad() - desde)));
+		}
+	}
+
+	//Un error de lectura termina el archivo: lo que sigue no puede interpretarse con seguridad.
+	private void procesar_texto(Path archivo) throws IOException {
+		int tam_panel = tam_panel_de(archivo), dimension = tam_panel * tam_panel, cant_celdas = dimension * dimension;
+		Bloque bloque = new Bloque(archivo.toString(), tam_panel, 1);
+		LectorTableros lector;
+		try {
+			lector = new LectorTableros(Files.newInputStream(archivo), dimension, true);
+		} catch (IOException e) {
+			agregar(new Bloque(archivo.toString(), tam_panel, 1, "No se puede abrir el archivo: " + e.getMessage()));
+			return;
+		}
+		try (lector) {
+			while (lector.leer(bloque.grilla)) {
+				System.arraycopy(bloque.grilla, 0, bloque.juegos, bloque.cant * cant_celdas, cant_celdas);
+				bloque.cant++;
+				if (bloque.cant == JUEGOS_POR_BLOQUE) {
+					agregar(bloque);
+					bloque = new Bloque(archivo.toString(), tam_panel, bloque.primer_numero + JUEGOS_POR_BLOQUE);
+				}
+			}
+			//Al igual que en Juego, un archivo sin ningn tablero es un error.
+			if (bloque.cant == 0 && bloque.primer_numero == 1) {
+				bloque.error = "error : text file : \"Faltan nmeros para el tablero de juego.\"";
+			}
+		} catch (TextFileException e) {
+			bloque.error = e.getMessage();
+		}
+		if (bloque.cant > 0 || bloque.error != null) {
+			agregar(bloque);
+		}
+	}
+
+	private int tam_panel_de(Path archivo) {
+		Matcher dimension_en_nombre = DIMENSION_EN_NOMBRE.matcher(archivo.getFileName().toString());
+		if (dimension_en_nombre.find()) {
+			int dimension = Integer.parseInt(dimension_en_nombre.group(1)), tam = (int) Math.round(Math.sqrt(dimension));
+			if (tam * tam == dimension && tam >= 2 && tam <= 5) {
+				return tam;
+			}
+		}
+		return tam_panel;
+	}
+
+	//Pone el bloque a procesar en el pool. Si hay demasiados pendientes, antes escribe los ms antiguos.
+	private void agregar(Bloque bloque) throws IOException {
+		while (en_curso.size() >= BLOQUES_EN_CURSO_POR_HILO * hilos) {
+			escribir(en_curso.poll().join());
+		}
+		en_curso.add(pool.submit(bloque::procesar));
+	}
+
+	private void escribir_encabezado() throws IOException {
+		if (json) {
+			salida.write("[");
+			return;
+		}
+		salida.write("origen,numero,pistas,estado,detalle");
+		if (contar) {
+			salida.write(",soluciones");
+		}
+		if (resolver) {
+			salida.write(",solucion");
+		}
+		if (calificar) {
+			salida.write(",tecnica,nivel");
+		}
+		salida.write("\n");
+	}
+
+	private void escribir(Bloque bloque) throws IOException {
+		for (int k = 0; k < bloque.cant; k++) {
+			if (VALIDO.equals(bloque.estados[k])) {
+				cant_validos++;
+			}
+			else {
+				cant_invalidos++;
+			}
+			String solucion = null;
+			if (bloque.resueltos != null && bloque.resueltos[k]) {
+				solucion = texto_tablero(bloque.soluciones, k * bloque.cant_celdas, bloque.dimension);
+			}
+			escribir_fila(bloque.origen, bloque.primer_numero + k, bloque.pistas[k], bloque.estados[k], bloque.detalles[k],
+					bloque.cant_soluciones[k], solucion, bloque.tecnicas[k]);
+		}
+		cant += bloque.cant;
+		if (bloque.error != null) {
+			cant_errores++;
+			escribir_fila(bloque.origen, bloque.primer_numero + bloque.cant, -1, ERROR, bloque.error, -1, null, null);
+		}
+	}
+
+	//Los valores desconocidos (-1 o null) quedan vacos en CSV y null en JSON.
+	private void escribir_fila(String origen, int numero, int pistas, String estado, String detalle, int soluciones, String solucion, Tecnica tecnica)
+			throws IOException {
+		StringBuilder fila = new StringBuilder(128);
+		if (json) {
+			fila.append(hay_filas ? ",\n{" : "\n{");
+			fila.append("\"origen\":").append(cadena_json(origen));
+			fila.append(",\"numero\":").append(numero);
+			fila.append(",\"pistas\":").append(pistas < 0 ? "null" : Integer.toString(pistas));
+			fila.append(",\"estado\":").append(cadena_json(estado));
+			fila.append(",\"detalle\":").append(cadena_json(detalle));
+			if (contar) {
+				fila.append(",\"soluciones\":").append(soluciones < 0 ? "null" : Integer.toString(soluciones));
+			}
+			if (resolver) {
+				fila.append(",\"solucion\":").append(cadena_json(solucion));
+			}
+			if (calificar) {
+				fila.append(",\"tecnica\":").append(cadena_json(tecnica == null ? null : tecnica.name()));
+				fila.append(",\"nivel\":").append(cadena_json(tecnica == null ? null : tecnica.getNivel().name()));
+			}
+			fila.append('}');
+		}
+		else {
+			fila.append(campo_csv(origen)).append(',').append(numero).append(',');
+			fila.append(pistas < 0 ? "" : Integer.toString(pistas)).append(',');
+			fila.append(estado).append(',').append(campo_csv(detalle));
+			if (contar) {
+				fila.append(',').append(soluciones < 0 ? "" : Integer.toString(soluciones));
+			}
+			if (resolver) {
+				fila.append(',').append(campo_csv(solucion));
+			}
+			if (calificar) {
+				fila.append(',').append(tecnica == null ? "" : tecnica.name());
+				fila.append(',').append(tecnica == null ? "" : tecnica.getNivel().name());
+			}
+			fila.append('\n');
+		}
+		salida.write(fila.toString());
+		hay_filas = true;
+	}
+
+	private static String campo_csv(String texto) {
+		if (texto == null) {
+			return "";
+		}
+		if (texto.indexOf(',') < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+			return texto;
+		}
+		return "\"" + texto.replace("\"", "\"\"") + "\"";
+	}
+
+	private static String cadena_json(String texto) {
+		if (texto == null) {
+			return "null";
+		}
+		StringBuilder cadena = new StringBuilder(texto.length() + 2).append('"');
+		for (int k = 0; k < texto.length(); k++) {
+			char c = texto.charAt(k);
+			if (c == '"' || c == '\\') {
+				cadena.append('\\').append(c);
+			}
+			else if (c < ' ') {
+				cadena.append(String.format("\\u%04x", (int) c));
+			}
+			else {
+				cadena.append(c);
+			}
+		}
+		return cadena.append('"').toString();
+	}
+
+	//Un tablero completo en el formato de una lnea: un dgito por celda hasta 9 x 9, nmeros separados por espacios en tableros ms grandes.
+	private static String texto_tablero(int[] celdas, int desde, int dimension) {
+		StringBuilder texto = new StringBuilder(dimension * dimension * 3);
+		for (int k = 0; k < dimension * dimension; k++) {
+			if (dimension > 9 && k > 0) {
+				texto.append(' ');
+			}
+			texto.append(celdas[desde + k]);
+		}
+		return texto.toString();
+	}
+
+	//Juegos seguidos de un mismo origen, con sus resultados una vez procesados.
+	private class Bloque {
+
+		private String origen;
+		private int tam_panel, dimension, cant_celdas;
+		private int primer_numero; //Nmero (desde 1) del primer juego del bloque dentro de su origen.
+		private int cant;
+		private int[] juegos; //Juegos ledos de un archivo de texto, seguidos y recorridos por filas. Null en los bloques de una biblioteca.
+		private int[] grilla;
+		private BibliotecaTableros biblioteca;
+		private int desde; //Posicin del primer juego del bloque en la biblioteca.
+		private String error; //Error de lectura luego de los juegos del bloque, o null.
+
+		private int[] pistas;
+		private String[] estados, detalles;
+		private int[] cant_soluciones;
+		private int[] soluciones;
+		private boolean[] resueltos;
+		private Tecnica[] tecnicas;
+
+		//Bloque a llenar con juegos ledos de un archivo de texto.
+		Bloque(String origen, int tam_panel, int primer_numero) {
+			this(origen, tam_panel, primer_numero, null);
+			juegos = new int[JUEGOS_POR_BLOQUE * cant_celdas];
+		}
+
+		//Bloque vaco que solo informa un error de lectura.
+		Bloque(String origen, int tam_panel, int primer_numero, String error) {
+			this.origen = origen;
+			this.tam_panel = tam_panel;
+			dimension = tam_panel * tam_panel;
+			cant_celdas = dimension * dimension;
+			this.primer_numero = primer_numero;
+			this.error = error;
+			grilla = new int[cant_celdas];
+		}
+
+		//Bloque con los juegos [desde, desde + cant) de una biblioteca.
+		Bloque(String origen, BibliotecaTableros biblioteca, int desde, int cant) {
+			this(origen, biblioteca.getTamPanel(), desde + 1, null);
+			this.biblioteca = biblioteca;
+			this.desde = desde;
+			this.cant = cant;
+		}
+
+		Bloque procesar() {
+			ValidadorTablero validador = new ValidadorTablero(tam_panel);
+			Solucionador solucionador = contar || resolver ? new Solucionador(tam_panel) : null;
+			CalificadorDificultad calificador = null;
+			int[] solucion = new int[cant_celdas];
+			pistas = new int[cant];
+			estados = new String[cant];
+			detalles = new String[cant];
+			cant_soluciones = new int[cant];
+			tecnicas = new Tecnica[cant];
+			if (resolver) {
+				soluciones = new int[cant * cant_celdas];
+				resueltos = new boolean[cant];
+			}
+			if (solucionador != null) {
+				solucionador.setLimiteNodos(limite_nodos);
+			}
+			for (int k = 0; k < cant; k++) {
+				cant_soluciones[k] = -1;
+				estados[k] = INVALIDO;
+				//Se controlan las reglas.
+				if (biblioteca != null) {
+					try {
+						biblioteca.leer(desde + k, solucion, grilla);
+					} catch (IllegalArgumentException e) {
+						detalles[k] = e.getMessage();
+						continue;
+					}
+					pistas[k] = biblioteca.getCantidadPistas(desde + k);
+					//Al igual que en Juego.abrir, se controla la solucin guardada (las pistas coinciden con ella por construccin).
+					if (!validador.validar(solucion)) {
+						detalles[k] = "La solucin no es vlida: " + validador.getDescripcionError();
+						continue;
+					}
+				}
+				else {
+					System.arraycopy(juegos, k * cant_celdas, grilla, 0, cant_celdas);
+					for (int c = 0; c < cant_celdas; c++) {
+						if (grilla[c] != 0) {
+							pistas[k]++;
+						}
+					}
+					if (!(pistas[k] == cant_celdas ? validador.validar(grilla) : validador.validarPistas(grilla))) {
+						detalles[k] = validador.getDescripcionError();
+						continue;
+					}
+				}
+				estados[k] = VALIDO;
+				//Se busca la solucin y la dificultad.
+				if (contar) {
+					cant_soluciones[k] = solucionador.contarSoluciones(grilla, LIMITE_SOLUCIONES);
+					if (solucionador.fueInterrumpida()) {
+						cant_soluciones[k] = -1;
+						detalles[k] = "Bsqueda interrumpida por el lmite de nodos";
+					}
+				}
+				if (resolver && cant_soluciones[k] != 0 && detalles[k] == null) {
+					System.arraycopy(grilla, 0, solucion, 0, cant_celdas);
+					resueltos[k] = solucionador.resolver(solucion);
+					if (resueltos[k]) {
+						System.arraycopy(solucion, 0, soluciones, k * cant_celdas, cant_celdas);
+					}
+					else if (solucionador.fueInterrumpida()) {
+						detalles[k] = "Bsqueda interrumpida por el lmite de nodos";
+					}
+				}
+				if (calificar && pistas[k] < cant_celdas) {
+					if (biblioteca != null && Tecnica.desdePuntaje(biblioteca.getDificultad(desde + k)) != null) {
+						tecnicas[k] = Tecnica.desdePuntaje(biblioteca.getDificultad(desde + k));
+					}
+					else {
+						if (calificador == null) {
+							calificador = new CalificadorDificultad(tam_panel);
+						}
+						tecnicas[k] = calificador.calificar(grilla);
+					}
+				}
+			}
+			juegos = null; //Ya no hacen falta, se libera la memoria mientras el bloque espera ser escrito.
+			return this;
+		}
+
+	}
+
+	/**
+	 * Procesa lotes de juegos desde la lnea de comandos y escribe los resultados. Al terminar informa por la salida de errores
+	 * cuntos juegos se procesaron y a qu velocidad. Termina con cdigo 0 si todos los juegos son vlidos, 2 si hubo invlidos o errores
+	 * de lectura y 1 si los argumentos son incorrectos.
+	 * Uso: ProcesadorTableros [-r] [-c] [-d] [-f csv|json] [-o archivo] [-p tam_panel] [-t hilos] [-n nodos] origen...
+	 * Ej.: ProcesadorTableros src/txt (valida los juegos incluidos, mostrando cules no pueden cargarse y por qu).
+	 * @param args Opciones y orgenes: -r resuelve, -c cuenta las soluciones, -d califica la dificultad, -f elige el formato (csv por defecto),
+	 * -o el archivo de salida (la salida estndar por defecto), -p el tamao de panel de los archivos de texto (3 por defecto),
+	 * -t la cantidad de hilos (uno por procesador por defecto) y -n el lmite de nodos por bsqueda (sin lmite por defecto).
+	 * Los orgenes son archivos de texto, bibliotecas (".sdk") o carpetas.
+	 */
+	public static void main(String[] args) {
+		System.exit(ejecutar(args));
+	}
+
+	/**
+	 * Hace lo mismo que main, pero en lugar de terminar el programa devuelve el cdigo con el que terminara.
+	 * @param args Opciones y orgenes, como en main.
+	 * @return 0 si todos los juegos son vlidos, 2 si hubo invlidos o errores de lectura y 1 si los argumentos son incorrectos
+	 * o no se pudieron escribir los resultados.
+	 */
+	public static int ejecutar(String[] args) {
+		ProcesadorTableros procesador;
+		boolean resolver = false, contar = false, calificar = false, json = false;
+		String archivo_salida = null;
+		int tam_panel = 3, hilos = Runtime.getRuntime().availableProcessors();
+		long limite_nodos = 0;
+		List<Path> origenes = new ArrayList<Path>();
+		try {
+			for (int k = 0; k < args.length; k++) {
+				switch (args[k]) {
+					case "-r":
+						resolver = true;
+						break;
+					case "-c":
+						contar = true;
+						break;
+					case "-d":
+						calificar = true;
+						break;
+					case "-f":
+						String formato = args[++k];
+						if (!formato.equals("csv") && !formato.equals("json")) {
+							throw new IllegalArgumentException("Formato desconocido: " + formato);
+						}
+						json = formato.equals("json");
+						break;
+					case "-o":
+						archivo_salida = args[++k];
+						break;
+					case "-p":
+						tam_panel = Integer.parseInt(args[++k]);
+						break;
+					case "-t":
+						hilos = Integer.parseInt(args[++k]);
+						break;
+					case "-n":
+						limite_nodos = Long.parseLong(args[++k]);
+						break;
+					default:
+						if (args[k].startsWith("-")) {
+							throw new IllegalArgumentException("Opcin desconocida: " + args[k]);
+						}
+						origenes.add(Paths.get(args[k]));
+				}
+			}
+			if (origenes.isEmpty()) {
+				throw new IllegalArgumentException("Falta indicar los juegos a procesar.");
+			}
+			procesador = new ProcesadorTableros(hilos);
+			procesador.setTamPanel(tam_panel);
+		} catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+			if (e instanceof IllegalArgumentException) {
+				System.err.println(e.getMessage());
+			}
+			System.err.println(USO);
+			return 1;
+		}
+		procesador.setResolver(resolver);
+		procesador.setContar(contar);
+		procesador.setCalificar(calificar);
+		procesador.setLimiteNodos(limite_nodos);
+
+		try (Writer salida = archivo_salida == null ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+				: Files.newBufferedWriter(Paths.get(archivo_salida), StandardCharsets.UTF_8)) {
+			procesador.procesar(origenes, salida, json);
+		} catch (IOException e) {
+			System.err.println("Error al escribir los resultados: " + e.getMessage());
+			return 1;
+		}
+		System.err.println(String.format("%d juegos (%d vlidos, %d invlidos) y %d errores de lectura en %.2f s: %.0f juegos/s con %d hilos.",
+				procesador.getCantidad(), procesador.getCantidadValidos(), procesador.getCantidadInvalidos(), procesador.getCantidadErrores(),
+				procesador.getSegundos(), procesador.getCantidad() / Math.max(procesador.getSegundos(), 1e-9), hilos));
+		return procesador.getCantidadInvalidos() + procesador.getCantidadErrores() > 0 ? 2 : 0;
+	}
+
+}
\ No newline at end of file
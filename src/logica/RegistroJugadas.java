@@ -0,0 +1,178 @@
+package logica;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/*
+ * Cada jugada se guarda en un nico int:
+ * - bits 0 a 9: ndice de la celda (fila x DIMENSION + columna), hasta 1023 (alcanza para 25 x 25 = 625 celdas).
+ * - bits 10 a 14: valor anterior de la celda (0 a 25).
+ * - bits 15 a 19: valor nuevo de la celda (0 a 25).
+ * - bits 20 a 31: demora desde la jugada anterior, en dcimas de segundo (si supera 409,5 segundos se guarda 409,5).
+ * Las jugadas deshechas se conservan despus de la posicin actual para poder rehacerlas, hasta que se registra una jugada nueva.
+ * El registro guarda a lo sumo CAPACIDAD_MAXIMA jugadas (4 KB): al llenarse, cada jugada nueva reemplaza a la ms antigua.
+ * Lleno, el arreglo se usa como un buffer circular (la jugada k est en la posicin inicio + k, dando la vuelta), as que descartar
+ * la ms antigua no corre el arreglo. Pueden deshacerse siempre las ltimas CAPACIDAD_MAXIMA jugadas, y una partida larga no hace crecer
+ * la memoria del juego ni sus instantneas.
+ */
+
+/**
+ * Registro de las jugadas de un juego, que permite deshacerlas y rehacerlas en tiempo constante.
+ * @author Dario A. Leal
+ */
+class RegistroJugadas {
+
+	private static final int BITS_CELDA = 10;
+	private static final int BITS_VALOR = 5;
+	private static final int MASCARA_CELDA = (1 << BITS_CELDA) - 1;
+	private static final int MASCARA_VALOR = (1 << BITS_VALOR) - 1;
+	private static final int DESPLAZAMIENTO_ANTERIOR = BITS_CELDA;
+	private static final int DESPLAZAMIENTO_NUEVO = BITS_CELDA + BITS_VALOR;
+	private static final int DESPLAZAMIENTO_DEMORA = BITS_CELDA + 2 * BITS_VALOR;
+	private static final int DEMORA_MAXIMA = (1 << (32 - DESPLAZAMIENTO_DEMORA)) - 1;
+	private static final int CAPACIDAD_INICIAL = 16;
+	private static final int CAPACIDAD_MAXIMA = 1024;
+	//Compartido por todos los registros vacos: un juego que todava no tiene jugadas no reserva espacio para ellas.
+	private static final int[] SIN_JUGADAS = new int[0];
+
+	private int[] jugadas;
+	private int inicio; //Posicin en el arreglo de la jugada ms antigua. Distinta de 0 solo si el arreglo lleg a CAPACIDAD_MAXIMA.
+	private int cant; //Cantidad de jugadas registradas, incluidas las deshechas.
+	private int pos; //Las jugadas en [0, pos) estn hechas, las de [pos, cant) fueron deshechas.
+
+	RegistroJugadas() {
+		jugadas = SIN_JUGADAS;
+	}
+
+	/**
+	 * Registra una jugada nueva. Las jugadas deshechas que no se rehicieron se descartan, y si el registro est lleno tambin las ms antiguas.
+	 * @param celda ndice de la celda (fila x DIMENSION + columna).
+	 * @param valor_anterior Valor de la celda antes de la jugada.
+	 * @param valor_nuevo Valor de la celda despus de la jugada.
+	 * @param demora Dcimas de segundo transcurridas desde la jugada anterior.
+	 */
+	void agregar(int celda, int valor_anterior, int valor_nuevo, long demora) {
+		if (pos == CAPACIDAD_MAXIMA) {
+			inicio = indice(1); //Se descarta la jugada ms antigua.
+			pos--;
+		}
+		else if (pos == jugadas.length) {
+			//Mientras el arreglo crece, inicio es 0.
+			jugadas = Arrays.copyOf(jugadas, Math.min(Math.max(jugadas.length * 2, CAPACIDAD_INICIAL), CAPACIDAD_MAXIMA));
+		}
+		int demora_acotada = (int) Math.min(Math.max(demora, 0), DEMORA_MAXIMA);
+		jugadas[indice(pos++)] = celda | valor_anterior << DESPLAZAMIENTO_ANTERIOR | valor_nuevo << DESPLAZAMIENTO_NUEVO | demora_acotada << DESPLAZAMIENTO_DEMORA;
+		cant = pos;
+	}
+
+	boolean puedeDeshacer() {
+		return pos > 0;
+	}
+
+	boolean puedeRehacer() {
+		return pos < cant;
+	}
+
+	/**
+	 * Retrocede una jugada. Debe controlarse antes con puedeDeshacer.
+	 * @return La jugada deshecha.
+	 */
+	int deshacer() {
+		return jugadas[indice(--pos)];
+	}
+
+	/**
+	 * Avanza una jugada previamente deshecha. Debe controlarse antes con puedeRehacer.
+	 * @return La jugada rehecha.
+	 */
+	int rehacer() {
+		return jugadas[indice(pos++)];
+	}
+
+	void limpiar() {
+		inicio = cant = pos = 0;
+	}
+
+	//Posicin en el arreglo de la jugada k (la 0 es la ms antigua registrada).
+	private int indice(int k) {
+		int i = inicio + k;
+		return i < jugadas.length ? i : i - jugadas.length;
+	}
+
+	int getCantidad() {
+		return cant;
+	}
+
+	int getPosicion() {
+		return pos;
+	}
+
+	static int getCelda(int jugada) {
+		return jugada & MASCARA_CELDA;
+	}
+
+	static int getValorAnterior(int jugada) {
+		return (jugada >>> DESPLAZAMIENTO_ANTERIOR) & MASCARA_VALOR;
+	}
+
+	static int getValorNuevo(int jugada) {
+		return (jugada >>> DESPLAZAMIENTO_NUEVO) & MASCARA_VALOR;
+	}
+
+	static int getDemora(int jugada) {
+		return jugada >>> DESPLAZAMIENTO_DEMORA;
+	}
+
+	/**
+	 * Devuelve la cantidad de bytes que ocupa el registro al guardarlo.
+	 * @return La cantidad de bytes que escribe guardar.
+	 */
+	int getTamanioGuardado() {
+		return 8 + 4 * cant;
+	}
+
+	/**
+	 * Escribe el registro completo (incluidas las jugadas deshechas) en el buffer.
+	 * @param destino Buffer en el que se escribe, con al menos getTamanioGuardado() bytes disponibles.
+	 */
+	void guardar(ByteBuffer destino) {
+		destino.putInt(cant);
+		destino.putInt(pos);
+		for (int k = 0; k < cant; k++) {
+			destino.putInt(jugadas[indice(k)]);
+		}
+	}
+
+	/**
+	 * Reemplaza el registro por el ledo del buffer, controlando que cada jugada sea vlida para un tablero de la dimensin recibida.
+	 * Si el registro ledo tiene ms de CAPACIDAD_MAXIMA jugadas se conservan las ms cercanas a la posicin actual.
+	 * @param origen Buffer del que se lee, escrito con guardar.
+	 * @param dimension Dimensin del tablero al que corresponden las jugadas.
+	 * @throws IllegalArgumentException Si el contenido ledo no es un registro vlido.
+	 */
+	void cargar(ByteBuffer origen, int dimension) {
+		int cant_leida = origen.getInt(), pos_leida = origen.getInt();
+		if (cant_leida < 0 || pos_leida < 0 || pos_leida > cant_leida || cant_leida > origen.remaining() / 4) {
+			throw new IllegalArgumentException("Registro de jugadas invlido.");
+		}
+		//Instantneas anteriores al lmite: se descartan primero las jugadas hechas ms antiguas y luego las deshechas ms lejanas.
+		int primera = Math.max(Math.min(cant_leida - CAPACIDAD_MAXIMA, pos_leida), 0);
+		int cant_conservada = Math.min(cant_leida - primera, CAPACIDAD_MAXIMA);
+		if (jugadas.length < cant_conservada) {
+			jugadas = new int[Math.max(cant_conservada, CAPACIDAD_INICIAL)];
+		}
+		for (int k = 0; k < cant_leida; k++) {
+			int jugada = origen.getInt();
+			if (getCelda(jugada) >= dimension * dimension || getValorAnterior(jugada) > dimension || getValorNuevo(jugada) > dimension) {
+				throw new IllegalArgumentException("Registro de jugadas invlido.");
+			}
+			if (k >= primera && k < primera + cant_conservada) {
+				jugadas[k - primera] = jugada;
+			}
+		}
+		inicio = 0;
+		cant = cant_conservada;
+		pos = pos_leida - primera;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package logica;
+
+/**
+ * Resultados posibles de pedir una ayuda (ver Juego.pedirAyuda).
+ * @author Dario A. Leal
+ */
+public enum ResultadoAyuda {
+
+	/**
+	 * Se encontr un paso: un valor a ubicar o candidatos a descartar.
+	 */
+	PASO,
+
+	/**
+	 * El tablero ya est completo.
+	 */
+	COMPLETO,
+
+	/**
+	 * Hay valores repetidos en alguna fila, columna o panel: hay que corregirlos antes de seguir.
+	 */
+	CON_REPETIDOS,
+
+	/**
+	 * Con los valores elegidos por el jugador el tablero ya no tiene solucin: alguno es incorrecto.
+	 */
+	SIN_SOLUCION,
+
+	/**
+	 * Ninguna tcnica permite avanzar: hay que probar un valor y ver si lleva a una contradiccin.
+	 */
+	SIN_TECNICA
+
+}
\ No newline at end of file
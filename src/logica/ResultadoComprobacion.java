@@ -0,0 +1,24 @@
+package logica;
+
+/**
+ * Resultados posibles de comprobar la resolucin de un juego.
+ * @author Dario A. Leal
+ */
+public enum ResultadoComprobacion {
+
+	/**
+	 * Hay al menos una celda que el usuario dej sin elegir nmero.
+	 */
+	INCOMPLETO,
+
+	/**
+	 * El usuario complet el tablero pero no con una solucin correcta.
+	 */
+	DISTINTOS,
+
+	/**
+	 * El usuario resolvi correctamente el juego.
+	 */
+	IGUALES
+
+}
@@ -0,0 +1,222 @@
+package logica;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/*
+ * Cada sesin es un juego identificado por un nmero. Los juegos no crean ningn objeto grfico ni dependen de la interface,
+ * as que el servicio puede manejar miles de sesiones a la vez en una misma mquina virtual, y puede usarse sin pantalla
+ * (por ejemplo, desde un programa de prueba o un servidor).
+ * Las sesiones se guardan en un mapa concurrente, as que crearlas, buscarlas y cerrarlas puede hacerse desde varios hilos sin bloquear
+ * al resto. Un juego no admite varios hilos a la vez: cada operacin toma el monitor del juego de su sesin, de modo que las operaciones
+ * sobre distintas sesiones se hacen en paralelo y las de una misma sesin, una detrs de otra.
+ */
+
+/**
+ * Administra sesiones de juego sin interface grfica.
+ * @author Dario A. Leal
+ */
+public class ServicioSesiones {
+	
+	private ConcurrentHashMap<Integer, Juego> sesiones;
+	private AtomicInteger ultima_sesion;
+	private int cant_maxima; //Mxima cantidad de sesiones abiertas a la vez.
+	
+	/**
+	 * Constructor. Crea un servicio sin lmite de sesiones.
+	 */
+	public ServicioSesiones() {
+		this(Integer.MAX_VALUE);
+	}
+	
+	/**
+	 * Constructor. Crea un servicio que admite hasta la cantidad de sesiones abiertas recibida.
+	 * @param cant_maxima Mxima cantidad de sesiones abiertas a la vez.
+	 */
+	public ServicioSesiones(int cant_maxima) {
+		if (cant_maxima < 1) {
+			throw new IllegalArgumentException("La cantidad mxima de sesiones debe ser positiva: " + cant_maxima);
+		}
+		this.cant_maxima = cant_maxima;
+		sesiones = new ConcurrentHashMap<Integer, Juego>();
+		ultima_sesion = new AtomicInteger();
+	}
+	
+	/**
+	 * Abre una sesin nueva con el juego recibido. El juego pasa a ser manejado por el servicio: no debe usarse desde fuera de l.
+	 * @param juego Juego de la sesin.
+	 * @return El nmero que identifica a la sesin.
+	 * @throws IllegalStateException Si ya est abierta la mxima cantidad de sesiones.
+	 */
+	public int crear(Juego juego) {
+		//El lmite se controla antes de agregar: entre hilos que crean sesiones a la vez puede excederse por poco, nunca de a muchas.
+		if (sesiones.size() >= cant_maxima) {
+			throw new IllegalStateException("Se alcanz la mxima cantidad de sesiones (" + cant_maxima + ").");
+		}
+		int sesion = ultima_sesion.incrementAndGet();
+		sesiones.put(sesion, juego);
+		return sesion;
+	}
+	
+	/**
+	 * Abre una sesin nueva con el juego guardado en una instantnea (ver Juego.guardar).
+	 * @param instantanea Arreglo de bytes obtenido con guardar.
+	 * @return El nmero que identifica a la sesin.
+	 * @throws IllegalArgumentException Si el arreglo no contiene una instantnea vlida.
+	 * @throws IllegalStateException Si ya est abierta la mxima cantidad de sesiones.
+	 */
+	public int restaurar(byte[] instantanea) {
+		return crear(Juego.restaurar(instantanea, null));
+	}
+	
+	/**
+	 * Cierra una sesin. Su juego deja de estar disponible.
+	 * @param sesion Nmero de la sesin.
+	 * @return True si la sesin estaba abierta, false en caso contrario.
+	 */
+	public boolean cerrar(int sesion) {
+		return sesiones.remove(sesion) != null;
+	}
+	
+	/**
+	 * Indica si una sesin est abierta.
+	 * @param sesion Nmero de la sesin.
+	 * @return True si la sesin est abierta, false en caso contrario.
+	 */
+	public boolean existe(int sesion) {
+		return sesiones.containsKey(sesion);
+	}
+	
+	/**
+	 * Devuelve la cantidad de sesiones abiertas.
+	 * @return La cantidad de sesiones abiertas.
+	 */
+	public int getCantidad() {
+		return sesiones.size();
+	}
+	
+	/**
+	 * Ejecuta una operacin sobre el juego de una sesin, sin que ningn otro hilo use ese juego mientras tanto.
+	 * Sirve para las consultas y operaciones que no tienen un mtodo propio en el servicio.
+	 * @param sesion Nmero de la sesin.
+	 * @param operacion Operacin a ejecutar. No debe guardar el juego para usarlo despus.
+	 * @return El resultado de la operacin.
+	 * @throws IllegalArgumentException Si la sesin no est abierta.
+	 */
+	public <T> T ejecutar(int sesion, Function<Juego, T> operacion) {
+		Juego juego = getJuego(sesion);
+		synchronized (juego) {
+			return operacion.apply(juego);
+		}
+	}
+	
+	/**
+	 * Hace una jugada en el juego de una sesin (ver Juego.jugar).
+	 * @param sesion Nmero de la sesin.
+	 * @param fila Coordenada de la fila de la celda.
+	 * @param columna Coordenada de la columna de la celda.
+	 * @param valor Nuevo valor de la celda, entre 0 (vaciarla) y la dimensin del tablero.
+	 * @return El resultado de comprobar el juego luego de la jugada.
+	 * @throws IllegalArgumentException Si la sesin no est abierta, si la celda no existe o es una pista, o si el valor est fuera de rango.
+	 */
+	public ResultadoComprobacion jugar(int sesion, int fila, int columna, int valor) {
+		Juego juego = getJuego(sesion);
+		synchronized (juego) {
+			int dimension = juego.getDimension();
+			if (fila < 0 || fila >= dimension || columna < 0 || columna >= dimension) {
+				throw new IllegalArgumentException("Celda fuera del tablero: (" + fila + ", " + columna + ")");
+			}
+			juego.jugar(fila, columna, valor);
+			return juego.comprobar_resolucion();
+		}
+	}
+	
+	/**
+	 * Deshace la ltima jugada del juego de una sesin.
+	 * @param sesion Nmero de la sesin.
+	 * @return True si se deshizo una jugada, false si no haba ninguna para deshacer.
+	 * @throws IllegalArgumentException Si la sesin no est abierta.
+	 */
+	public boolean deshacer(int sesion) {
+		Juego juego = getJuego(sesion);
+		synchronized (juego) {
+			return juego.deshacer();
+		}
+	}
+	
+	/**
+	 * Vuelve a hacer la ltima jugada deshecha del juego de una sesin.
+	 * @param sesion Nmero de la sesin.
+	 * @return True si se rehizo una jugada, false si no haba ninguna para rehacer.
+	 * @throws IllegalArgumentException Si la sesin no est abierta.
+	 */
+	public boolean rehacer(int sesion) {
+		Juego juego = getJuego(sesion);
+		synchronized (juego) {
+			return juego.rehacer();
+		}
+	}
+	
+	/**
+	 * Comprueba el juego de una sesin (ver Juego.comprobar_resolucion).
+	 * @param sesion Nmero de la sesin.
+	 * @return El resultado de la comprobacin del juego.
+	 * @throws IllegalArgumentException Si la sesin no est abierta.
+	 */
+	public ResultadoComprobacion comprobar(int sesion) {
+		Juego juego = getJuego(sesion);
+		synchronized (juego) {
+			return juego.comprobar_resolucion();
+		}
+	}
+	
+	/**
+	 * Busca una ayuda para el juego de una sesin (ver Juego.pedirAyuda).
+	 * @param sesion Nmero de la sesin.
+	 * @param paso Paso en el que se almacena la ayuda, creado para un juego de la misma dimensin (ver Juego.crearPaso).
+	 * @return PASO si se encontr una ayuda, o el motivo por el que no la hay.
+	 * @throws IllegalArgumentException Si la sesin no est abierta.
+	 */
+	public ResultadoAyuda pedirAyuda(int sesion, PasoResolucion paso) {
+		Juego juego = getJuego(sesion);
+		synchronized (juego) {
+			return juego.pedirAyuda(paso);
+		}
+	}
+	
+	/**
+	 * Copia los valores actuales del tablero de una sesin en el arreglo recibido, recorriendo el tablero por filas (ver Juego.copiarValores).
+	 * @param sesion Nmero de la sesin.
+	 * @param destino Arreglo con al menos DIMENSION x DIMENSION componentes.
+	 * @throws IllegalArgumentException Si la sesin no est abierta.
+	 */
+	public void copiarValores(int sesion, int[] destino) {
+		Juego juego = getJuego(sesion);
+		synchronized (juego) {
+			juego.copiarValores(destino);
+		}
+	}
+	
+	/**
+	 * Guarda el estado completo del juego de una sesin (ver Juego.guardar). La sesin sigue abierta.
+	 * @param sesion Nmero de la sesin.
+	 * @return La instantnea del juego, que puede recuperarse con restaurar.
+	 * @throws IllegalArgumentException Si la sesin no est abierta.
+	 */
+	public byte[] guardar(int sesion) {
+		Juego juego = getJuego(sesion);
+		synchronized (juego) {
+			return juego.guardar(null);
+		}
+	}
+	
+	private Juego getJuego(int sesion) {
+		Juego juego = sesiones.get(sesion);
+		if (juego == null) {
+			throw new IllegalArgumentException("No existe la sesin " + sesion + ".");
+		}
+		return juego;
+	}
+	
+}
\ No newline at end of file
@@ -0,0 +1,638 @@
+package logica;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/*
+ * Protocolo (todas las rutas bajo /juego; los parmetros van en la URL):
+ * - POST /juego?biblioteca=k              abre una sesin con el juego k de la biblioteca.
+ *   POST /juego?tam=3&semilla=s&pistas=n  abre una sesin con un juego generado (semilla y pistas son opcionales).
+ *   Responde el nmero de sesin, el tamao de panel y el estado de todas las celdas.
+ * - POST /juego/{id}/jugar?fila=f&columna=c&valor=v  hace una jugada (valor 0 vaca la celda).
+ * - POST /juego/{id}/deshacer y POST /juego/{id}/rehacer.
+ *   Las tres responden solo las celdas que cambiaron con la operacin.
+ * - GET /juego/{id}?desde=v&espera=ms     responde las celdas que cambiaron despus de la versin v. Si no cambi ninguna, espera hasta
+ *   que cambie alguna (por otra conexin que juega en la misma sesin) o hasta que pasen ms milisegundos (a lo sumo ESPERA_MAXIMA).
+ * - GET /juego/{id}/comprobar             responde el resultado de comprobar el juego.
+ * - GET /juego/{id}/ayuda                 responde la siguiente ayuda (ver Juego.pedirAyuda).
+ * - DELETE /juego/{id}                    cierra la sesin. Las esperas de cambios pendientes en la sesin terminan con 404.
+ *
+ * Las sesiones sin pedidos durante INACTIVIDAD_MAXIMA (o la indicada al crear el servidor) se cierran solas, as que los clientes que
+ * se desconectan sin cerrar sus sesiones no agotan el lugar para sesiones nuevas.
+ *
+ * Cada cambio de una celda incrementa la versin de la sesin, y la celda recuerda la versin de su ltimo cambio. As, las celdas
+ * cambiadas despus de una versin se obtienen recorriendo un arreglo, sin guardar la lista de cambios.
+ * El estado de una celda ocupa un byte, con el mismo formato que en las instantneas de Juego: el valor (0 si est vaca),
+ * el bit PISTA (0x80) y el bit EN_CONFLICTO (0x40).
+ *
+ * Las respuestas son binarias (application/octet-stream, enteros en big endian), salvo que se pida f=json:
+ * - cambios:  versin (int), resultado de la comprobacin (byte, ordinal de ResultadoComprobacion), cantidad de celdas (short)
+ *             y, por cada celda, su ndice (short, fila x DIMENSION + columna) y su estado (byte). Una jugada en 9 x 9 ocupa unos 10 bytes.
+ *             En JSON: {"v":12,"r":"INCOMPLETO","d":[celda,estado,celda,estado...]}
+ * - apertura: nmero de sesin (int) y tamao de panel (byte), seguidos de los cambios de todas las celdas.
+ *             En JSON: {"id":7,"tam":3,"v":0,"r":"INCOMPLETO","d":[...]}
+ * - comprobacin: el resultado (byte). En JSON: {"r":"INCOMPLETO"}
+ * - ayuda:    resultado (byte, ordinal de ResultadoAyuda) y, si es PASO: tcnica (byte, ordinal de Tecnica), celda (short, -1 si el paso
+ *             solo descarta candidatos), valor (byte), cantidad de descartes (short) y por cada uno su celda (short) y los valores
+ *             descartados (int, el bit v-1 representa al valor v), y cantidad de celdas involucradas (short) y sus ndices (short).
+ *             En JSON: {"r":"PASO","t":"SIMPLE_OCULTO","c":40,"v":7,"x":[celda,valores...],"i":[celdas...]}
+ * Los errores responden 400 (pedido invlido), 404 (sesin o ruta inexistente), 405 (mtodo) o 503 (sin lugar para ms sesiones),
+ * con el motivo como texto.
+ *
+ * Cada pedido se atiende en su propio hilo: virtual si la mquina virtual los tiene (Java 21 o posterior), o de un pool que crea
+ * hilos a demanda si no. Las esperas de cambios no toman el monitor del juego (usan un ReentrantLock por sesin), as que un hilo virtual
+ * que espera no ocupa el hilo de plataforma que lo ejecuta.
+ * El servidor solo atiende conexiones locales.
+ */
+
+/**
+ * Servidor HTTP local que permite jugar desde otro programa (por ejemplo, un navegador en la misma mquina),
+ * enviando en cada respuesta solo las celdas que cambiaron.
+ * @author Dario A. Leal
+ */
+public class ServidorJuegos {
+
+	/**
+	 * Puerto en el que se atiende si no se indica otro.
+	 */
+	public static final int PUERTO_POR_DEFECTO = 8020;
+
+	private static final int PISTA = 0x80;
+	private static final int EN_CONFLICTO = 0x40;
+	private static final long ESPERA_MAXIMA = 30000; //En milisegundos.
+	private static final int CANT_MAXIMA_SESIONES = 100000;
+	private static final long INACTIVIDAD_MAXIMA = 30 * 60 * 1000; //En milisegundos.
+	private static final int CONEXIONES_INACTIVAS = 10000; //Conexiones abiertas sin pedidos en curso que se conservan para reutilizarlas.
+	private static final String RUTA = "/juego";
+	private static final String USO = "Uso: ServidorJuegos [-p puerto] [-m sesiones] [-i minutos de inactividad] [-b biblioteca]";
+
+	private ServicioSesiones servicio;
+	private ConcurrentHashMap<Integer, Sesion> sesiones;
+	private BibliotecaTableros biblioteca; //Puede ser null: en ese caso solo se abren juegos generados.
+	private HttpServer servidor;
+	private ExecutorService ejecutor;
+	private ScheduledExecutorService barrendero; //Cierra las sesiones inactivas.
+	private long inactividad_maxima; //En nanosegundos.
+
+	/**
+	 * Constructor. Crea el servidor sobre el puerto recibido de la mquina local. No atiende pedidos hasta que se lo inicia.
+	 * Las sesiones sin pedidos durante media hora se cierran solas.
+	 * @param puerto Puerto en el que se atienden los pedidos, o 0 para usar cualquiera libre (ver getPuerto).
+	 * @param cant_maxima_sesiones Mxima cantidad de sesiones abiertas a la vez.
+	 * @param biblioteca Biblioteca de la que se abren los juegos pedidos con el parmetro biblioteca, o null.
+	 * @throws IOException Si no puede usarse el puerto.
+	 */
+	public ServidorJuegos(int puerto, int cant_maxima_sesiones, BibliotecaTableros biblioteca) throws IOException {
+		this(puerto, cant_maxima_sesiones, biblioteca, INACTIVIDAD_MAXIMA);
+	}
+
+	/**
+	 * Constructor. Crea el servidor sobre el puerto recibido de la mquina local. No atiende pedidos hasta que se lo inicia.
+	 * @param puerto Puerto en el que se atienden los pedidos, o 0 para usar cualquiera libre (ver getPuerto).
+	 * @param cant_maxima_sesiones Mxima cantidad de sesiones abiertas a la vez.
+	 * @param biblioteca Biblioteca de la que se abren los juegos pedidos con el parmetro biblioteca, o null.
+	 * @param inactividad_maxima Milisegundos sin pedidos tras los que se cierra una sesin.
+	 * @throws IOException Si no puede usarse el puerto.
+	 */
+	public ServidorJuegos(int puerto, int cant_maxima_sesiones, BibliotecaTableros biblioteca, long inactividad_maxima) throws IOException {
+		if (inactividad_maxima <= 0) {
+			throw new IllegalArgumentException("La inactividad mxima debe ser positiva: " + inactividad_maxima);
+		}
+		//HttpServer lee su configuracin una nica vez, al crear el primer servidor, y no tiene mtodos para cambiarla.
+		//Por defecto escribe el encabezado y el cuerpo de la respuesta con TCP_NODELAY apagado: en una conexin reutilizada, el cuerpo
+		//espera a la confirmacin diferida del cliente (unos 40 ms por respuesta). Y cierra las conexiones inactivas que pasen de 200,
+		//que con muchos clientes a la vez son las que los clientes estn por reutilizar.
+		if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+			System.setProperty("sun.net.httpserver.nodelay", "true");
+		}
+		if (System.getProperty("sun.net.httpserver.maxIdleConnections") == null) {
+			System.setProperty("sun.net.httpserver.maxIdleConnections", Integer.toString(CONEXIONES_INACTIVAS));
+		}
+		servicio = new ServicioSesiones(cant_maxima_sesiones);
+		sesiones = new ConcurrentHashMap<Integer, Sesion>();
+		this.biblioteca = biblioteca;
+		servidor = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), puerto), 0);
+		servidor.createContext(RUTA, this::atender);
+		ejecutor = crearEjecutor();
+		servidor.setExecutor(ejecutor);
+		this.inactividad_maxima = TimeUnit.MILLISECONDS.toNanos(inactividad_maxima);
+		barrendero = Executors.newSingleThreadScheduledExecutor(tarea -> {
+			Thread hilo = new Thread(tarea, "ServidorJuegos-inactivas");
+			hilo.setDaemon(true);
+			return hilo;
+		});
+	}
+
+	/**
+	 * Crea un ejecutor que usa un hilo nuevo por tarea: virtual si la mquina virtual los tiene (Java 21 o posterior),
+	 * o de un pool que crea hilos a demanda y reutiliza los que quedan libres si no.
+	 * @return El ejecutor creado.
+	 */
+	public static ExecutorService crearEjecutor() {
+		try {
+			//El proyecto compila con Java 17, que no tiene hilos virtuales: el mtodo se busca al ejecutar.
+			Method metodo = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) metodo.invoke(null);
+		} catch (ReflectiveOperationException e) {
+			return Executors.newCachedThreadPool();
+		}
+	}
+
+	/**
+	 * Empieza a atender pedidos, en segundo plano.
+	 */
+	public void iniciar() {
+		servidor.start();
+		//Una sesin se cierra entre inactividad_maxima y 1,25 x inactividad_maxima despus de su ltimo pedido.
+		long periodo = Math.max(inactividad_maxima / 4, TimeUnit.MILLISECONDS.toNanos(10));
+		barrendero.scheduleWithFixedDelay(this::cerrar_inactivas, periodo, periodo, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Deja de atender pedidos y cierra todas las sesiones. Las esperas de cambios en curso terminan enseguida.
+	 */
+	public void detener() {
+		barrendero.shutdownNow();
+		servidor.stop(0);
+		for (Integer id : sesiones.keySet()) {
+			cerrar(id);
+		}
+		ejecutor.shutdown();
+	}
+
+	/**
+	 * Devuelve el puerto en el que se atienden los pedidos.
+	 * @return El puerto en el que se atienden los pedidos.
+	 */
+	public int getPuerto() {
+		return servidor.getAddress().getPort();
+	}
+
+	/**
+	 * Devuelve el servicio que administra las sesiones abiertas.
+	 * @return El servicio que administra las sesiones abiertas.
+	 */
+	public ServicioSesiones getServicio() {
+		return servicio;
+	}
+
+	private void atender(HttpExchange intercambio) throws IOException {
+		try (InputStream cuerpo = intercambio.getRequestBody()) {
+			cuerpo.transferTo(OutputStream.nullOutputStream()); //Los pedidos no tienen cuerpo, pero hay que consumirlo para reutilizar la conexin.
+		}
+		try {
+			String metodo = intercambio.getRequestMethod();
+			String[] partes = intercambio.getRequestURI().getPath().substring(RUTA.length()).split("/");
+			HashMap<String, String> parametros = leer_parametros(intercambio.getRequestURI().getRawQuery());
+			boolean json = "json".equals(parametros.get("f"));
+			if (partes.length == 0 || (partes.length == 1 && partes[0].isEmpty())) {
+				exigir_metodo(metodo, "POST");
+				responder(intercambio, 200, json, abrir(parametros, json));
+				return;
+			}
+			if (!partes[0].isEmpty()) {
+				throw new RutaInexistente(); //Ej.: "/juegos".
+			}
+			int id;
+			try {
+				id = Integer.parseInt(partes[1]);
+			} catch (NumberFormatException e) {
+				throw new RutaInexistente(); //Ej.: "/juego/abc".
+			}
+			Sesion sesion = sesiones.get(id);
+			if (sesion == null || partes.length > 3) {
+				throw new RutaInexistente();
+			}
+			sesion.ultimo_acceso = System.nanoTime();
+			String operacion = partes.length == 3 ? partes[2] : "";
+			byte[] respuesta;
+			switch (operacion) {
+				case "":
+					if (metodo.equals("DELETE")) {
+						cerrar(id);
+						responder(intercambio, 204, json, null);
+						return;
+					}
+					exigir_metodo(metodo, "GET");
+					int desde = entero(parametros.getOrDefault("desde", "0"), "desde");
+					long espera = Math.min(Math.max(entero(parametros.getOrDefault("espera", "0"), "espera"), 0), ESPERA_MAXIMA);
+					sesion.esperar_cambios(desde, espera);
+					respuesta = ejecutar(id, sesion, juego -> codificar_cambios(juego, sesion, desde, json));
+					break;
+				case "jugar":
+					exigir_metodo(metodo, "POST");
+					int fila = entero(parametros.get("fila"), "fila");
+					int columna = entero(parametros.get("columna"), "columna");
+					int valor = entero(parametros.get("valor"), "valor");
+					respuesta = ejecutar(id, sesion, juego -> {
+						int version = sesion.version;
+						if (fila < 0 || fila >= juego.getDimension() || columna < 0 || columna >= juego.getDimension()) {
+							throw new IllegalArgumentException("Celda fuera del tablero: (" + fila + ", " + columna + ")");
+						}
+						juego.jugar(fila, columna, valor);
+						return codificar_cambios(juego, sesion, version, json);
+					});
+					sesion.avisar();
+					break;
+				case "deshacer":
+				case "rehacer":
+					exigir_metodo(metodo, "POST");
+					respuesta = ejecutar(id, sesion, juego -> {
+						int version = sesion.version;
+						if (operacion.equals("deshacer")) {
+							juego.deshacer();
+						}
+						else {
+							juego.rehacer();
+						}
+						return codificar_cambios(juego, sesion, version, json);
+					});
+					sesion.avisar();
+					break;
+				case "comprobar":
+					exigir_metodo(metodo, "GET");
+					ResultadoComprobacion resultado = ejecutar(id, sesion, Juego::comprobar_resolucion);
+					respuesta = json ? ("{\"r\":\"" + resultado + "\"}").getBytes(StandardCharsets.UTF_8) : new byte[] {(byte) resultado.ordinal()};
+					break;
+				case "ayuda":
+					exigir_metodo(metodo, "GET");
+					respuesta = ejecutar(id, sesion, juego -> {
+						PasoResolucion paso = juego.crearPaso();
+						return codificar_ayuda(juego.pedirAyuda(paso), paso, json);
+					});
+					break;
+				default:
+					throw new RutaInexistente();
+			}
+			responder(intercambio, 200, json, respuesta);
+		} catch (RutaInexistente e) {
+			responder_error(intercambio, 404, "No existe la ruta o la sesin pedida.");
+		} catch (MetodoNoPermitido e) {
+			responder_error(intercambio, 405, e.getMessage());
+		} catch (IllegalArgumentException e) {
+			responder_error(intercambio, 400, e.getMessage());
+		} catch (IllegalStateException e) {
+			responder_error(intercambio, 503, e.getMessage());
+		} catch (RuntimeException e) {
+			responder_error(intercambio, 500, "Error interno: " + e);
+		}
+	}
+
+	//Abre una sesin con el juego indicado en los parmetros y codifica el estado de todas sus celdas.
+	private byte[] abrir(HashMap<String, String> parametros, boolean json) {
+		Juego juego;
+		if (parametros.containsKey("biblioteca")) {
+			if (biblioteca == null) {
+				throw new IllegalArgumentException("El servidor no tiene una biblioteca de juegos.");
+			}
+			int indice = entero(parametros.get("biblioteca"), "biblioteca");
+			if (indice < 0 || indice >= biblioteca.getCantidad()) {
+				throw new IllegalArgumentException("La biblioteca tiene " + biblioteca.getCantidad() + " juegos: " + indice);
+			}
+			juego = Juego.abrir(biblioteca, indice);
+		}
+		else {
+			int tam_panel = entero(parametros.getOrDefault("tam", "3"), "tam");
+			if (tam_panel < 2 || tam_panel > 5) {
+				throw new IllegalArgumentException("Tamao de panel fuera de rango: " + tam_panel);
+			}
+			int dimension = tam_panel * tam_panel;
+			long semilla = parametros.containsKey("semilla") ? entero_largo(parametros.get("semilla"), "semilla") : System.nanoTime();
+			int cant_pistas = entero(parametros.getOrDefault("pistas", Integer.toString(dimension * dimension * 30 / 81)), "pistas");
+			if (cant_pistas < 0 || cant_pistas > dimension * dimension) {
+				throw new IllegalArgumentException("Cantidad de pistas fuera de rango: " + cant_pistas);
+			}
+			juego = Juego.generar(tam_panel, semilla, cant_pistas);
+		}
+		Sesion sesion = new Sesion(juego.getDimension());
+		juego.agregarOyente(sesion);
+		int id = servicio.crear(juego);
+		sesiones.put(id, sesion);
+		byte[] cambios = servicio.ejecutar(id, j -> codificar_cambios(j, sesion, -1, json));
+		if (json) {
+			String encabezado = "{\"id\":" + id + ",\"tam\":" + juego.getTamPanel() + ",";
+			return (encabezado + new String(cambios, 1, cambios.length - 1, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+		}
+		return ByteBuffer.allocate(5 + cambios.length).putInt(id).put((byte) juego.getTamPanel()).put(cambios).array();
+	}
+
+	private void cerrar(int id) {
+		Sesion sesion = sesiones.remove(id);
+		servicio.cerrar(id);
+		if (sesion != null) {
+			sesion.cerrada = true;
+			sesion.avisar();
+		}
+	}
+
+	//Ejecuta la operacin sobre el juego de la sesin. Si otra conexin (o el cierre por inactividad) cerr la sesin
+	//mientras se atenda el pedido, responde 404 como si la sesin no hubiera existido.
+	private <T> T ejecutar(int id, Sesion sesion, Function<Juego, T> operacion) {
+		if (sesion.cerrada) {
+			throw new RutaInexistente();
+		}
+		try {
+			return servicio.ejecutar(id, operacion);
+		} catch (IllegalArgumentException e) {
+			if (sesion.cerrada || !servicio.existe(id)) {
+				throw new RutaInexistente();
+			}
+			throw e;
+		}
+	}
+
+	private void cerrar_inactivas() {
+		long ahora = System.nanoTime();
+		sesiones.forEach((id, sesion) -> {
+			if (ahora - sesion.ultimo_acceso > inactividad_maxima && !sesion.esperando()) {
+				cerrar(id);
+			}
+		});
+	}
+
+	//Codifica las celdas cambiadas despus de la versin recibida. Debe invocarse con el monitor del juego tomado (ver ServicioSesiones.ejecutar).
+	private static byte[] codificar_cambios(Juego juego, Sesion sesion, int desde, boolean json) {
+		int dimension = juego.getDimension(), cant = 0;
+		int[] version_celda = sesion.version_celda;
+		for (int k = 0; k < version_celda.length; k++) {
+			cant += version_celda[k] > desde ? 1 : 0;
+		}
+		ResultadoComprobacion resultado = juego.comprobar_resolucion();
+		if (json) {
+			StringBuilder texto = new StringBuilder(40 + 8 * cant);
+			texto.append("{\"v\":").append(sesion.version).append(",\"r\":\"").append(resultado).append("\",\"d\":[");
+			for (int k = 0; k < version_celda.length; k++) {
+				if (version_celda[k] > desde) {
+					texto.append(texto.charAt(texto.length() - 1) == '[' ? "" : ",").append(k).append(',').append(estado(juego, k / dimension, k % dimension));
+				}
+			}
+			return texto.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+		}
+		ByteBuffer destino = ByteBuffer.allocate(7 + 3 * cant);
+		destino.putInt(sesion.version).put((byte) resultado.ordinal()).putShort((short) cant);
+		for (int k = 0; k < version_celda.length; k++) {
+			if (version_celda[k] > desde) {
+				destino.putShort((short) k).put((byte) estado(juego, k / dimension, k % dimension));
+			}
+		}
+		return destino.array();
+	}
+
+	private static int estado(Juego juego, int fila, int columna) {
+		return juego.getValor(fila, columna) | (juego.esPista(fila, columna) ? PISTA : 0) | (juego.estaEnConflicto(fila, columna) ? EN_CONFLICTO : 0);
+	}
+
+	private static byte[] codificar_ayuda(ResultadoAyuda resultado, PasoResolucion paso, boolean json) {
+		boolean hay_paso = resultado == ResultadoAyuda.PASO;
+		if (json) {
+			StringBuilder texto = new StringBuilder("{\"r\":\"").append(resultado).append('"');
+			if (hay_paso) {
+				texto.append(",\"t\":\"").append(paso.getTecnica()).append("\",\"c\":").append(paso.getCelda()).append(",\"v\":").append(paso.getValor());
+				texto.append(",\"x\":[");
+				for (int k = 0; k < paso.getCantidadDescartes(); k++) {
+					texto.append(k == 0 ? "" : ",").append(paso.getCeldaConDescarte(k)).append(',').append(paso.getValoresDescartados(k));
+				}
+				texto.append("],\"i\":[");
+				for (int k = 0; k < paso.getCantidadInvolucradas(); k++) {
+					texto.append(k == 0 ? "" : ",").append(paso.getCeldaInvolucrada(k));
+				}
+				texto.append(']');
+			}
+			return texto.append('}').toString().getBytes(StandardCharsets.UTF_8);
+		}
+		if (!hay_paso) {
+			return new byte[] {(byte) resultado.ordinal()};
+		}
+		ByteBuffer destino = ByteBuffer.allocate(9 + 6 * paso.getCantidadDescartes() + 2 * paso.getCantidadInvolucradas());
+		destino.put((byte) resultado.ordinal()).put((byte) paso.getTecnica().ordinal());
+		destino.putShort((short) paso.getCelda()).put((byte) paso.getValor());
+		destino.putShort((short) paso.getCantidadDescartes());
+		for (int k = 0; k < paso.getCantidadDescartes(); k++) {
+			destino.putShort((short) paso.getCeldaConDescarte(k)).putInt(paso.getValoresDescartados(k));
+		}
+		destino.putShort((short) paso.getCantidadInvolucradas());
+		for (int k = 0; k < paso.getCantidadInvolucradas(); k++) {
+			destino.putShort((short) paso.getCeldaInvolucrada(k));
+		}
+		return destino.array();
+	}
+
+	private static HashMap<String, String> leer_parametros(String consulta) {
+		HashMap<String, String> parametros = new HashMap<String, String>();
+		if (consulta != null) {
+			for (String parametro : consulta.split("&")) {
+				int igual = parametro.indexOf('=');
+				if (igual > 0) {
+					parametros.put(parametro.substring(0, igual), parametro.substring(igual + 1));
+				}
+			}
+		}
+		return parametros;
+	}
+
+	private static int entero(String texto, String nombre) {
+		if (texto == null) {
+			throw new IllegalArgumentException("Falta el parmetro " + nombre + ".");
+		}
+		try {
+			return Integer.parseInt(texto);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("El parmetro " + nombre + " no es un nmero: " + texto);
+		}
+	}
+
+	private static long entero_largo(String texto, String nombre) {
+		try {
+			return Long.parseLong(texto);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("El parmetro " + nombre + " no es un nmero: " + texto);
+		}
+	}
+
+	private static void exigir_metodo(String metodo, String esperado) {
+		if (!metodo.equals(esperado)) {
+			throw new MetodoNoPermitido("Se esperaba " + esperado + ", no " + metodo + ".");
+		}
+	}
+
+	private static void responder(HttpExchange intercambio, int codigo, boolean json, byte[] cuerpo) throws IOException {
+		if (cuerpo == null) {
+			intercambio.sendResponseHeaders(codigo, -1);
+			intercambio.close();
+			return;
+		}
+		intercambio.getResponseHeaders().set("Content-Type", json ? "application/json" : "application/octet-stream");
+		intercambio.sendResponseHeaders(codigo, cuerpo.length);
+		try (OutputStream salida = intercambio.getResponseBody()) {
+			salida.write(cuerpo);
+		}
+	}
+
+	private static void responder_error(HttpExchange intercambio, int codigo, String mensaje) throws IOException {
+		byte[] cuerpo = (mensaje == null ? "" : mensaje).getBytes(StandardCharsets.UTF_8);
+		intercambio.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+		intercambio.sendResponseHeaders(codigo, cuerpo.length == 0 ? -1 : cuerpo.length);
+		try (OutputStream salida = intercambio.getResponseBody()) {
+			salida.write(cuerpo);
+		}
+	}
+
+	//Errores propios del protocolo, que se responden con su cdigo HTTP.
+	private static class RutaInexistente extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+	}
+
+	private static class MetodoNoPermitido extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		MetodoNoPermitido(String mensaje) {
+			super(mensaje);
+		}
+	}
+
+	/*
+	 * Versiones de los cambios de una sesin. El juego avisa cada cambio (con su monitor tomado, ver ServicioSesiones),
+	 * y quien hizo la operacin despierta luego a las conexiones que esperan cambios (ver avisar).
+	 */
+	private static class Sesion implements OyenteJuego {
+
+		private int dimension;
+		private int[] version_celda; //Versin del ltimo cambio de cada celda, recorridas por filas. 0 si no cambi desde que se abri la sesin.
+		private volatile int version;
+		private volatile boolean cerrada;
+		private volatile long ultimo_acceso = System.nanoTime(); //Del ltimo pedido, con System.nanoTime.
+		private ReentrantLock cerrojo = new ReentrantLock();
+		private Condition cambio = cerrojo.newCondition();
+
+		Sesion(int dimension) {
+			this.dimension = dimension;
+			version_celda = new int[dimension * dimension];
+		}
+
+		public void celdaActualizada(int fila, int columna) {
+			version_celda[fila * dimension + columna] = ++version;
+		}
+
+		public void conflictoActualizado(int fila, int columna, boolean en_conflicto) {
+			version_celda[fila * dimension + columna] = ++version;
+		}
+
+		public void tableroReiniciado() {
+			int nueva = ++version;
+			for (int k = 0; k < version_celda.length; k++) {
+				version_celda[k] = nueva;
+			}
+		}
+
+		public void juegoResuelto() {
+			//El resultado de la comprobacin viaja con cada respuesta de cambios.
+		}
+
+		//Espera, a lo sumo la cantidad de milisegundos recibida, a que la sesin pase la versin recibida o se cierre.
+		void esperar_cambios(int desde, long espera) {
+			long restante = TimeUnit.MILLISECONDS.toNanos(espera);
+			cerrojo.lock();
+			try {
+				while (!cerrada && version <= desde && restante > 0) {
+					restante = cambio.awaitNanos(restante);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				cerrojo.unlock();
+			}
+			ultimo_acceso = System.nanoTime();
+		}
+
+		//Indica si hay conexiones esperando cambios: mientras tanto la sesin no est inactiva.
+		boolean esperando() {
+			cerrojo.lock();
+			try {
+				return cerrojo.hasWaiters(cambio);
+			} finally {
+				cerrojo.unlock();
+			}
+		}
+
+		void avisar() {
+			cerrojo.lock();
+			try {
+				cambio.signalAll();
+			} finally {
+				cerrojo.unlock();
+			}
+		}
+
+	}
+
+	/**
+	 * Inicia el servidor y lo deja atendiendo pedidos hasta que se termina el proceso.
+	 * @param args Opciones: -p puerto, -m mxima cantidad de sesiones, -i minutos sin pedidos tras los que se cierra una sesin, -b archivo de biblioteca (por defecto, la biblioteca incluida).
+	 */
+	public static void main(String[] args) {
+		int puerto = PUERTO_POR_DEFECTO, cant_maxima_sesiones = CANT_MAXIMA_SESIONES;
+		long inactividad_maxima = INACTIVIDAD_MAXIMA;
+		String archivo_biblioteca = null;
+		try {
+			for (int k = 0; k < args.length; k++) {
+				switch (args[k]) {
+					case "-p":
+						puerto = Integer.parseInt(args[++k]);
+						break;
+					case "-m":
+						cant_maxima_sesiones = Integer.parseInt(args[++k]);
+						break;
+					case "-i":
+						inactividad_maxima = TimeUnit.MINUTES.toMillis(Long.parseLong(args[++k]));
+						if (inactividad_maxima <= 0) {
+							throw new IllegalArgumentException("Los minutos de inactividad deben ser positivos.");
+						}
+						break;
+					case "-b":
+						archivo_biblioteca = args[++k];
+						break;
+					default:
+						throw new IllegalArgumentException("Opcin desconocida: " + args[k]);
+				}
+			}
+		} catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+			if (e instanceof IllegalArgumentException) {
+				System.err.println(e.getMessage());
+			}
+			System.err.println(USO);
+			System.exit(1);
+			return;
+		}
+		try {
+			BibliotecaTableros biblioteca = archivo_biblioteca == null ? BibliotecaTableros.abrirRecurso("/txt/biblioteca9x9.sdk")
+					: BibliotecaTableros.abrir(Paths.get(archivo_biblioteca));
+			ServidorJuegos servidor = new ServidorJuegos(puerto, cant_maxima_sesiones, biblioteca, inactividad_maxima);
+			servidor.iniciar();
+			System.err.println("Atendiendo en http://localhost:" + servidor.getPuerto() + RUTA
+					+ (biblioteca == null ? "" : " (" + biblioteca.getCantidad() + " juegos en la biblioteca)") + ".");
+		} catch (IOException e) {
+			System.err.println("No se pudo iniciar el servidor: " + e.getMessage());
+			System.exit(1);
+		}
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,250 @@
+package logica;
+
+import java.util.Random;
+
+/*
+ * Trabaja sobre un tablero compacto: un arreglo de DIMENSION x DIMENSION enteros recorrido por filas, donde 0 indica una celda vaca.
+ * Para cada fila, columna y panel se mantiene una mscara de bits con los valores ya usados (el bit v-1 representa al valor v),
+ * as los candidatos de una celda se obtienen con un par de operaciones, sin recorrer el tablero.
+ * La bsqueda elige siempre la celda vaca con menos candidatos (la ms restringida), lo que reduce mucho el backtracking.
+ * Una misma instancia puede reutilizarse para resolver muchos tableros sin crear estructuras nuevas.
+ */
+
+/**
+ * Resuelve juegos de sudoku y cuenta sus soluciones.
+ * @author Dario A. Leal
+ */
+public class Solucionador {
+
+	private int dimension;
+	private int cant_celdas;
+	private int completo; //Mscara con un bit por cada valor posible.
+	private int[] fila_de, columna_de, panel_de; //Coordenadas precalculadas de cada celda.
+	private int[] mascara_fila, mascara_columna, mascara_panel;
+	private int[] vacias; //ndices de las celdas vacas. Las primeras 'profundidad' ya tienen un valor asignado en la bsqueda.
+	private int cant_vacias;
+	private int[] grilla;
+	private int[] solucion;
+	private int soluciones, limite;
+	private Random aleatorio; //Si no es null, los candidatos de cada celda se prueban en orden aleatorio.
+	private long limite_nodos; //Mxima cantidad de valores a probar en una bsqueda (0 = sin lmite).
+	private long nodos;
+	private boolean interrumpida;
+
+	/**
+	 * Constructor. Crea un solucionador para el tablero clsico de 9 x 9.
+	 */
+	public Solucionador() {
+		this(3);
+	}
+
+	/**
+	 * Constructor. Crea un solucionador para tableros con paneles de tam_panel x tam_panel celdas.
+	 * @param tam_panel Cantidad de filas (y columnas) de un panel. El tablero tiene tam_panel^2 filas y columnas.
+	 */
+	public Solucionador(int tam_panel) {
+		dimension = tam_panel * tam_panel;
+		cant_celdas = dimension * dimension;
+		completo = (1 << dimension) - 1;
+		fila_de = new int[cant_celdas];
+		columna_de = new int[cant_celdas];
+		panel_de = new int[cant_celdas];
+		for (int i = 0; i < cant_celdas; i++) {
+			fila_de[i] = i / dimension;
+			columna_de[i] = i % dimension;
+			panel_de[i] = (fila_de[i] / tam_panel) * tam_panel + columna_de[i] / tam_panel;
+		}
+		mascara_fila = new int[dimension];
+		mascara_columna = new int[dimension];
+		mascara_panel = new int[dimension];
+		vacias = new int[cant_celdas];
+		solucion = new int[cant_celdas];
+	}
+
+	/**
+	 * Resuelve el tablero recibido. Si tiene solucin, el arreglo queda completo con ella.
+	 * @param grilla Tablero recorrido por filas, con 0 en las celdas vacas.
+	 * @return True si el tablero tiene solucin, false en caso contrario (el arreglo no se modifica).
+	 */
+	public boolean resolver(int[] grilla) {
+		if (buscarSoluciones(grilla, 1) == 0) {
+			return false;
+		}
+		System.arraycopy(solucion, 0, grilla, 0, cant_celdas);
+		return true;
+	}
+
+	/**
+	 * Resuelve el tablero recibido. Si tiene solucin, la matriz queda completa con ella.
+	 * @param matriz Tablero de DIMENSION x DIMENSION, con 0 en las celdas vacas.
+	 * @return True si el tablero tiene solucin, false en caso contrario (la matriz no se modifica).
+	 */
+	public boolean resolver(int[][] matriz) {
+		int[] grilla = new int[cant_celdas];
+		for (int i = 0; i < dimension; i++) {
+			System.arraycopy(matriz[i], 0, grilla, i * dimension, dimension);
+		}
+		if (!resolver(grilla)) {
+			return false;
+		}
+		for (int i = 0; i < dimension; i++) {
+			System.arraycopy(grilla, i * dimension, matriz[i], 0, dimension);
+		}
+		return true;
+	}
+
+	/**
+	 * Resuelve el tablero tal como lo tiene el jugador en este momento (pistas y valores elegidos).
+	 * @param juego Juego cuyo estado actual se quiere resolver.
+	 * @return Un tablero recorrido por filas con la solucin, o null si el estado actual no tiene solucin.
+	 */
+	public int[] resolver(Juego juego) {
+		int[] grilla = new int[cant_celdas];
+		juego.copiarValores(grilla);
+		return resolver(grilla) ? grilla : null;
+	}
+
+	/**
+	 * Cuenta las soluciones del tablero recibido, deteniendo la bsqueda al alcanzar el lmite.
+	 * Ej.: con limite = 2 alcanza para saber si un juego tiene solucin nica.
+	 * @param grilla Tablero recorrido por filas, con 0 en las celdas vacas. No se modifica.
+	 * @param limite Cantidad de soluciones a partir de la cual se deja de buscar.
+	 * @return La cantidad de soluciones encontradas, que nunca supera el lmite.
+	 */
+	public int contarSoluciones(int[] grilla, int limite) {
+		return buscarSoluciones(grilla, limite);
+	}
+
+	/**
+	 * Hace que los candidatos de cada celda se prueben en orden aleatorio, en lugar de ascendente.
+	 * Sirve para obtener tableros completos al azar resolviendo tableros casi vacos.
+	 * @param aleatorio Generador de nmeros aleatorios a usar, o null para volver al orden ascendente.
+	 */
+	public void setAleatorio(Random aleatorio) {
+		this.aleatorio = aleatorio;
+	}
+
+	/**
+	 * Limita la cantidad de valores que se prueban en cada bsqueda. Al alcanzar el lmite la bsqueda se interrumpe,
+	 * lo que se informa con fueInterrumpida(). Sirve para acotar el tiempo en tableros grandes con muchas celdas vacas.
+	 * @param limite_nodos Mxima cantidad de valores a probar en una bsqueda, o 0 para no limitarla.
+	 */
+	public void setLimiteNodos(long limite_nodos) {
+		this.limite_nodos = limite_nodos;
+	}
+
+	/**
+	 * Indica si la ltima bsqueda se interrumpi por alcanzar el lmite de nodos. En ese caso la cantidad de soluciones informada puede ser menor a la real.
+	 * @return True si la ltima bsqueda se interrumpi, false si termin normalmente.
+	 */
+	public boolean fueInterrumpida() {
+		return interrumpida;
+	}
+
+	/**
+	 * Devuelve la dimensin de los tableros con los que trabaja el solucionador.
+	 * @return Dimensin de los tableros con los que trabaja el solucionador.
+	 */
+	public int getDimension() {
+		return dimension;
+	}
+
+	private int buscarSoluciones(int[] grilla, int limite) {
+		this.grilla = grilla;
+		this.limite = limite;
+		soluciones = 0;
+		nodos = 0;
+		interrumpida = false;
+		if (preparar()) {
+			buscar(0);
+		}
+		this.grilla = null;
+		return soluciones;
+	}
+
+	//Arma las mscaras a partir de los valores del tablero. Devuelve false si los valores ya violan alguna regla.
+	private boolean preparar() {
+		int valor, bit, celda;
+		for (int i = 0; i < dimension; i++) {
+			mascara_fila[i] = mascara_columna[i] = mascara_panel[i] = 0;
+		}
+		cant_vacias = 0;
+		for (celda = 0; celda < cant_celdas; celda++) {
+			valor = grilla[celda];
+			if (valor == 0) {
+				vacias[cant_vacias++] = celda;
+			}
+			else {
+				if (valor < 1 || valor > dimension) {
+					return false;
+				}
+				bit = 1 << (valor - 1);
+				if (((mascara_fila[fila_de[celda]] | mascara_columna[columna_de[celda]] | mascara_panel[panel_de[celda]]) & bit) != 0) {
+					return false;
+				}
+				mascara_fila[fila_de[celda]] |= bit;
+				mascara_columna[columna_de[celda]] |= bit;
+				mascara_panel[panel_de[celda]] |= bit;
+			}
+		}
+		return true;
+	}
+
+	private void buscar(int profundidad) {
+		if (profundidad == cant_vacias) {
+			if (soluciones == 0) {
+				System.arraycopy(grilla, 0, solucion, 0, cant_celdas);
+			}
+			soluciones++;
+			return;
+		}
+
+		//Se elige la celda vaca con menos candidatos. Si alguna no tiene ninguno, esta rama no lleva a una solucin.
+		int mejor = profundidad, mejor_cant = dimension + 1, candidatos = 0, celda, cand, cant;
+		for (int k = profundidad; k < cant_vacias && mejor_cant > 1; k++) {
+			celda = vacias[k];
+			cand = completo & ~(mascara_fila[fila_de[celda]] | mascara_columna[columna_de[celda]] | mascara_panel[panel_de[celda]]);
+			cant = Integer.bitCount(cand);
+			if (cant < mejor_cant) {
+				mejor = k;
+				mejor_cant = cant;
+				candidatos = cand;
+			}
+		}
+		if (mejor_cant == 0) {
+			return;
+		}
+
+		celda = vacias[mejor];
+		vacias[mejor] = vacias[profundidad];
+		vacias[profundidad] = celda;
+		int f = fila_de[celda], c = columna_de[celda], p = panel_de[celda], bit;
+
+		while (candidatos != 0 && soluciones < limite && !interrumpida) {
+			if (limite_nodos > 0 && ++nodos > limite_nodos) {
+				interrumpida = true;
+				break;
+			}
+			bit = aleatorio == null ? candidatos & -candidatos : elegirAlAzar(candidatos);
+			candidatos ^= bit;
+			mascara_fila[f] |= bit;
+			mascara_columna[c] |= bit;
+			mascara_panel[p] |= bit;
+			grilla[celda] = Integer.numberOfTrailingZeros(bit) + 1;
+			buscar(profundidad + 1);
+			mascara_fila[f] ^= bit;
+			mascara_columna[c] ^= bit;
+			mascara_panel[p] ^= bit;
+		}
+		grilla[celda] = 0;
+	}
+
+	//Devuelve uno de los bits encendidos de la mscara, elegido al azar.
+	private int elegirAlAzar(int mascara) {
+		for (int k = aleatorio.nextInt(Integer.bitCount(mascara)); k > 0; k--) {
+			mascara &= mascara - 1;
+		}
+		return mascara & -mascara;
+	}
+
+}
\ No newline at end of file
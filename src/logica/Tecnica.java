@@ -0,0 +1,95 @@
+package logica;
+
+/**
+ * Tcnicas de resolucin que usa una persona para avanzar en un juego, de la ms sencilla a la ms difcil (ver MotorTecnicas).
+ * @author Dario A. Leal
+ */
+public enum Tecnica {
+
+	/**
+	 * En una fila, columna o panel hay un nico lugar posible para un valor.
+	 */
+	SIMPLE_OCULTO("nico lugar", NivelDificultad.FACIL),
+
+	/**
+	 * Una celda tiene un nico candidato.
+	 */
+	SIMPLE_DESNUDO("nico candidato", NivelDificultad.FACIL),
+
+	/**
+	 * Los candidatos de un valor en un panel estn todos en una misma fila o columna (o los de una fila o columna, en un mismo panel):
+	 * el valor se descarta del resto de esa fila, columna o panel.
+	 */
+	INTERSECCION("Interseccin", NivelDificultad.INTERMEDIO),
+
+	/**
+	 * Dos celdas de una fila, columna o panel tienen los mismos dos candidatos: se descartan del resto de la fila, columna o panel.
+	 */
+	PAR_DESNUDO("Par desnudo", NivelDificultad.DIFICIL),
+
+	/**
+	 * Dos valores de una fila, columna o panel solo pueden ir en las mismas dos celdas: se descartan los dems candidatos de esas celdas.
+	 */
+	PAR_OCULTO("Par oculto", NivelDificultad.DIFICIL),
+
+	/**
+	 * Tres celdas de una fila, columna o panel tienen entre todas solo tres candidatos: se descartan del resto de la fila, columna o panel.
+	 */
+	TRIO_DESNUDO("Tro desnudo", NivelDificultad.DIFICIL),
+
+	/**
+	 * Un valor solo puede ir en las mismas dos columnas en dos filas (o en las mismas dos filas en dos columnas):
+	 * se descarta del resto de esas columnas (o filas).
+	 */
+	X_WING("X-Wing", NivelDificultad.EXPERTO),
+
+	/**
+	 * Ninguna de las tcnicas anteriores permite avanzar: hay que probar un valor y ver si lleva a una contradiccin.
+	 */
+	PRUEBA_Y_ERROR("Prueba y error", NivelDificultad.DIABOLICO);
+
+	private static final Tecnica[] TECNICAS = values();
+
+	private String nombre;
+	private NivelDificultad nivel;
+
+	private Tecnica(String nombre, NivelDificultad nivel) {
+		this.nombre = nombre;
+		this.nivel = nivel;
+	}
+
+	/**
+	 * Devuelve el nombre de la tcnica, para mostrarlo al jugador.
+	 * @return Nombre de la tcnica.
+	 */
+	public String getNombre() {
+		return nombre;
+	}
+
+	/**
+	 * Devuelve el nivel de dificultad de los juegos que necesitan esta tcnica (y ninguna ms difcil).
+	 * @return Nivel de dificultad de la tcnica.
+	 */
+	public NivelDificultad getNivel() {
+		return nivel;
+	}
+
+	/**
+	 * Devuelve el puntaje de la tcnica: 1 para la ms sencilla, y as siguiendo. Es el valor que se guarda como dificultad
+	 * de un juego en una biblioteca (ver BibliotecaTableros), donde 0 indica que el juego no fue calificado.
+	 * @return Puntaje de la tcnica, entre 1 y la cantidad de tcnicas.
+	 */
+	public int getPuntaje() {
+		return ordinal() + 1;
+	}
+
+	/**
+	 * Devuelve la tcnica con el puntaje recibido.
+	 * @param puntaje Puntaje de la tcnica (ver getPuntaje).
+	 * @return La tcnica con ese puntaje, o null si el puntaje es 0 o est fuera de rango.
+	 */
+	public static Tecnica desdePuntaje(int puntaje) {
+		return puntaje < 1 || puntaje > TECNICAS.length ? null : TECNICAS[puntaje - 1];
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,197 @@
+package logica;
+
+/*
+ * Un tablero completo es vlido si cada fila, cada columna y cada panel contienen todos los valores de 1 a DIMENSION sin repetir.
+ * Se recorre el tablero una sola vez: para cada fila, columna y panel se mantiene una mscara de bits con los valores ya vistos
+ * (el bit v-1 representa al valor v), as detectar un repetido cuesta una operacin y no se crea ninguna estructura.
+ * Ante el primer error se detiene y recuerda dnde estaba, para poder informarlo.
+ */
+
+/**
+ * Controla que un tablero completo respete las reglas del juego.
+ * @author Dario A. Leal
+ */
+public class ValidadorTablero {
+
+	/**
+	 * Tipo de unidad en la que se encontr el error: una fila del tablero.
+	 */
+	public static final int FILA = 0;
+	/**
+	 * Tipo de unidad en la que se encontr el error: una columna del tablero.
+	 */
+	public static final int COLUMNA = 1;
+	/**
+	 * Tipo de unidad en la que se encontr el error: un panel del tablero.
+	 */
+	public static final int PANEL = 2;
+	/**
+	 * Indica que el error es un valor fuera de rango (o una celda vaca), ubicado en la fila informada.
+	 */
+	public static final int FUERA_DE_RANGO = 3;
+
+	private static final String[] NOMBRES_UNIDADES = {"la fila", "la columna", "el panel", "la fila"};
+
+	private int tam_panel;
+	private int dimension;
+	private int[] mascara_fila, mascara_columna, mascara_panel;
+	private int tipo_unidad_error, indice_unidad_error, valor_error;
+
+	/**
+	 * Constructor. Crea un validador para el tablero clsico de 9 x 9.
+	 */
+	public ValidadorTablero() {
+		this(3);
+	}
+
+	/**
+	 * Constructor. Crea un validador para tableros con paneles de tam_panel x tam_panel celdas.
+	 * @param tam_panel Cantidad de filas (y columnas) de un panel.
+	 */
+	public ValidadorTablero(int tam_panel) {
+		this.tam_panel = tam_panel;
+		dimension = tam_panel * tam_panel;
+		mascara_fila = new int[dimension];
+		mascara_columna = new int[dimension];
+		mascara_panel = new int[dimension];
+		tipo_unidad_error = indice_unidad_error = valor_error = -1;
+	}
+
+	/**
+	 * Controla que el tablero recibido sea vlido. Si no lo es, el error queda disponible con getTipoUnidadError, getIndiceUnidadError y getValorError.
+	 * @param tablero Matriz de DIMENSION x DIMENSION con un tablero completo.
+	 * @return True si el tablero es vlido, false en caso contrario.
+	 */
+	public boolean validar(int[][] tablero) {
+		limpiar();
+		for (int i = 0; i < dimension; i++) {
+			for (int j = 0; j < dimension; j++) {
+				if (!agregar(i, j, tablero[i][j])) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Controla que el tablero recibido sea vlido. Si no lo es, el error queda disponible con getTipoUnidadError, getIndiceUnidadError y getValorError.
+	 * @param grilla Tablero completo recorrido por filas.
+	 * @return True si el tablero es vlido, false en caso contrario.
+	 */
+	public boolean validar(int[] grilla) {
+		limpiar();
+		for (int k = 0; k < dimension * dimension; k++) {
+			if (!agregar(k / dimension, k % dimension, grilla[k])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Controla que un tablero incompleto respete las reglas: los valores presentes deben estar en rango y no repetirse.
+	 * Las celdas vacas no se controlan. Si no es vlido, el error queda disponible igual que con validar.
+	 * @param grilla Tablero recorrido por filas, con 0 en las celdas vacas.
+	 * @return True si ningn valor est fuera de rango ni se repite en su fila, columna o panel, false en caso contrario.
+	 */
+	public boolean validarPistas(int[] grilla) {
+		limpiar();
+		for (int k = 0; k < dimension * dimension; k++) {
+			if (grilla[k] != 0 && !agregar(k / dimension, k % dimension, grilla[k])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Controla cada uno de los tableros recibidos.
+	 * @param tableros Arreglo de tableros completos, cada uno una matriz de DIMENSION x DIMENSION.
+	 * @return Un arreglo que indica, para cada tablero y en el mismo orden, si es vlido.
+	 */
+	public boolean[] validar(int[][][] tableros) {
+		boolean[] validos = new boolean[tableros.length];
+		for (int k = 0; k < tableros.length; k++) {
+			validos[k] = validar(tableros[k]);
+		}
+		return validos;
+	}
+
+	/**
+	 * Devuelve el tipo de unidad en la que se encontr el error en la ltima validacin (FILA, COLUMNA, PANEL o FUERA_DE_RANGO).
+	 * @return El tipo de unidad del error, o -1 si el ltimo tablero validado era vlido.
+	 */
+	public int getTipoUnidadError() {
+		return tipo_unidad_error;
+	}
+
+	/**
+	 * Devuelve el ndice (desde 0) de la fila, columna o panel en la que se encontr el error en la ltima validacin.
+	 * Los paneles se numeran de izquierda a derecha y de arriba hacia abajo.
+	 * @return El ndice de la unidad del error, o -1 si el ltimo tablero validado era vlido.
+	 */
+	public int getIndiceUnidadError() {
+		return indice_unidad_error;
+	}
+
+	/**
+	 * Devuelve el valor repetido (o fuera de rango) que provoc el error en la ltima validacin.
+	 * @return El valor que provoc el error, o -1 si el ltimo tablero validado era vlido.
+	 */
+	public int getValorError() {
+		return valor_error;
+	}
+
+	/**
+	 * Describe el error encontrado en la ltima validacin. Ej.: "el panel 4 repite el 7".
+	 * Las unidades se numeran desde 1 para que el texto pueda mostrarse al usuario.
+	 * @return Una descripcin del error, o una cadena vaca si el ltimo tablero validado era vlido.
+	 */
+	public String getDescripcionError() {
+		if (tipo_unidad_error == -1) {
+			return "";
+		}
+		if (tipo_unidad_error == FUERA_DE_RANGO) {
+			return NOMBRES_UNIDADES[FUERA_DE_RANGO] + " " + (indice_unidad_error + 1) + " tiene un valor fuera de rango (" + valor_error + ")";
+		}
+		return NOMBRES_UNIDADES[tipo_unidad_error] + " " + (indice_unidad_error + 1) + " repite el " + valor_error;
+	}
+
+	private void limpiar() {
+		for (int i = 0; i < dimension; i++) {
+			mascara_fila[i] = mascara_columna[i] = mascara_panel[i] = 0;
+		}
+		tipo_unidad_error = indice_unidad_error = valor_error = -1;
+	}
+
+	//Registra el valor de la celda (fila, columna). Devuelve false y recuerda el error si el valor no es vlido o ya estaba en su fila, columna o panel.
+	private boolean agregar(int fila, int columna, int valor) {
+		if (valor < 1 || valor > dimension) {
+			return error(FUERA_DE_RANGO, fila, valor);
+		}
+		int bit = 1 << (valor - 1);
+		int panel = (fila / tam_panel) * tam_panel + columna / tam_panel;
+		if ((mascara_fila[fila] & bit) != 0) {
+			return error(FILA, fila, valor);
+		}
+		if ((mascara_columna[columna] & bit) != 0) {
+			return error(COLUMNA, columna, valor);
+		}
+		if ((mascara_panel[panel] & bit) != 0) {
+			return error(PANEL, panel, valor);
+		}
+		mascara_fila[fila] |= bit;
+		mascara_columna[columna] |= bit;
+		mascara_panel[panel] |= bit;
+		return true;
+	}
+
+	private boolean error(int tipo_unidad, int indice_unidad, int valor) {
+		tipo_unidad_error = tipo_unidad;
+		indice_unidad_error = indice_unidad;
+		valor_error = valor;
+		return false;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+package gui;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Pruebas del guardado automtico de la partida, sobre un archivo en una carpeta temporal.
+ * @author Dario A. Leal
+ */
+public class GuardadoAutomaticoTest {
+
+	@TempDir
+	Path carpeta;
+
+	@Test
+	public void varios_pedidos_seguidos_guardan_solo_el_ultimo() throws Exception {
+		Path archivo = carpeta.resolve("partida").resolve("partida.sav");
+		GuardadoAutomatico guardado = new GuardadoAutomatico(archivo, 300);
+		for (byte k = 1; k <= 20; k++) {
+			guardado.guardar(new byte[] {k, k, k});
+		}
+		//Nada se escribe antes de la demora: los pedidos se acumulan en una nica escritura.
+		assertFalse(Files.exists(archivo));
+		long limite = System.currentTimeMillis() + 5000;
+		while (!Files.exists(archivo) && System.currentTimeMillis() < limite) {
+			Thread.sleep(20);
+		}
+		assertArrayEquals(new byte[] {20, 20, 20}, guardado.leer());
+		guardado.cerrar();
+		assertArrayEquals(new byte[] {20, 20, 20}, Files.readAllBytes(archivo));
+		assertFalse(Files.exists(archivo.resolveSibling("partida.sav.tmp")));
+	}
+
+	@Test
+	public void cerrar_escribe_lo_pendiente() {
+		Path archivo = carpeta.resolve("partida.sav");
+		GuardadoAutomatico guardado = new GuardadoAutomatico(archivo, 60000);
+		guardado.guardar(new byte[] {1, 2, 3});
+		assertNull(guardado.leer());
+		guardado.cerrar();
+		assertArrayEquals(new byte[] {1, 2, 3}, guardado.leer());
+
+		//Luego de cerrar, los pedidos no tienen efecto.
+		guardado.guardar(new byte[] {4});
+		guardado.borrar();
+		assertArrayEquals(new byte[] {1, 2, 3}, guardado.leer());
+	}
+
+	@Test
+	public void borrar_luego_de_guardar_no_deja_archivo() throws Exception {
+		Path archivo = carpeta.resolve("partida.sav");
+		GuardadoAutomatico anterior = new GuardadoAutomatico(archivo, 0);
+		anterior.guardar(new byte[] {1});
+		anterior.cerrar();
+		assertTrue(Files.exists(archivo));
+
+		//Un pedido pendiente y el archivo ya guardado se descartan.
+		GuardadoAutomatico guardado = new GuardadoAutomatico(archivo, 100);
+		guardado.guardar(new byte[] {2});
+		guardado.borrar();
+		Thread.sleep(300);
+		guardado.cerrar();
+		assertFalse(Files.exists(archivo));
+		assertNull(guardado.leer());
+	}
+
+}
\ No newline at end of file
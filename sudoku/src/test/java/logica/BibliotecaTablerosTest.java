@@ -0,0 +1,127 @@
+package logica;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Pruebas de la biblioteca de juegos: lo que se escribe con EscritorBiblioteca se lee igual, con acceso directo a cada juego,
+ * se rechazan los archivos que no son bibliotecas vlidas y se abre la biblioteca incluida con el programa.
+ * @author Dario A. Leal
+ */
+public class BibliotecaTablerosTest {
+
+	private static final int CANT_JUEGOS = 20;
+
+	@TempDir
+	Path carpeta;
+
+	@Test
+	public void lee_los_juegos_escritos() throws IOException {
+		Path archivo = carpeta.resolve("biblioteca.sdk");
+		int[][] soluciones = new int[CANT_JUEGOS][], juegos = new int[CANT_JUEGOS][];
+		Solucionador solucionador = new Solucionador(3);
+		try (EscritorBiblioteca escritor = new EscritorBiblioteca(archivo, 3)) {
+			for (int k = 0; k < CANT_JUEGOS; k++) {
+				juegos[k] = new GeneradorTableros(3, k).generarJuego(30);
+				soluciones[k] = juegos[k].clone();
+				solucionador.resolver(soluciones[k]);
+				escritor.agregar(soluciones[k], juegos[k], k % 8);
+			}
+		}
+
+		BibliotecaTableros biblioteca = BibliotecaTableros.abrir(archivo);
+		assertEquals(CANT_JUEGOS, biblioteca.getCantidad());
+		assertEquals(3, biblioteca.getTamPanel());
+		assertEquals(9, biblioteca.getDimension());
+		int[] solucion = new int[81], juego = new int[81];
+		//En orden inverso: cada juego se lee sin recorrer los anteriores.
+		for (int k = CANT_JUEGOS - 1; k >= 0; k--) {
+			biblioteca.leer(k, solucion, juego);
+			assertArrayEquals(soluciones[k], solucion);
+			assertArrayEquals(juegos[k], juego);
+			assertEquals(k % 8, biblioteca.getDificultad(k));
+			int cant_pistas = 0;
+			for (int valor : juegos[k]) {
+				cant_pistas += valor != 0 ? 1 : 0;
+			}
+			assertEquals(cant_pistas, biblioteca.getCantidadPistas(k));
+
+			Juego abierto = Juego.abrir(biblioteca, k);
+			for (int celda = 0; celda < 81; celda++) {
+				assertEquals(juegos[k][celda] != 0, abierto.esPista(celda / 9, celda % 9));
+				assertEquals(juegos[k][celda], abierto.getValor(celda / 9, celda % 9));
+			}
+		}
+		assertThrows(IndexOutOfBoundsException.class, () -> biblioteca.leer(CANT_JUEGOS, solucion, juego));
+	}
+
+	@Test
+	public void rechaza_archivos_invalidos() throws IOException {
+		Path archivo = carpeta.resolve("biblioteca.sdk");
+		try (EscritorBiblioteca escritor = new EscritorBiblioteca(archivo, 3)) {
+			int[] juego = new GeneradorTableros(3, 1).generarJuego(30), solucion = juego.clone();
+			new Solucionador(3).resolver(solucion);
+			escritor.agregar(solucion, juego, 0);
+			int[] pista_distinta = juego.clone();
+			int celda = 0;
+			while (juego[celda] == 0) {
+				celda++;
+			}
+			pista_distinta[celda] = juego[celda] % 9 + 1;
+			assertThrows(IllegalArgumentException.class, () -> escritor.agregar(solucion, pista_distinta, 0));
+		}
+		byte[] contenido = Files.readAllBytes(archivo);
+
+		//Otra identificacin.
+		byte[] otro = contenido.clone();
+		otro[0]++;
+		assertThrows(IllegalArgumentException.class, () -> BibliotecaTableros.abrir(escribir("otro.sdk", otro)));
+
+		//Ms juegos en la cabecera que en el archivo.
+		byte[] incompleto = contenido.clone();
+		ByteBuffer.wrap(incompleto).putInt(8, 2);
+		assertThrows(IllegalArgumentException.class, () -> BibliotecaTableros.abrir(escribir("incompleto.sdk", incompleto)));
+
+		//Un valor fuera de rango en el registro del juego.
+		byte[] fuera_de_rango = contenido.clone();
+		fuera_de_rango[BibliotecaTableros.TAMANIO_CABECERA + BibliotecaTableros.TAMANIO_METADATOS] = 10;
+		BibliotecaTableros biblioteca = BibliotecaTableros.abrir(escribir("fuera_de_rango.sdk", fuera_de_rango));
+		assertThrows(IllegalArgumentException.class, () -> biblioteca.leer(0, new int[81], null));
+		assertThrows(IllegalArgumentException.class, () -> Juego.abrir(biblioteca, 0));
+	}
+
+	@Test
+	public void abre_la_biblioteca_incluida() throws IOException {
+		BibliotecaTableros biblioteca = BibliotecaTableros.abrirRecurso("/txt/biblioteca9x9.sdk");
+		assertNotNull(biblioteca);
+		assertEquals(5000, biblioteca.getCantidad());
+		assertEquals(3, biblioteca.getTamPanel());
+		Juego ultimo = Juego.abrir(biblioteca, biblioteca.getCantidad() - 1);
+		assertEquals(1, new Solucionador(3).contarSoluciones(pistas(ultimo), 2));
+		assertNull(BibliotecaTableros.abrirRecurso("/txt/no_existe.sdk"));
+	}
+
+	private Path escribir(String nombre, byte[] contenido) throws IOException {
+		return Files.write(carpeta.resolve(nombre), contenido);
+	}
+
+	private static int[] pistas(Juego juego) {
+		int[] pistas = new int[81];
+		for (int celda = 0; celda < 81; celda++) {
+			pistas[celda] = juego.esPista(celda / 9, celda % 9) ? juego.getValor(celda / 9, celda % 9) : 0;
+		}
+		return pistas;
+	}
+
+}
\ No newline at end of file
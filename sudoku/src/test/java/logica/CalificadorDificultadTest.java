@@ -0,0 +1,96 @@
+package logica;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Pruebas de la calificacin de dificultad: un juego por tcnica, que la necesita (y ninguna ms difcil), y la calificacin
+ * de una biblioteca completa, que se guarda en la biblioteca.
+ * Los juegos se escriben en una lnea, por filas, con un punto en las celdas vacas.
+ * @author Dario A. Leal
+ */
+public class CalificadorDificultadTest {
+
+	@TempDir
+	Path carpeta;
+
+	@ParameterizedTest
+	@CsvSource({
+		"SIMPLE_OCULTO, 52.6.1....91..57868.6..9...2..5.7....53...89..4.81..75...4.6...164..2.....21..64.",
+		"SIMPLE_DESNUDO, ..49.65739....3.1...187..6.69...5.31.5..6.79...23.76.......8.2.....521..72.13....",
+		"INTERSECCION, 6.3.84.2..5...2....2.75..3..62....5.5..897..1.....54...85...31...69285..74.5..68.",
+		"PAR_DESNUDO, ....5..1..61.7.95...5.36......8.7...5...691....7.1..2..1..9..4.8.3.427...94.8126.",
+		"PAR_OCULTO, 5.9.....11249..8...76.....2..2.9........182.7.....59.4..1..9.8574568.....9......6",
+		"TRIO_DESNUDO, 1....5..2.3...8..........5.97...3..1.216..9..6..21..4...28.7.6.4..3.6...7.9.....4",
+		"X_WING, 3....1..5........775...3..8645..8..129.5..6....3......4..3.21..5..6.9.2......5.39",
+		"PRUEBA_Y_ERROR, ..168542.24873....6...14.8..1.5.3.96....972.449....7......2..4......1..81...785.."
+	})
+	public void califica_cada_tecnica(Tecnica tecnica, String texto) {
+		int[] juego = leer(texto);
+		assertEquals(1, new Solucionador(3).contarSoluciones(juego, 2));
+		assertEquals(tecnica, new CalificadorDificultad(3).calificar(juego));
+	}
+
+	@Test
+	public void califica_una_biblioteca_una_unica_vez() throws IOException {
+		//Una biblioteca sin dificultades registradas, para que se califique cada juego.
+		Path archivo = carpeta.resolve("biblioteca.sdk");
+		int cant = 200;
+		Solucionador solucionador = new Solucionador(3);
+		try (EscritorBiblioteca escritor = new EscritorBiblioteca(archivo, 3)) {
+			for (int k = 0; k < cant; k++) {
+				int[] juego = new GeneradorTableros(3, k).generarJuego(24), solucion = juego.clone();
+				solucionador.resolver(solucion);
+				escritor.agregar(solucion, juego, 0);
+			}
+		}
+		BibliotecaTableros biblioteca = BibliotecaTableros.abrir(archivo);
+		assertNull(biblioteca.getPuntajes());
+
+		byte[] puntajes = CalificadorDificultad.calificar(biblioteca);
+		assertNotNull(biblioteca.getPuntajes());
+		assertSame(puntajes, biblioteca.getPuntajes());
+		assertSame(puntajes, CalificadorDificultad.calificar(biblioteca));
+
+		//La calificacin en paralelo coincide con la de cada juego por separado.
+		CalificadorDificultad calificador = new CalificadorDificultad(3);
+		int[] solucion = new int[81], juego = new int[81];
+		byte[] esperados = new byte[cant];
+		for (int k = 0; k < cant; k++) {
+			biblioteca.leer(k, solucion, juego);
+			esperados[k] = (byte) calificador.calificar(juego).getPuntaje();
+		}
+		assertArrayEquals(esperados, puntajes);
+
+		//Cada juego queda en el grupo de su nivel.
+		int[][] por_nivel = CalificadorDificultad.agruparPorNivel(biblioteca);
+		int agrupados = 0;
+		for (NivelDificultad nivel : NivelDificultad.values()) {
+			for (int k : por_nivel[nivel.ordinal()]) {
+				assertEquals(nivel, Tecnica.desdePuntaje(puntajes[k]).getNivel());
+				agrupados++;
+			}
+		}
+		assertEquals(cant, agrupados);
+	}
+
+	private static int[] leer(String texto) {
+		int[] juego = new int[texto.length()];
+		for (int k = 0; k < juego.length; k++) {
+			juego[k] = texto.charAt(k) == '.' ? 0 : texto.charAt(k) - '0';
+		}
+		return juego;
+	}
+
+}
\ No newline at end of file
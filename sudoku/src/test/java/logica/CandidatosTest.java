@@ -0,0 +1,73 @@
+package logica;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Pruebas de los candidatos de cada celda (las marcas de lpiz): despus de cada jugada, deshacer o rehacer, los candidatos
+ * que mantiene el juego coinciden con los que resultan de recorrer la fila, la columna y el panel de la celda.
+ * @author Dario A. Leal
+ */
+public class CandidatosTest {
+
+	@ParameterizedTest
+	@CsvSource({"2, 3", "3, 1", "4, 2"})
+	public void los_candidatos_siguen_a_cada_cambio(int tam_panel, long semilla) {
+		int dimension = tam_panel * tam_panel;
+		Juego juego = Juego.generar(tam_panel, semilla, dimension * dimension * 30 / 81);
+		int[] vacias = new int[dimension * dimension];
+		int cant_vacias = 0;
+		for (int k = 0; k < vacias.length; k++) {
+			if (!juego.esPista(k / dimension, k % dimension)) {
+				vacias[cant_vacias++] = k;
+			}
+		}
+		assertCandidatos(juego);
+
+		//Jugadas al azar, que tambin dejan celdas en conflicto, vacan celdas y se deshacen.
+		Random azar = new Random(semilla);
+		for (int k = 0; k < 500; k++) {
+			int accion = azar.nextInt(10);
+			if (accion == 0) {
+				juego.deshacer();
+			}
+			else if (accion == 1) {
+				juego.rehacer();
+			}
+			else {
+				int celda = vacias[azar.nextInt(cant_vacias)];
+				juego.jugar(celda / dimension, celda % dimension, azar.nextInt(dimension + 1));
+			}
+			assertCandidatos(juego);
+		}
+	}
+
+	//Controla los candidatos de todas las celdas, calculndolos a partir de los valores del tablero.
+	private static void assertCandidatos(Juego juego) {
+		int dimension = juego.getDimension(), tam_panel = juego.getTamPanel();
+		for (int fila = 0; fila < dimension; fila++) {
+			for (int columna = 0; columna < dimension; columna++) {
+				int esperados = 0;
+				if (juego.getValor(fila, columna) == 0) {
+					int presentes = 0;
+					int fila_panel = fila - fila % tam_panel, columna_panel = columna - columna % tam_panel;
+					for (int k = 0; k < dimension; k++) {
+						presentes |= bit(juego.getValor(fila, k)) | bit(juego.getValor(k, columna))
+								| bit(juego.getValor(fila_panel + k / tam_panel, columna_panel + k % tam_panel));
+					}
+					esperados = ~presentes & ((1 << dimension) - 1);
+				}
+				assertEquals(esperados, juego.getCandidatos(fila, columna), "Candidatos de la celda (" + fila + ", " + columna + ")");
+			}
+		}
+	}
+
+	private static int bit(int valor) {
+		return valor == 0 ? 0 : 1 << (valor - 1);
+	}
+
+}
\ No newline at end of file
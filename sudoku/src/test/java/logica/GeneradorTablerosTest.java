@@ -0,0 +1,79 @@
+package logica;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Pruebas de la generacin de juegos: cada juego generado tiene una nica solucin, que respeta sus pistas,
+ * la misma semilla genera siempre el mismo juego, y una generacin cancelada se detiene.
+ * @author Dario A. Leal
+ */
+public class GeneradorTablerosTest {
+
+	@ParameterizedTest
+	@CsvSource({"2, 1", "2, 2", "3, 1", "3, 2", "3, 3", "4, 1"})
+	public void genera_juegos_con_solucion_unica(int tam_panel, long semilla) {
+		int dimension = tam_panel * tam_panel;
+		GeneradorTableros generador = new GeneradorTableros(tam_panel, semilla);
+		int[] juego = generador.generarJuego(dimension * dimension * 30 / 81);
+		Solucionador solucionador = new Solucionador(tam_panel);
+		assertEquals(1, solucionador.contarSoluciones(juego, 2));
+
+		int[] solucion = juego.clone();
+		assertTrue(solucionador.resolver(solucion));
+		assertTrue(new ValidadorTablero(tam_panel).validar(solucion));
+		for (int k = 0; k < juego.length; k++) {
+			assertTrue(juego[k] == 0 || juego[k] == solucion[k], "La solucin cambia la pista de la celda " + k);
+		}
+	}
+
+	@ParameterizedTest
+	@CsvSource({"2, 7", "3, 7"})
+	public void la_misma_semilla_genera_el_mismo_juego(int tam_panel, long semilla) {
+		int dimension = tam_panel * tam_panel;
+		int[] primero = new GeneradorTableros(tam_panel, semilla).generarJuego(dimension * dimension * 30 / 81);
+		int[] segundo = new GeneradorTableros(tam_panel, semilla).generarJuego(dimension * dimension * 30 / 81);
+		assertArrayEquals(primero, segundo);
+	}
+
+	@ParameterizedTest
+	@CsvSource({"2", "3"})
+	public void un_tablero_vacio_tiene_mas_de_una_solucion(int tam_panel) {
+		Solucionador solucionador = new Solucionador(tam_panel);
+		assertEquals(2, solucionador.contarSoluciones(new int[solucionador.getDimension() * solucionador.getDimension()], 2));
+	}
+
+	@ParameterizedTest
+	@CsvSource({"3, 1", "4, 2"})
+	public void los_juegos_generados_se_resuelven(int tam_panel, long semilla) {
+		int dimension = tam_panel * tam_panel;
+		Juego juego = Juego.generar(tam_panel, semilla, dimension * dimension * 30 / 81);
+		int[] solucion = new Solucionador(tam_panel).resolver(juego);
+		assertNotNull(solucion);
+		assertTrue(new ValidadorTablero(tam_panel).validar(solucion));
+	}
+
+	@Test
+	public void una_generacion_cancelada_se_detiene() {
+		GeneradorTableros generador = new GeneradorTableros(3, 1);
+		int[] grilla = generador.generarSolucion();
+		generador.cancelar();
+		assertThrows(CancellationException.class, () -> generador.quitarPistas(grilla, 25, 25));
+		assertThrows(CancellationException.class, () -> generador.generarSolucion());
+
+		CompletableFuture<Juego> juego = Juego.generarEnSegundoPlano(5, 1, 190);
+		juego.cancel(false);
+		assertThrows(CancellationException.class, () -> juego.join());
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package logica;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas del modelo del juego: jugadas y contadores de la comprobacin (ver RegistroJugadasTest para deshacer, rehacer y las instantneas).
+ * Se juega sobre un juego de 9 x 9 generado con una semilla fija.
+ * @author Dario A. Leal
+ */
+public class JuegoTest {
+
+	private static final int DIMENSION = 9;
+
+	private Juego juego;
+	private int[] solucion;
+	private int[] vacias; //ndices de las celdas que no son pistas, recorridas por filas.
+	private int cant_vacias;
+
+	@BeforeEach
+	public void preparar() {
+		juego = Juego.generar(3, 1, 30);
+		solucion = new Solucionador(3).resolver(juego);
+		vacias = new int[DIMENSION * DIMENSION];
+		for (int k = 0; k < vacias.length; k++) {
+			if (!juego.esPista(k / DIMENSION, k % DIMENSION)) {
+				vacias[cant_vacias++] = k;
+			}
+		}
+	}
+
+	@Test
+	public void comprobar_resolucion_sigue_los_contadores() {
+		assertEquals(cant_vacias, juego.getCantidadCeldasVacias());
+		assertEquals(0, juego.getCantidadCeldasEnConflicto());
+		assertEquals(ResultadoComprobacion.INCOMPLETO, juego.comprobar_resolucion());
+
+		for (int k = 0; k < cant_vacias; k++) {
+			jugar(vacias[k], solucion[vacias[k]]);
+		}
+		assertEquals(0, juego.getCantidadCeldasVacias());
+		assertEquals(ResultadoComprobacion.IGUALES, juego.comprobar_resolucion());
+
+		//Dos celdas vacas de la misma fila con los valores intercambiados: el tablero sigue completo pero en conflicto.
+		int primera = vacias[0], segunda = -1;
+		for (int k = 1; k < cant_vacias && segunda < 0; k++) {
+			if (vacias[k] / DIMENSION == primera / DIMENSION) {
+				segunda = vacias[k];
+			}
+		}
+		jugar(primera, solucion[segunda]);
+		assertTrue(juego.estaEnConflicto(primera / DIMENSION, primera % DIMENSION));
+		assertTrue(juego.getCantidadCeldasEnConflicto() >= 2);
+		assertEquals(ResultadoComprobacion.DISTINTOS, juego.comprobar_resolucion());
+		jugar(segunda, solucion[primera]);
+		assertEquals(ResultadoComprobacion.DISTINTOS, juego.comprobar_resolucion());
+
+		jugar(primera, 0);
+		assertEquals(1, juego.getCantidadCeldasVacias());
+		assertEquals(ResultadoComprobacion.INCOMPLETO, juego.comprobar_resolucion());
+		jugar(primera, solucion[primera]);
+		jugar(segunda, solucion[segunda]);
+		assertEquals(0, juego.getCantidadCeldasEnConflicto());
+		assertEquals(ResultadoComprobacion.IGUALES, juego.comprobar_resolucion());
+	}
+
+	@Test
+	public void no_se_puede_jugar_sobre_una_pista() {
+		int pista = 0;
+		while (!juego.esPista(pista / DIMENSION, pista % DIMENSION)) {
+			pista++;
+		}
+		final int celda = pista;
+		assertThrows(IllegalArgumentException.class, () -> jugar(celda, 1));
+		assertThrows(IllegalArgumentException.class, () -> jugar(vacias[0], DIMENSION + 1));
+	}
+
+	private void jugar(int celda, int valor) {
+		juego.jugar(celda / DIMENSION, celda % DIMENSION, valor);
+	}
+
+}
\ No newline at end of file
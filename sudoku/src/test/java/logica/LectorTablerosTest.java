@@ -0,0 +1,79 @@
+package logica;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas de la lectura de los tableros incluidos con el juego y de los errores que se informan por cada archivo invlido.
+ * Los mensajes se comparan por una parte sin acentos, que no depende de la codificacin con la que se compilaron las fuentes.
+ * @author Dario A. Leal
+ */
+public class LectorTablerosTest {
+
+	@Test
+	public void lee_los_juegos_validos() throws TextFileException {
+		assertEquals(9, new Juego(1, 1L).getDimension());
+		assertEquals(9, new Juego(2, 1L).getDimension());
+		assertEquals(16, new Juego(1, 4, 1L).getDimension());
+	}
+
+	@Test
+	public void informa_una_fila_incompleta() {
+		assertError(3, "Faltan n");
+	}
+
+	@Test
+	public void informa_una_fila_faltante() {
+		assertError(4, "Faltan n");
+	}
+
+	@Test
+	public void informa_un_valor_fuera_de_rango() {
+		assertError(5, "valores fuera de rango");
+	}
+
+	@Test
+	public void informa_un_valor_repetido() {
+		assertError(6, "la fila 5 repite el 2");
+	}
+
+	@Test
+	public void informa_un_archivo_inexistente() {
+		assertError(7, "Archivo inexistente");
+	}
+
+	@Test
+	public void lee_varios_tableros_en_una_linea() throws TextFileException {
+		String texto = "1234341221434321\n\n.2.4.41221434321\n";
+		LectorTableros lector = new LectorTableros(new ByteArrayInputStream(texto.getBytes(StandardCharsets.US_ASCII)), 4, true);
+		int[] grilla = new int[16];
+		assertTrue(lector.leer(grilla));
+		assertArrayEquals(new int[] {1, 2, 3, 4, 3, 4, 1, 2, 2, 1, 4, 3, 4, 3, 2, 1}, grilla);
+		assertTrue(lector.leer(grilla));
+		assertEquals(0, grilla[0]);
+		assertEquals(0, grilla[2]);
+		assertFalse(lector.leer(grilla));
+	}
+
+	@Test
+	public void rechaza_caracteres_invalidos() {
+		String texto = "1 2 3 4\n3 4 x 2\n2 1 4 3\n4 3 2 1\n";
+		LectorTableros lector = new LectorTableros(new ByteArrayInputStream(texto.getBytes(StandardCharsets.US_ASCII)), 4, false);
+		TextFileException e = assertThrows(TextFileException.class, () -> lector.leer(new int[16]));
+		assertTrue(e.getMessage().contains("caracteres inv"), e.getMessage());
+	}
+
+	private static void assertError(int tablero_numero, String motivo) {
+		TextFileException e = assertThrows(TextFileException.class, () -> new Juego(tablero_numero, 1L));
+		assertTrue(e.getMessage().contains(motivo), e.getMessage());
+	}
+
+}
\ No newline at end of file
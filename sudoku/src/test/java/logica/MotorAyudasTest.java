@@ -0,0 +1,111 @@
+package logica;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas de las ayudas: seguirlas completa el juego con su solucin, los candidatos que descartan dejan de verse
+ * en los candidatos del juego (hasta que se borra un valor), y sobre un tablero con errores se avisa el error en lugar de ayudar.
+ * @author Dario A. Leal
+ */
+public class MotorAyudasTest {
+
+	@Test
+	public void seguir_las_ayudas_completa_el_juego() throws IOException {
+		Juego juego = juego_con_descartes();
+		int[] solucion = new Solucionador(3).resolver(juego);
+		PasoResolucion ayuda = juego.crearPaso();
+		boolean hubo_descartes = false;
+		ResultadoAyuda resultado;
+		while ((resultado = juego.pedirAyuda(ayuda)) == ResultadoAyuda.PASO) {
+			if (ayuda.esUbicacion()) {
+				assertEquals(solucion[ayuda.getCelda()], ayuda.getValor());
+				juego.jugar(ayuda.getCelda() / 9, ayuda.getCelda() % 9, ayuda.getValor());
+			}
+			for (int k = 0; k < ayuda.getCantidadDescartes(); k++) {
+				int celda = ayuda.getCeldaConDescarte(k);
+				int candidatos = juego.getCandidatos(celda / 9, celda % 9);
+				assertEquals(0, candidatos & ayuda.getValoresDescartados(k), "Los candidatos de la celda " + celda + " incluyen valores descartados.");
+				assertTrue((candidatos & (1 << (solucion[celda] - 1))) != 0, "La ayuda descart el valor de la solucin en la celda " + celda);
+				hubo_descartes = true;
+			}
+		}
+		assertTrue(hubo_descartes);
+		assertEquals(ResultadoAyuda.COMPLETO, resultado);
+		assertEquals(ResultadoComprobacion.IGUALES, juego.comprobar_resolucion());
+	}
+
+	@Test
+	public void borrar_un_valor_olvida_los_descartes() throws IOException {
+		Juego juego = juego_con_descartes();
+		PasoResolucion ayuda = juego.crearPaso();
+		int jugada = -1; //ltima celda en la que se ubic un valor siguiendo las ayudas.
+		while (!juego.hayCandidatosDescartados()) {
+			assertEquals(ResultadoAyuda.PASO, juego.pedirAyuda(ayuda));
+			if (ayuda.esUbicacion()) {
+				jugada = ayuda.getCelda();
+				juego.jugar(jugada / 9, jugada % 9, ayuda.getValor());
+			}
+		}
+		int celda = ayuda.getCeldaConDescarte(0), descartados = ayuda.getValoresDescartados(0);
+		assertEquals(0, juego.getCandidatos(celda / 9, celda % 9) & descartados);
+
+		//Agregar un valor conserva los descartes. Borrarlo los olvida, y los candidatos vuelven a ser los de la fila, columna y panel.
+		assertTrue(jugada >= 0);
+		int valor = juego.getValor(jugada / 9, jugada % 9);
+		juego.jugar(jugada / 9, jugada % 9, 0);
+		assertFalse(juego.hayCandidatosDescartados());
+		juego.jugar(jugada / 9, jugada % 9, valor);
+		assertEquals(descartados, juego.getCandidatos(celda / 9, celda % 9) & descartados);
+	}
+
+	@Test
+	public void avisa_los_errores_en_lugar_de_ayudar() {
+		Juego juego = Juego.generar(3, 1, 30);
+		int[] solucion = new Solucionador(3).resolver(juego);
+		PasoResolucion ayuda = juego.crearPaso();
+		assertEquals(ResultadoAyuda.PASO, juego.pedirAyuda(ayuda));
+
+		//Un valor repetido en la fila de una celda vaca.
+		int vacia = 0;
+		while (juego.esPista(vacia / 9, vacia % 9)) {
+			vacia++;
+		}
+		int pista = vacia - vacia % 9;
+		while (!juego.esPista(pista / 9, pista % 9)) {
+			pista++;
+		}
+		juego.jugar(vacia / 9, vacia % 9, solucion[pista]);
+		assertEquals(ResultadoAyuda.CON_REPETIDOS, juego.pedirAyuda(ayuda));
+
+		//Un valor incorrecto que no repite ninguno (otro candidato de una celda vaca): el tablero deja de tener solucin.
+		juego.jugar(vacia / 9, vacia % 9, 0);
+		while (juego.getValor(vacia / 9, vacia % 9) != 0 || Integer.bitCount(juego.getCandidatos(vacia / 9, vacia % 9)) < 2) {
+			vacia++;
+		}
+		int otros = juego.getCandidatos(vacia / 9, vacia % 9) & ~(1 << (solucion[vacia] - 1));
+		juego.jugar(vacia / 9, vacia % 9, Integer.numberOfTrailingZeros(otros) + 1);
+		assertEquals(ResultadoAyuda.SIN_SOLUCION, juego.pedirAyuda(ayuda));
+	}
+
+	//Abre el primer juego de la biblioteca que necesita pares, tros o X-Wing (tcnicas que solo descartan candidatos) sin llegar a probar valores.
+	private static Juego juego_con_descartes() throws IOException {
+		BibliotecaTableros biblioteca = BibliotecaTableros.abrirRecurso("/txt/biblioteca9x9.sdk");
+		assertNotNull(biblioteca);
+		byte[] puntajes = CalificadorDificultad.calificar(biblioteca);
+		for (int k = 0; k < puntajes.length; k++) {
+			Tecnica tecnica = Tecnica.desdePuntaje(puntajes[k]);
+			if (tecnica.compareTo(Tecnica.PAR_DESNUDO) >= 0 && tecnica != Tecnica.PRUEBA_Y_ERROR) {
+				return Juego.abrir(biblioteca, k);
+			}
+		}
+		throw new AssertionError("La biblioteca no tiene juegos que necesiten descartar candidatos.");
+	}
+
+}
\ No newline at end of file
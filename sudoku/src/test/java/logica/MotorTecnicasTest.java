@@ -0,0 +1,84 @@
+package logica;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Pruebas del motor de tcnicas: cada paso que encuentra, al aplicarse uno tras otro, coincide con la solucin del juego
+ * (cada valor ubicado es el de la solucin y ningn descarte quita el valor de la solucin).
+ * @author Dario A. Leal
+ */
+public class MotorTecnicasTest {
+
+	private static final int CANT_JUEGOS_BIBLIOTECA = 500;
+
+	@Test
+	public void los_pasos_en_los_juegos_de_la_biblioteca_coinciden_con_la_solucion() throws IOException {
+		BibliotecaTableros biblioteca = BibliotecaTableros.abrirRecurso("/txt/biblioteca9x9.sdk");
+		assertNotNull(biblioteca);
+		MotorTecnicas motor = new MotorTecnicas(3);
+		int[] solucion = new int[81], juego = new int[81];
+		int resueltos = 0;
+		for (int k = 0; k < CANT_JUEGOS_BIBLIOTECA; k++) {
+			biblioteca.leer(k, solucion, juego);
+			resueltos += resolver_por_pasos(motor, juego, solucion) ? 1 : 0;
+		}
+		//La mayora de los juegos de la biblioteca se resuelven sin probar valores (ver CalificadorDificultadTest).
+		assertTrue(resueltos > CANT_JUEGOS_BIBLIOTECA / 2, "Juegos resueltos: " + resueltos);
+	}
+
+	@ParameterizedTest
+	@CsvSource({"2, 1", "3, 5", "4, 3"})
+	public void los_pasos_en_juegos_generados_coinciden_con_la_solucion(int tam_panel, long semilla) {
+		int dimension = tam_panel * tam_panel;
+		int[] juego = new GeneradorTableros(tam_panel, semilla).generarJuego(dimension * dimension * 30 / 81);
+		int[] solucion = juego.clone();
+		assertTrue(new Solucionador(tam_panel).resolver(solucion));
+		resolver_por_pasos(new MotorTecnicas(tam_panel), juego, solucion);
+	}
+
+	@Test
+	public void detecta_contradicciones() {
+		int[] juego = new int[81];
+		MotorTecnicas motor = new MotorTecnicas(3);
+		motor.cargar(juego);
+		assertFalse(motor.hayContradiccion());
+		juego[0] = juego[8] = 5; //Un valor repetido en la primera fila.
+		motor.cargar(juego);
+		assertTrue(motor.hayContradiccion());
+	}
+
+	//Aplica los pasos que encuentra el motor hasta completar el tablero o no encontrar ms, controlando cada uno contra la solucin.
+	//Devuelve true si el tablero qued completo.
+	private static boolean resolver_por_pasos(MotorTecnicas motor, int[] juego, int[] solucion) {
+		PasoResolucion paso = motor.crearPaso();
+		motor.cargar(juego);
+		while (motor.buscarPaso(paso)) {
+			if (paso.esUbicacion()) {
+				assertEquals(0, motor.getValor(paso.getCelda()), paso.getTecnica() + " ubica un valor en una celda con valor.");
+				assertEquals(solucion[paso.getCelda()], paso.getValor(), paso.getTecnica() + " ubica un valor incorrecto en la celda " + paso.getCelda());
+			}
+			else {
+				assertTrue(paso.getCantidadDescartes() > 0, paso.getTecnica() + " no ubica ni descarta nada.");
+			}
+			for (int k = 0; k < paso.getCantidadDescartes(); k++) {
+				int celda = paso.getCeldaConDescarte(k);
+				assertEquals(0, paso.getValoresDescartados(k) & (1 << (solucion[celda] - 1)),
+						paso.getTecnica() + " descarta el valor de la solucin en la celda " + celda);
+				assertTrue((motor.getCandidatos(celda) & paso.getValoresDescartados(k)) != 0, paso.getTecnica() + " descarta un valor que no es candidato.");
+			}
+			motor.aplicar(paso);
+			assertFalse(motor.hayContradiccion());
+		}
+		return motor.estaResuelto();
+	}
+
+}
\ No newline at end of file
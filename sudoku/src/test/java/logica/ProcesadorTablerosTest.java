@@ -0,0 +1,97 @@
+package logica;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Pruebas del procesamiento de lotes de juegos: se procesa la carpeta de juegos incluidos con el programa (txt) y se controla
+ * el resultado de cada archivo y el cdigo con el que terminara el programa.
+ * Los mensajes se comparan por una parte sin acentos, que no depende de la codificacin con la que se compilaron las fuentes.
+ * @author Dario A. Leal
+ */
+public class ProcesadorTablerosTest {
+
+	@TempDir
+	Path carpeta;
+
+	private Path juegos; //Carpeta con los juegos incluidos con el programa.
+
+	@BeforeEach
+	public void preparar() throws URISyntaxException {
+		juegos = Paths.get(ProcesadorTablerosTest.class.getResource("/txt/sudoku1.txt").toURI()).getParent();
+	}
+
+	@Test
+	public void informa_el_resultado_de_cada_archivo_en_csv() throws Exception {
+		Path salida = carpeta.resolve("resultados.csv");
+		String inexistente = juegos.resolve("sudoku7.txt").toString();
+		assertEquals(2, ProcesadorTableros.ejecutar(new String[] {"-t", "2", "-o", salida.toString(), juegos.toString(), inexistente}));
+
+		List<String> lineas = Files.readAllLines(salida, StandardCharsets.UTF_8);
+		assertEquals("origen,numero,pistas,estado,detalle", lineas.get(0));
+		Map<String, String> por_archivo = new HashMap<String, String>();
+		int juegos_biblioteca = 0;
+		for (String linea : lineas.subList(1, lineas.size())) {
+			String origen = Paths.get(linea.substring(0, linea.indexOf(','))).getFileName().toString();
+			if (origen.equals("biblioteca9x9.sdk")) {
+				assertTrue(linea.contains(",VALIDO,"), linea);
+				juegos_biblioteca++;
+			}
+			else {
+				assertEquals(null, por_archivo.put(origen, linea), "Ms de una fila para " + origen);
+			}
+		}
+		assertEquals(5000, juegos_biblioteca);
+		assertEquals(8, por_archivo.size());
+		assertFila(por_archivo, "sudoku1.txt", "VALIDO", "");
+		assertFila(por_archivo, "sudoku2.txt", "VALIDO", "");
+		assertFila(por_archivo, "sudoku16x16_1.txt", "VALIDO", "");
+		assertFila(por_archivo, "sudoku3.txt", "ERROR", "Faltan n");
+		assertFila(por_archivo, "sudoku4.txt", "ERROR", "Faltan n");
+		assertFila(por_archivo, "sudoku5.txt", "ERROR", "valores fuera de rango");
+		assertFila(por_archivo, "sudoku6.txt", "INVALIDO", "la fila 5 repite el 2");
+		assertFila(por_archivo, "sudoku7.txt", "ERROR", "Archivo inexistente");
+	}
+
+	@Test
+	public void resuelve_y_cuenta_las_soluciones_en_json() throws Exception {
+		Path salida = carpeta.resolve("resultados.json");
+		String[] args = {"-f", "json", "-r", "-c", "-o", salida.toString(), juegos.resolve("sudoku1.txt").toString(), juegos.resolve("sudoku16x16_1.txt").toString()};
+		assertEquals(0, ProcesadorTableros.ejecutar(args));
+
+		String json = new String(Files.readAllBytes(salida), StandardCharsets.UTF_8);
+		assertTrue(json.startsWith("[") && json.trim().endsWith("]"), json);
+		assertEquals(2, json.split("\"estado\":\"VALIDO\"", -1).length - 1, json);
+		assertEquals(2, json.split("\"soluciones\":1", -1).length - 1, json);
+		assertEquals(2, json.split("\"solucion\":\"", -1).length - 1, json);
+	}
+
+	@Test
+	public void rechaza_argumentos_incorrectos() {
+		assertEquals(1, ProcesadorTableros.ejecutar(new String[0]));
+		assertEquals(1, ProcesadorTableros.ejecutar(new String[] {"-f", "xml", juegos.toString()}));
+		assertEquals(1, ProcesadorTableros.ejecutar(new String[] {"-x", juegos.toString()}));
+		assertEquals(1, ProcesadorTableros.ejecutar(new String[] {"-o"}));
+	}
+
+	private static void assertFila(Map<String, String> por_archivo, String archivo, String estado, String detalle) {
+		String linea = por_archivo.get(archivo);
+		assertTrue(linea != null, "Falta la fila de " + archivo);
+		assertTrue(linea.contains("," + estado + ","), linea);
+		assertTrue(linea.contains(detalle), linea);
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,207 @@
+package logica;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas del registro de jugadas y de las instantneas de un juego: deshacer y rehacer, el lmite de jugadas registradas,
+ * y guardar y restaurar una partida (incluido un registro guardado demasiado largo o invlido).
+ * Se juega sobre un juego de 9 x 9 generado con una semilla fija.
+ * @author Dario A. Leal
+ */
+public class RegistroJugadasTest {
+
+	private static final int DIMENSION = 9;
+	private static final int CAPACIDAD = 1024;
+
+	private Juego juego;
+	private int[] solucion;
+	private int[] vacias; //ndices de las celdas que no son pistas, recorridas por filas.
+	private int cant_vacias;
+
+	@BeforeEach
+	public void preparar() {
+		juego = Juego.generar(3, 1, 30);
+		solucion = new Solucionador(3).resolver(juego);
+		vacias = new int[DIMENSION * DIMENSION];
+		for (int k = 0; k < vacias.length; k++) {
+			if (!juego.esPista(k / DIMENSION, k % DIMENSION)) {
+				vacias[cant_vacias++] = k;
+			}
+		}
+	}
+
+	@Test
+	public void deshacer_y_rehacer() {
+		assertFalse(juego.puedeDeshacer());
+		assertFalse(juego.deshacer());
+		int celda = vacias[0];
+		jugar(celda, 1);
+		jugar(celda, 2);
+		jugar(vacias[1], 3);
+
+		assertTrue(juego.deshacer());
+		assertEquals(0, valor(vacias[1]));
+		assertTrue(juego.deshacer());
+		assertEquals(1, valor(celda));
+		assertTrue(juego.puedeRehacer());
+		assertTrue(juego.rehacer());
+		assertEquals(2, valor(celda));
+		assertTrue(juego.deshacer());
+		assertTrue(juego.deshacer());
+		assertEquals(0, valor(celda));
+		assertEquals(cant_vacias, juego.getCantidadCeldasVacias());
+		assertFalse(juego.puedeDeshacer());
+
+		//Una jugada nueva descarta las jugadas deshechas.
+		jugar(celda, 5);
+		assertFalse(juego.puedeRehacer());
+		assertFalse(juego.rehacer());
+		assertEquals(5, valor(celda));
+	}
+
+	@Test
+	public void se_pueden_deshacer_exactamente_las_ultimas_1024_jugadas() {
+		int[] valores_iniciales = new int[DIMENSION * DIMENSION];
+		int[] antes_de_las_ultimas = new int[DIMENSION * DIMENSION];
+		juego.copiarValores(valores_iniciales);
+		jugar_varias(1100 - CAPACIDAD);
+		juego.copiarValores(antes_de_las_ultimas);
+		jugar_varias(CAPACIDAD);
+
+		assertEquals(CAPACIDAD, deshacer_todas(juego));
+		int[] valores = new int[DIMENSION * DIMENSION];
+		juego.copiarValores(valores);
+		assertArrayEquals(antes_de_las_ultimas, valores);
+		assertFalse(Arrays.equals(valores_iniciales, valores), "Se deshicieron jugadas que deban descartarse.");
+
+		//Todas pueden rehacerse.
+		int rehechas = 0;
+		while (juego.rehacer()) {
+			rehechas++;
+		}
+		assertEquals(CAPACIDAD, rehechas);
+	}
+
+	@Test
+	public void guardar_y_restaurar_conserva_la_partida() {
+		jugar(vacias[0], solucion[vacias[0]]);
+		jugar(vacias[1], 1);
+		jugar(vacias[2], 2);
+		juego.deshacer();
+		byte[] instantanea = juego.guardar(null);
+
+		Juego restaurado = Juego.restaurar(instantanea, null);
+		int[] valores = new int[DIMENSION * DIMENSION], valores_restaurados = new int[DIMENSION * DIMENSION];
+		juego.copiarValores(valores);
+		restaurado.copiarValores(valores_restaurados);
+		assertArrayEquals(valores, valores_restaurados);
+		for (int k = 0; k < valores.length; k++) {
+			assertEquals(juego.esPista(k / DIMENSION, k % DIMENSION), restaurado.esPista(k / DIMENSION, k % DIMENSION));
+			assertEquals(juego.estaEnConflicto(k / DIMENSION, k % DIMENSION), restaurado.estaEnConflicto(k / DIMENSION, k % DIMENSION));
+		}
+		assertEquals(juego.getSemilla(), restaurado.getSemilla());
+		assertEquals(juego.getCantidadCeldasVacias(), restaurado.getCantidadCeldasVacias());
+		assertEquals(juego.comprobar_resolucion(), restaurado.comprobar_resolucion());
+
+		//El registro de jugadas tambin se restaura, incluida la jugada deshecha.
+		assertTrue(restaurado.rehacer());
+		assertEquals(2, restaurado.getValor(vacias[2] / DIMENSION, vacias[2] % DIMENSION));
+		assertTrue(restaurado.deshacer());
+		assertTrue(restaurado.deshacer());
+		assertEquals(0, restaurado.getValor(vacias[1] / DIMENSION, vacias[1] % DIMENSION));
+		assertArrayEquals(instantanea, Juego.restaurar(instantanea, null).guardar(null));
+	}
+
+	@Test
+	public void restaurar_rechaza_una_instantanea_invalida() {
+		byte[] instantanea = juego.guardar(null);
+		instantanea[0]++;
+		assertThrows(IllegalArgumentException.class, () -> Juego.restaurar(instantanea, null));
+		assertThrows(IllegalArgumentException.class, () -> Juego.restaurar(new byte[3], null));
+	}
+
+	@Test
+	public void restaurar_recorta_un_registro_demasiado_largo() {
+		jugar_varias(CAPACIDAD);
+		byte[] instantanea = juego.guardar(null);
+		int[] valores = new int[DIMENSION * DIMENSION];
+		juego.copiarValores(valores);
+
+		//Se agregan 76 jugadas ms antiguas que las guardadas, como en una instantnea anterior al lmite del registro.
+		int extra = 1100 - CAPACIDAD;
+		int[] jugadas = new int[extra];
+		for (int k = 0; k < extra; k++) {
+			jugadas[k] = vacias[k % cant_vacias] | (k % DIMENSION + 1) << 15;
+		}
+		Juego restaurado = Juego.restaurar(con_registro(instantanea, 1100, 1100, jugadas), null);
+		int[] valores_restaurados = new int[DIMENSION * DIMENSION];
+		restaurado.copiarValores(valores_restaurados);
+		assertArrayEquals(valores, valores_restaurados);
+		assertEquals(CAPACIDAD, deshacer_todas(restaurado));
+		assertEquals(CAPACIDAD, deshacer_todas(juego));
+		juego.copiarValores(valores);
+		restaurado.copiarValores(valores_restaurados);
+		assertArrayEquals(valores, valores_restaurados);
+	}
+
+	@Test
+	public void restaurar_rechaza_un_registro_invalido() {
+		jugar_varias(10);
+		byte[] instantanea = juego.guardar(null);
+		assertThrows(IllegalArgumentException.class, () -> Juego.restaurar(con_registro(instantanea, 10, 11, new int[0]), null)); //Posicin fuera del registro.
+		assertThrows(IllegalArgumentException.class, () -> Juego.restaurar(con_registro(instantanea, 2000, 2000, new int[0]), null)); //Faltan jugadas.
+		assertThrows(IllegalArgumentException.class, () -> Juego.restaurar(con_registro(instantanea, 11, 11, new int[] {DIMENSION * DIMENSION}), null)); //Celda inexistente.
+		assertThrows(IllegalArgumentException.class, () -> Juego.restaurar(con_registro(instantanea, 11, 11, new int[] {(DIMENSION + 1) << 15}), null)); //Valor fuera de rango.
+	}
+
+	//Hace la cantidad de jugadas recibida, cambiando en cada una el valor de una celda vaca distinta.
+	private void jugar_varias(int cant) {
+		for (int k = 0; k < cant; k++) {
+			int celda = vacias[k % cant_vacias];
+			jugar(celda, valor(celda) % DIMENSION + 1);
+		}
+	}
+
+	private static int deshacer_todas(Juego juego) {
+		int deshechas = 0;
+		while (juego.deshacer()) {
+			deshechas++;
+		}
+		return deshechas;
+	}
+
+	//Devuelve una copia de la instantnea con otra cantidad y posicin en su registro, y las jugadas recibidas agregadas antes de las guardadas.
+	private static byte[] con_registro(byte[] instantanea, int cant, int pos, int[] jugadas_anteriores) {
+		//El registro va despus de la cabecera, la solucin y las celdas (ver Juego.guardar): cantidad, posicin y 4 bytes por jugada.
+		int comienzo_registro = 4 + 3 + 8 + 8 + 2 * DIMENSION * DIMENSION;
+		int cant_guardada = ByteBuffer.wrap(instantanea).getInt(comienzo_registro);
+		ByteBuffer copia = ByteBuffer.allocate(instantanea.length + 4 * jugadas_anteriores.length);
+		copia.put(instantanea, 0, comienzo_registro);
+		copia.putInt(cant);
+		copia.putInt(pos);
+		for (int jugada : jugadas_anteriores) {
+			copia.putInt(jugada);
+		}
+		copia.put(instantanea, comienzo_registro + 8, 4 * cant_guardada);
+		return copia.array();
+	}
+
+	private void jugar(int celda, int valor) {
+		juego.jugar(celda / DIMENSION, celda % DIMENSION, valor);
+	}
+
+	private int valor(int celda) {
+		return juego.getValor(celda / DIMENSION, celda % DIMENSION);
+	}
+
+}
\ No newline at end of file
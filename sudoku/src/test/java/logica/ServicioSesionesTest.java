@@ -0,0 +1,161 @@
+package logica;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas del servicio de sesiones: el lmite de sesiones abiertas, las operaciones sobre una sesin cerrada,
+ * jugadas simultneas desde varios hilos sobre una misma sesin y guardar y restaurar una sesin.
+ * @author Dario A. Leal
+ */
+public class ServicioSesionesTest {
+
+	private static final int DIMENSION = 9;
+
+	@Test
+	public void respeta_la_cantidad_maxima_de_sesiones() {
+		ServicioSesiones servicio = new ServicioSesiones(3);
+		int primera = servicio.crear(Juego.generar(3, 1, 30));
+		servicio.crear(Juego.generar(3, 2, 30));
+		servicio.crear(Juego.generar(3, 3, 30));
+		assertEquals(3, servicio.getCantidad());
+		assertThrows(IllegalStateException.class, () -> servicio.crear(Juego.generar(3, 4, 30)));
+
+		//Al cerrar una, vuelve a haber lugar.
+		assertTrue(servicio.cerrar(primera));
+		servicio.crear(Juego.generar(3, 4, 30));
+		assertEquals(3, servicio.getCantidad());
+		assertThrows(IllegalArgumentException.class, () -> new ServicioSesiones(0));
+	}
+
+	@Test
+	public void una_sesion_cerrada_no_admite_operaciones() {
+		ServicioSesiones servicio = new ServicioSesiones();
+		Juego juego = Juego.generar(3, 1, 30);
+		int vacia = primera_vacia(juego);
+		int sesion = servicio.crear(juego);
+		servicio.jugar(sesion, vacia / DIMENSION, vacia % DIMENSION, 1);
+		assertTrue(servicio.cerrar(sesion));
+		assertFalse(servicio.existe(sesion));
+		assertFalse(servicio.cerrar(sesion));
+		assertThrows(IllegalArgumentException.class, () -> servicio.jugar(sesion, vacia / DIMENSION, vacia % DIMENSION, 2));
+		assertThrows(IllegalArgumentException.class, () -> servicio.deshacer(sesion));
+		assertThrows(IllegalArgumentException.class, () -> servicio.guardar(sesion));
+	}
+
+	@Test
+	public void rechaza_celdas_fuera_del_tablero() {
+		ServicioSesiones servicio = new ServicioSesiones();
+		int sesion = servicio.crear(Juego.generar(3, 1, 30));
+		assertThrows(IllegalArgumentException.class, () -> servicio.jugar(sesion, DIMENSION, 0, 1));
+		assertThrows(IllegalArgumentException.class, () -> servicio.jugar(sesion, 0, -1, 1));
+	}
+
+	@Test
+	public void jugadas_simultaneas_sobre_una_sesion_mantienen_los_contadores() throws Exception {
+		ServicioSesiones servicio = new ServicioSesiones();
+		Juego juego = Juego.generar(3, 1, 30);
+		int[] valores_iniciales = new int[DIMENSION * DIMENSION];
+		juego.copiarValores(valores_iniciales);
+		int sesion = servicio.crear(juego);
+		List<Integer> vacias = new ArrayList<Integer>();
+		for (int k = 0; k < valores_iniciales.length; k++) {
+			if (valores_iniciales[k] == 0) {
+				vacias.add(k);
+			}
+		}
+
+		//Cada hilo juega sobre sus propias celdas, con valores que tambin dejan celdas en conflicto.
+		int cant_hilos = 4, jugadas_por_hilo = 200;
+		ExecutorService hilos = Executors.newFixedThreadPool(cant_hilos);
+		CountDownLatch largada = new CountDownLatch(1);
+		List<Future<?>> tareas = new ArrayList<Future<?>>();
+		for (int h = 0; h < cant_hilos; h++) {
+			final int hilo = h;
+			tareas.add(hilos.submit(() -> {
+				largada.await();
+				for (int k = 0; k < jugadas_por_hilo; k++) {
+					int celda = vacias.get(hilo + (k % (vacias.size() / cant_hilos)) * cant_hilos); //Las celdas en las posiciones hilo + n x cant_hilos.
+					int valor = servicio.ejecutar(sesion, j -> j.getValor(celda / DIMENSION, celda % DIMENSION)) % DIMENSION + 1;
+					servicio.jugar(sesion, celda / DIMENSION, celda % DIMENSION, valor);
+				}
+				return null;
+			}));
+		}
+		largada.countDown();
+		for (Future<?> tarea : tareas) {
+			tarea.get();
+		}
+		hilos.shutdown();
+
+		servicio.ejecutar(sesion, j -> {
+			assertContadores(j);
+			//Todas las jugadas quedaron registradas: deshacerlas vuelve al tablero inicial.
+			int deshechas = 0;
+			while (j.deshacer()) {
+				deshechas++;
+			}
+			assertEquals(cant_hilos * jugadas_por_hilo, deshechas);
+			int[] valores = new int[DIMENSION * DIMENSION];
+			j.copiarValores(valores);
+			assertArrayEquals(valores_iniciales, valores);
+			assertContadores(j);
+			return null;
+		});
+	}
+
+	@Test
+	public void guardar_y_restaurar_una_sesion() {
+		ServicioSesiones servicio = new ServicioSesiones();
+		Juego juego = Juego.generar(3, 1, 30);
+		int vacia = primera_vacia(juego);
+		int sesion = servicio.crear(juego);
+		servicio.jugar(sesion, vacia / DIMENSION, vacia % DIMENSION, 4);
+		byte[] instantanea = servicio.guardar(sesion);
+		assertTrue(servicio.cerrar(sesion));
+
+		int restaurada = servicio.restaurar(instantanea);
+		assertTrue(restaurada != sesion);
+		assertEquals(4, (int) servicio.ejecutar(restaurada, j -> j.getValor(vacia / DIMENSION, vacia % DIMENSION)));
+		assertTrue(servicio.deshacer(restaurada));
+		assertEquals(0, (int) servicio.ejecutar(restaurada, j -> j.getValor(vacia / DIMENSION, vacia % DIMENSION)));
+		assertTrue(servicio.rehacer(restaurada));
+		assertArrayEquals(instantanea, servicio.guardar(restaurada));
+		assertThrows(IllegalArgumentException.class, () -> servicio.restaurar(new byte[3]));
+	}
+
+	private static int primera_vacia(Juego juego) {
+		int celda = 0;
+		while (juego.esPista(celda / DIMENSION, celda % DIMENSION)) {
+			celda++;
+		}
+		return celda;
+	}
+
+	//Controla los contadores de celdas vacas y en conflicto del juego, recorriendo el tablero.
+	private static void assertContadores(Juego juego) {
+		int vacias = 0, en_conflicto = 0;
+		for (int fila = 0; fila < DIMENSION; fila++) {
+			for (int columna = 0; columna < DIMENSION; columna++) {
+				vacias += juego.getValor(fila, columna) == 0 ? 1 : 0;
+				en_conflicto += juego.tieneRepetidos(fila, columna) ? 1 : 0;
+				assertEquals(juego.tieneRepetidos(fila, columna), juego.estaEnConflicto(fila, columna));
+			}
+		}
+		assertEquals(vacias, juego.getCantidadCeldasVacias());
+		assertEquals(en_conflicto, juego.getCantidadCeldasEnConflicto());
+	}
+
+}
\ No newline at end of file
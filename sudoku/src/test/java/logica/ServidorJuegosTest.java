@@ -0,0 +1,180 @@
+package logica;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas del servidor de juegos: se lo inicia sobre un puerto libre y se lo usa con un cliente HTTP, como lo hara otro programa.
+ * Se controla que cada respuesta tenga solo las celdas que cambiaron, los errores por jugadas invlidas o sesiones inexistentes,
+ * y que una espera de cambios termine enseguida si se cierra la sesin.
+ * @author Dario A. Leal
+ */
+public class ServidorJuegosTest {
+
+	private static final int DIMENSION = 9;
+	private static final int PISTA = 0x80;
+
+	private ServidorJuegos servidor;
+	private HttpClient cliente;
+	private String base; //Direccin de las sesiones, ej.: "http://localhost:41234/juego".
+
+	@BeforeEach
+	public void iniciar() throws IOException {
+		servidor = new ServidorJuegos(0, 10, null);
+		servidor.iniciar();
+		cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+		base = "http://localhost:" + servidor.getPuerto() + "/juego";
+	}
+
+	@AfterEach
+	public void detener() {
+		servidor.detener();
+	}
+
+	@Test
+	public void cada_respuesta_tiene_solo_las_celdas_que_cambiaron() throws Exception {
+		HttpResponse<String> apertura = pedir("POST", "?tam=3&semilla=1&pistas=30&f=json");
+		assertEquals(200, apertura.statusCode(), apertura.body());
+		int id = entero(apertura.body(), "id"), version = entero(apertura.body(), "v");
+		int[] celdas = arreglo(apertura.body(), "d");
+		assertEquals(2 * DIMENSION * DIMENSION, celdas.length);
+
+		//El mismo juego, generado aqu con la misma semilla, para conocer su solucin.
+		Juego juego = Juego.generar(3, 1, 30);
+		int[] solucion = new Solucionador(3).resolver(juego);
+		int vacia = 0;
+		while (juego.esPista(vacia / DIMENSION, vacia % DIMENSION)) {
+			assertEquals(juego.getValor(vacia / DIMENSION, vacia % DIMENSION) | PISTA, celdas[2 * vacia + 1]);
+			vacia++;
+		}
+		assertEquals(0, celdas[2 * vacia + 1]);
+
+		String jugada = "/" + id + "/jugar?fila=" + vacia / DIMENSION + "&columna=" + vacia % DIMENSION + "&valor=" + solucion[vacia] + "&f=json";
+		HttpResponse<String> respuesta = pedir("POST", jugada);
+		assertEquals(200, respuesta.statusCode(), respuesta.body());
+		assertArrayEquals(new int[] {vacia, solucion[vacia]}, arreglo(respuesta.body(), "d"));
+		assertTrue(entero(respuesta.body(), "v") > version);
+
+		//Otra conexin que sigue la sesin desde la versin de la apertura recibe solo la celda jugada.
+		HttpResponse<String> cambios = pedir("GET", "/" + id + "?desde=" + version + "&f=json");
+		assertEquals(200, cambios.statusCode(), cambios.body());
+		assertArrayEquals(new int[] {vacia, solucion[vacia]}, arreglo(cambios.body(), "d"));
+		assertEquals("INCOMPLETO", texto(cambios.body(), "r"));
+
+		//En binario: versin, resultado, cantidad y la celda con su estado.
+		HttpResponse<byte[]> binaria = cliente.send(pedido("GET", "/" + id + "?desde=" + version), HttpResponse.BodyHandlers.ofByteArray());
+		ByteBuffer datos = ByteBuffer.wrap(binaria.body());
+		assertEquals(10, datos.remaining());
+		assertEquals(entero(cambios.body(), "v"), datos.getInt());
+		assertEquals(ResultadoComprobacion.INCOMPLETO.ordinal(), datos.get());
+		assertEquals(1, datos.getShort());
+		assertEquals(vacia, datos.getShort());
+		assertEquals(solucion[vacia], datos.get());
+
+		//Sin cambios despus de la ltima versin, la respuesta no tiene celdas.
+		HttpResponse<String> sin_cambios = pedir("GET", "/" + id + "?desde=" + entero(cambios.body(), "v") + "&f=json");
+		assertArrayEquals(new int[0], arreglo(sin_cambios.body(), "d"));
+	}
+
+	@Test
+	public void rechaza_jugadas_sobre_pistas() throws Exception {
+		HttpResponse<String> apertura = pedir("POST", "?tam=3&semilla=1&pistas=30&f=json");
+		int id = entero(apertura.body(), "id");
+		int[] celdas = arreglo(apertura.body(), "d");
+		int pista = 0;
+		while ((celdas[2 * pista + 1] & PISTA) == 0) {
+			pista++;
+		}
+		HttpResponse<String> respuesta = pedir("POST", "/" + id + "/jugar?fila=" + pista / DIMENSION + "&columna=" + pista % DIMENSION + "&valor=1");
+		assertEquals(400, respuesta.statusCode(), respuesta.body());
+		assertEquals(400, pedir("POST", "/" + id + "/jugar?fila=" + DIMENSION + "&columna=0&valor=1").statusCode());
+		assertEquals(400, pedir("POST", "/" + id + "/jugar?fila=0&columna=0").statusCode());
+	}
+
+	@Test
+	public void responde_404_para_sesiones_inexistentes() throws Exception {
+		assertEquals(404, pedir("GET", "/abc").statusCode());
+		assertEquals(404, pedir("GET", "/12345").statusCode());
+
+		int id = entero(pedir("POST", "?tam=2&semilla=1&f=json").body(), "id");
+		assertEquals(200, pedir("GET", "/" + id + "/comprobar").statusCode());
+		assertEquals(204, pedir("DELETE", "/" + id).statusCode());
+		assertEquals(0, servidor.getServicio().getCantidad());
+		assertEquals(404, pedir("GET", "/" + id).statusCode());
+		assertEquals(404, pedir("POST", "/" + id + "/jugar?fila=0&columna=0&valor=1").statusCode());
+		assertEquals(404, pedir("DELETE", "/" + id).statusCode());
+	}
+
+	@Test
+	public void cerrar_la_sesion_termina_las_esperas_de_cambios() throws Exception {
+		HttpResponse<String> apertura = pedir("POST", "?tam=3&semilla=1&f=json");
+		int id = entero(apertura.body(), "id"), version = entero(apertura.body(), "v");
+
+		//Una espera de cambios mucho ms larga que lo que puede tardar la prueba.
+		CompletableFuture<HttpResponse<String>> espera = cliente.sendAsync(pedido("GET", "/" + id + "?desde=" + version + "&espera=30000"),
+				HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+		Thread.sleep(200);
+		assertFalse(espera.isDone());
+
+		long inicio = System.nanoTime();
+		assertEquals(204, pedir("DELETE", "/" + id).statusCode());
+		assertEquals(404, espera.get(5, TimeUnit.SECONDS).statusCode());
+		assertTrue(System.nanoTime() - inicio < TimeUnit.SECONDS.toNanos(5));
+	}
+
+	private HttpRequest pedido(String metodo, String ruta) {
+		return HttpRequest.newBuilder(URI.create(base + ruta)).method(metodo, HttpRequest.BodyPublishers.noBody()).timeout(Duration.ofSeconds(10)).build();
+	}
+
+	private HttpResponse<String> pedir(String metodo, String ruta) throws IOException, InterruptedException {
+		return cliente.send(pedido(metodo, ruta), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+	}
+
+	//Lectura de los campos de las respuestas JSON del servidor, que tienen un nico nivel y campos numricos, de texto o arreglos de enteros.
+	private static int entero(String json, String campo) {
+		return Integer.parseInt(campo(json, "\"" + campo + "\":(-?\\d+)"));
+	}
+
+	private static String texto(String json, String campo) {
+		return campo(json, "\"" + campo + "\":\"([^\"]*)\"");
+	}
+
+	private static int[] arreglo(String json, String campo) {
+		String contenido = campo(json, "\"" + campo + "\":\\[([^\\]]*)\\]");
+		if (contenido.isEmpty()) {
+			return new int[0];
+		}
+		String[] partes = contenido.split(",");
+		int[] valores = new int[partes.length];
+		for (int k = 0; k < partes.length; k++) {
+			valores[k] = Integer.parseInt(partes[k]);
+		}
+		return valores;
+	}
+
+	private static String campo(String json, String patron) {
+		Matcher buscador = Pattern.compile(patron).matcher(json);
+		assertTrue(buscador.find(), "Falta " + patron + " en " + json);
+		return buscador.group(1);
+	}
+
+}
\ No newline at end of file